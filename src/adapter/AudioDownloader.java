@@ -1,6 +1,9 @@
 package adapter;
 
+import domain.FailureType;
 import domain.Video;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Interface para download de áudio.
@@ -11,9 +14,31 @@ public interface AudioDownloader {
      * Faz download do áudio de um vídeo.
      * @param video Vídeo a ser baixado
      * @param outputDirectory Diretório de destino
+     * @param rateLimitKbps Limite de banda do download em KB/s; 0 para não limitar
+     * @param progress Recebe o percentual baixado conforme a ferramenta o reporta
      * @return null se bem-sucedido, mensagem de erro em caso de falha
      */
-    String download(Video video, String outputDirectory);
+    String download(Video video, String outputDirectory, int rateLimitKbps, ProgressListener progress);
+
+    /**
+     * Faz download de vários vídeos em uma única execução da ferramenta.
+     * Cada vídeo recebe exatamente um {@link BatchListener#onComplete}.
+     * @param videos Vídeos a serem baixados
+     * @param outputDirectory Diretório de destino
+     * @param rateLimitKbps Limite de banda da execução em KB/s; 0 para não limitar
+     * @param listener Recebe o início e o resultado de cada vídeo conforme acontecem
+     * @return Mapa de ID do vídeo para null (sucesso) ou mensagem de erro
+     */
+    Map<String, String> downloadBatch(List<Video> videos, String outputDirectory, int rateLimitKbps,
+                                      BatchListener listener);
+
+    /**
+     * Classifica uma mensagem de erro retornada por {@link #download} ou {@link #downloadBatch},
+     * para decidir se e quando o vídeo deve ser tentado de novo.
+     */
+    default FailureType classifyFailure(String errorMessage) {
+        return FailureType.TRANSIENT;
+    }
 
     /**
      * Verifica se a ferramenta de download está disponível.
@@ -24,4 +49,23 @@ public interface AudioDownloader {
      * Retorna a versão da ferramenta.
      */
     String getVersion();
+
+    /**
+     * Percentual baixado de um vídeo, de 0 a 100.
+     */
+    interface ProgressListener {
+        void onProgress(Video video, double percent);
+    }
+
+    /**
+     * Eventos por vídeo de um download em lote.
+     */
+    interface BatchListener extends ProgressListener {
+        void onStart(Video video);
+        void onComplete(Video video, String errorMessage);
+
+        @Override
+        default void onProgress(Video video, double percent) {
+        }
+    }
 }
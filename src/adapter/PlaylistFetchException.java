@@ -0,0 +1,15 @@
+package adapter;
+
+/**
+ * A listagem de uma playlist falhou, expirou ou foi interrompida, então os vídeos
+ * recebidos até ali não representam a playlist inteira.
+ */
+public class PlaylistFetchException extends RuntimeException {
+    public PlaylistFetchException(String message) {
+        super(message);
+    }
+
+    public PlaylistFetchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,6 +2,7 @@ package adapter;
 
 import domain.Video;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface para buscar informações de playlists do YouTube.
@@ -15,6 +16,25 @@ public interface PlaylistFetcher {
      */
     List<Video> fetchVideos(String playlistUrl);
 
+    /**
+     * Busca todos os vídeos de uma playlist entregando cada um a {@code onVideo}
+     * assim que é listado, sem esperar o fim da listagem.
+     * @param playlistUrl URL da playlist
+     * @param onVideo chamado na thread da busca, na ordem da playlist
+     * @throws PlaylistFetchException se a listagem não chegar ao fim; os vídeos já
+     *         entregues a {@code onVideo} continuam válidos, mas podem ser só parte da playlist
+     */
+    void fetchVideos(String playlistUrl, Consumer<Video> onVideo);
+
+    /**
+     * Busca apenas uma janela de itens da playlist, na ordem do YouTube.
+     * @param start posição inicial (a partir de 1)
+     * @param end posição final, inclusiva; zero ou negativo busca até o fim
+     * @return Lista de vídeos encontrados na janela
+     * @throws PlaylistFetchException se a listagem falhar
+     */
+    List<Video> fetchVideos(String playlistUrl, int start, int end);
+
     /**
      * Extrai o ID da playlist de uma URL.
      */
@@ -25,6 +45,14 @@ public interface PlaylistFetcher {
      */
     PlaylistInfo fetchPlaylistInfo(String playlistUrl);
 
+    /**
+     * Busca as informações da playlist e seus primeiros itens em uma única chamada.
+     * @param firstVideos quantidade de itens a listar junto com as informações
+     * @return informações com os vídeos listados em {@link PlaylistInfo#getVideos()}
+     * @throws PlaylistFetchException se a busca falhar
+     */
+    PlaylistInfo fetchPlaylistInfo(String playlistUrl, int firstVideos);
+
     /**
      * Verifica se a URL é de um canal do YouTube (e não de uma playlist).
      */
@@ -34,11 +62,17 @@ public interface PlaylistFetcher {
         private final String id;
         private final String title;
         private final int videoCount;
+        private final List<Video> videos;
 
         public PlaylistInfo(String id, String title, int videoCount) {
+            this(id, title, videoCount, List.of());
+        }
+
+        public PlaylistInfo(String id, String title, int videoCount, List<Video> videos) {
             this.id = id;
             this.title = title;
             this.videoCount = videoCount;
+            this.videos = List.copyOf(videos);
         }
 
         public String getId() {
@@ -52,5 +86,12 @@ public interface PlaylistFetcher {
         public int getVideoCount() {
             return videoCount;
         }
+
+        /**
+         * Primeiros itens da playlist, quando buscados junto com as informações.
+         */
+        public List<Video> getVideos() {
+            return videos;
+        }
     }
 }
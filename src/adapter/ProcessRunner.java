@@ -0,0 +1,210 @@
+package adapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Execução de processos externos do adaptador.
+ *
+ * A leitura de stdout e stderr roda em threads virtuais de um executor compartilhado,
+ * então cada processo em andamento custa apenas duas threads virtuais em vez de duas
+ * threads de plataforma, e o número de threads fica estável conforme a concorrência
+ * cresce. Quem chama apenas aguarda o processo, com prazo opcional; ao estourar o
+ * prazo ou ser interrompido, o processo e seus filhos são encerrados.
+ *
+ * O prazo vale até a saída ser lida por completo: um filho que sobrevive ao processo
+ * (ffmpeg, node) herda os pipes e impediria o fim da leitura. Como filhos órfãos deixam
+ * de aparecer em {@link Process#descendants()}, os descendentes são registrados
+ * periodicamente enquanto o processo roda.
+ */
+final class ProcessRunner {
+    private static final long MIN_POLL_MILLIS = 5;
+    private static final long MAX_POLL_MILLIS = 50;
+    private static final long DESCENDANT_SCAN_MILLIS = 250;
+
+    private static final ExecutorService IO = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("process-io-", 0).factory());
+
+    private ProcessRunner() {
+    }
+
+    /**
+     * @param timeout prazo para o processo terminar; null para aguardar indefinidamente
+     * @return código de saída do processo
+     * @throws ProcessTimeoutException se o prazo acabar antes do processo terminar
+     */
+    static int run(List<String> command, Consumer<String> stdout, Consumer<String> stderr, Duration timeout)
+            throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).start();
+        Future<?> output = IO.submit(() -> pump(process, process.getInputStream(), stdout));
+        Future<?> errors = IO.submit(() -> pump(process, process.getErrorStream(), stderr));
+
+        try {
+            if (timeout == null) {
+                process.waitFor();
+                // Garante que todas as linhas foram entregues antes de retornar
+                await(output);
+                await(errors);
+                return process.exitValue();
+            }
+
+            long deadline = System.nanoTime() + timeout.toNanos();
+            List<ProcessHandle> descendants = List.of();
+            // Espera em fatias, registrando os descendentes enquanto o processo roda
+            while (!process.waitFor(Math.min(DESCENDANT_SCAN_MILLIS, millisUntil(deadline)),
+                    TimeUnit.MILLISECONDS)) {
+                if (millisUntil(deadline) <= 0) {
+                    destroy(process);
+                    throw new ProcessTimeoutException("processo excedeu o prazo de " + timeout.toSeconds() + "s");
+                }
+                descendants = process.descendants().toList();
+            }
+            try {
+                await(output, deadline);
+                await(errors, deadline);
+            } catch (TimeoutException e) {
+                // O processo terminou, mas algum filho ainda segura os pipes
+                descendants.forEach(ProcessHandle::destroyForcibly);
+                destroy(process);
+                closeQuietly(process);
+                output.cancel(true);
+                errors.cancel(true);
+                throw new ProcessTimeoutException("saída do processo não terminou no prazo de "
+                        + timeout.toSeconds() + "s");
+            }
+            return process.exitValue();
+        } catch (InterruptedException e) {
+            destroy(process);
+            output.cancel(true);
+            errors.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Encerra o processo e toda a sua árvore de filhos. O yt-dlp roda o ffmpeg como
+     * filho; matar só o yt-dlp deixaria o ffmpeg órfão segurando o pipe de saída.
+     */
+    static void destroy(Process process) {
+        // Captura os descendentes antes que a morte do pai os reparente
+        List<ProcessHandle> descendants = process.descendants().toList();
+        process.destroyForcibly();
+        descendants.forEach(ProcessHandle::destroyForcibly);
+    }
+
+    /**
+     * Lê apenas o que já está disponível no pipe e dorme enquanto ele está vazio.
+     * Uma leitura bloqueante prenderia a thread de plataforma que carrega a thread
+     * virtual (a JVM compensaria criando outra); o sleep a libera.
+     */
+    private static void pump(Process process, InputStream stream, Consumer<String> lines) {
+        byte[] buffer = new byte[8192];
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long pollMillis = MIN_POLL_MILLIS;
+        try (stream) {
+            while (true) {
+                int read;
+                if (stream.available() > 0) {
+                    read = stream.read(buffer, 0, Math.min(stream.available(), buffer.length));
+                    pollMillis = MIN_POLL_MILLIS;
+                } else if (!process.isAlive()) {
+                    // Processo terminou: o restante do pipe é lido sem esperar por novos dados
+                    read = stream.read(buffer);
+                } else {
+                    Thread.sleep(pollMillis);
+                    pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+                    continue;
+                }
+                if (read < 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines.accept(decode(line));
+                    } else {
+                        line.write(buffer[i]);
+                    }
+                }
+            }
+            if (line.size() > 0) {
+                lines.accept(decode(line));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Stream fechado ao encerrar o processo
+            if (process.isAlive()) {
+                throw new UncheckedIOException(e);
+            }
+        } catch (RuntimeException e) {
+            // Sem leitor, o processo ficaria bloqueado escrevendo no pipe cheio
+            destroy(process);
+            throw e;
+        }
+    }
+
+    private static String decode(ByteArrayOutputStream line) {
+        String text = line.toString(StandardCharsets.UTF_8);
+        line.reset();
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    private static long millisUntil(long deadline) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    private static void closeQuietly(Process process) {
+        for (Closeable stream : List.of(process.getInputStream(), process.getErrorStream())) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // Melhor esforço
+            }
+        }
+    }
+
+    private static void await(Future<?> pump) throws IOException, InterruptedException {
+        try {
+            pump.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * @param deadline instante limite em {@link System#nanoTime()}
+     * @throws TimeoutException se a leitura não terminar até o limite
+     */
+    private static void await(Future<?> pump, long deadline)
+            throws IOException, InterruptedException, TimeoutException {
+        try {
+            pump.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException io) {
+            return io.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+}
@@ -0,0 +1,12 @@
+package adapter;
+
+import java.io.IOException;
+
+/**
+ * Um processo externo não terminou dentro do prazo e foi encerrado.
+ */
+public class ProcessTimeoutException extends IOException {
+    public ProcessTimeoutException(String message) {
+        super(message);
+    }
+}
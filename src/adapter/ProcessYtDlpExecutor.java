@@ -0,0 +1,29 @@
+package adapter;
+
+import util.Config;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Inicia um novo processo do yt-dlp a cada chamada.
+ * A saída é lida pelas threads virtuais do {@link ProcessRunner}.
+ */
+public class ProcessYtDlpExecutor implements YtDlpExecutor {
+    private final Config config;
+
+    public ProcessYtDlpExecutor(Config config) {
+        this.config = config;
+    }
+
+    @Override
+    public int run(List<String> args, Consumer<String> stdout, Consumer<String> stderr, Duration timeout)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(config.getYtDlpPath());
+        command.addAll(args);
+        return ProcessRunner.run(command, stdout, stderr, timeout);
+    }
+}
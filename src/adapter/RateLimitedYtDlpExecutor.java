@@ -0,0 +1,48 @@
+package adapter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Executa o yt-dlp através de um {@link RateLimiter} compartilhado. A saída de erro de cada
+ * execução é observada em busca de sinais de limitação do YouTube, reportados ao limitador
+ * assim que aparecem, sem esperar o processo terminar.
+ */
+public class RateLimitedYtDlpExecutor implements YtDlpExecutor, Closeable {
+    private final YtDlpExecutor delegate;
+    private final RateLimiter limiter;
+
+    public RateLimitedYtDlpExecutor(YtDlpExecutor delegate, RateLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public int run(List<String> args, Consumer<String> stdout, Consumer<String> stderr, Duration timeout)
+            throws IOException, InterruptedException {
+        limiter.acquire();
+        AtomicBoolean throttled = new AtomicBoolean();
+        try {
+            // Só a saída de erro: a saída padrão traz títulos de vídeos, que podem conter qualquer texto
+            return delegate.run(args, stdout, line -> {
+                if (RateLimiter.isThrottleSignal(line) && throttled.compareAndSet(false, true)) {
+                    limiter.onThrottled();
+                }
+                stderr.accept(line);
+            }, timeout);
+        } finally {
+            limiter.release(throttled.get());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package adapter;
+
+import util.Config;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Limitador global das execuções do yt-dlp, compartilhado por buscas e downloads.
+ *
+ * Combina um token bucket (execuções por minuto) com um limite de execuções simultâneas,
+ * ambos ajustados no estilo AIMD: cada execução concluída sem sinal de limitação soma
+ * {@link #RATE_STEP} à taxa e, a cada "limite" sucessos, uma vaga à concorrência; um sinal de
+ * limitação do YouTube (HTTP 429 e afins) corta os dois pela metade e pausa novas execuções
+ * por um período que dobra a cada limitação seguida.
+ */
+public class RateLimiter {
+    // Ex: "HTTP Error 429: Too Many Requests", "Sign in to confirm you're not a bot",
+    // "This content isn't available, try again later"
+    private static final Pattern THROTTLE_SIGNAL = Pattern.compile(
+            "HTTP Error 429|Too Many Requests|rate.?limit|not a bot|try again later",
+            Pattern.CASE_INSENSITIVE);
+
+    static final double MIN_RATE = 1;
+    static final double RATE_STEP = 1;
+    private static final long MAX_COOLDOWN_NANOS = TimeUnit.MINUTES.toNanos(15);
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final double maxRate;
+    private final int maxConcurrency;
+    private final long cooldownNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Deque<Long> recentStarts = new ArrayDeque<>();
+
+    private double rate;
+    private int concurrencyLimit;
+    private double tokens;
+    private long lastRefill;
+    private int inFlight;
+    private int successes;
+    private int consecutiveThrottles;
+    private long pausedUntil;
+    private long lastThrottleAt;
+    private boolean throttledOnce;
+
+    public RateLimiter(Config config) {
+        this(config.getRateLimitPerMinute(),
+                Math.max(1, config.getDownloadConcurrency()) + Math.max(1, config.getFetchConcurrency()),
+                Duration.ofSeconds(config.getRateLimitCooldownSeconds()));
+    }
+
+    /**
+     * @param maxRatePerMinute taxa máxima (e inicial) de execuções por minuto
+     * @param maxConcurrency limite máximo (e inicial) de execuções simultâneas
+     * @param cooldown pausa após a primeira limitação; dobra a cada limitação seguida
+     */
+    RateLimiter(double maxRatePerMinute, int maxConcurrency, Duration cooldown) {
+        this.maxRate = Math.max(MIN_RATE, maxRatePerMinute);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.cooldownNanos = cooldown.toNanos();
+        this.rate = this.maxRate;
+        this.concurrencyLimit = this.maxConcurrency;
+        this.tokens = this.concurrencyLimit;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Indica se uma linha de saída do yt-dlp mostra que o YouTube está limitando as requisições.
+     */
+    public static boolean isThrottleSignal(String line) {
+        return line != null && THROTTLE_SIGNAL.matcher(line).find();
+    }
+
+    /**
+     * Aguarda uma vaga e um token. Toda chamada bem-sucedida deve ser seguida de {@link #release}.
+     */
+    public void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                if (now - pausedUntil < 0) {
+                    changed.awaitNanos(pausedUntil - now);
+                } else if (inFlight >= concurrencyLimit) {
+                    changed.await();
+                } else if (tokens >= 1) {
+                    tokens -= 1;
+                    inFlight++;
+                    // Poda aqui também: sem consultas a getStatus o histórico cresceria sem fim
+                    pruneStarts(now);
+                    recentStarts.addLast(now);
+                    return;
+                } else {
+                    changed.awaitNanos((long) Math.ceil((1 - tokens) * WINDOW_NANOS / rate));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera a vaga de uma execução concluída.
+     * @param throttled a execução recebeu sinal de limitação (já reportado via {@link #onThrottled})
+     */
+    public void release(boolean throttled) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (!throttled) {
+                consecutiveThrottles = 0;
+                rate = Math.min(maxRate, rate + RATE_STEP);
+                if (++successes >= concurrencyLimit) {
+                    concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1);
+                    successes = 0;
+                }
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reduz a taxa e a concorrência pela metade e pausa novas execuções.
+     */
+    public void onThrottled() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            // Execuções simultâneas costumam ser limitadas juntas; contam como um único evento
+            if (throttledOnce && now - lastThrottleAt < cooldownNanos) {
+                return;
+            }
+            throttledOnce = true;
+            lastThrottleAt = now;
+            consecutiveThrottles++;
+            rate = Math.max(MIN_RATE, rate / 2);
+            concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+            successes = 0;
+            tokens = 0;
+            long pause = Math.min(MAX_COOLDOWN_NANOS, cooldownNanos << Math.min(consecutiveThrottles - 1, 10));
+            pausedUntil = now + pause;
+            System.err.printf("⚠ YouTube limitando requisições; pausando por %ds (taxa: %.0f/min, simultâneos: %d)%n",
+                    TimeUnit.NANOSECONDS.toSeconds(pause), rate, concurrencyLimit);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Estado atual do limitador, para exibição.
+     */
+    public Status getStatus() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            pruneStarts(now);
+            return new Status(recentStarts.size(), rate, concurrencyLimit, inFlight, now - pausedUntil < 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Descarta os inícios de execução de fora da janela de um minuto.
+     */
+    private void pruneStarts(long now) {
+        while (!recentStarts.isEmpty() && now - recentStarts.peekFirst() > WINDOW_NANOS) {
+            recentStarts.pollFirst();
+        }
+    }
+
+    private void refill(long now) {
+        double burst = concurrencyLimit;
+        tokens = Math.min(burst, tokens + (now - lastRefill) * rate / WINDOW_NANOS);
+        lastRefill = now;
+    }
+
+    public static class Status {
+        /**
+         * Execuções iniciadas no último minuto.
+         */
+        public final int effectiveRate;
+        /**
+         * Taxa permitida no momento, em execuções por minuto.
+         */
+        public final double allowedRate;
+        public final int concurrencyLimit;
+        public final int inFlight;
+        public final boolean paused;
+
+        public Status(int effectiveRate, double allowedRate, int concurrencyLimit, int inFlight, boolean paused) {
+            this.effectiveRate = effectiveRate;
+            this.allowedRate = allowedRate;
+            this.concurrencyLimit = concurrencyLimit;
+            this.inFlight = inFlight;
+            this.paused = paused;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d/min de %.0f/min, %d simult.%s",
+                    effectiveRate, allowedRate, concurrencyLimit, paused ? " (pausa)" : "");
+        }
+    }
+}
@@ -1,93 +1,76 @@
 package adapter;
 
+import domain.FailureType;
 import domain.Video;
 import util.Config;
-import java.io.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Implementação de AudioDownloader usando yt-dlp.
  * Faz download de áudio em formato configurável.
+ *
+ * Downloads em lote passam várias URLs para um único processo, evitando repetir a
+ * inicialização do Python, dos extratores e a leitura de cookies do navegador a cada
+ * vídeo. O resultado de cada item é identificado por marcadores impressos via
+ * {@code --print} e pelas linhas {@code ERROR:} do yt-dlp. O percentual baixado vem das
+ * linhas {@code [download]  42.0% of ...}, uma por atualização graças a {@code --newline};
+ * no lote, ele pertence ao último vídeo iniciado, já que o yt-dlp baixa um item por vez.
  */
 public class YtDlpAudioDownloader implements AudioDownloader {
+    private static final String START_MARKER = "ytmusicsync:start:";
+    private static final String DONE_MARKER = "ytmusicsync:done:";
+    // Ex: "ERROR: [youtube] dQw4w9WgXcQ: Video unavailable"
+    private static final Pattern ITEM_ERROR = Pattern.compile("^ERROR: \\[[^\\]]+\\] ([A-Za-z0-9_-]+): (.*)$");
+    // Ex: "[download]  42.3% of    3.20MiB at  512.00KiB/s ETA 00:04"
+    private static final Pattern DOWNLOAD_PROGRESS = Pattern.compile("^\\[download\\]\\s+(\\d+(?:\\.\\d+)?)%");
+
+    private static final Pattern PERMANENT = Pattern.compile(
+            "Video unavailable|Private video|video has been removed|has been terminated|no longer available"
+                    + "|not available in your country|blocked it in your country|not made this video available"
+                    + "|members.only|Join this channel|confirm your age|copyright|HTTP Error 404|Unsupported URL",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Duration VERSION_TIMEOUT = Duration.ofSeconds(30);
+
     private final Config config;
+    private final YtDlpExecutor executor;
 
     public YtDlpAudioDownloader(Config config) {
+        this(config, new ProcessYtDlpExecutor(config));
+    }
+
+    public YtDlpAudioDownloader(Config config, YtDlpExecutor executor) {
         this.config = config;
+        this.executor = executor;
     }
 
     @Override
-    public String download(Video video, String outputDirectory) {
+    public String download(Video video, String outputDirectory, int rateLimitKbps, ProgressListener progress) {
         try {
-            String ytDlpPath = config.getYtDlpPath();
-            String audioFormat = config.getAudioFormat();
-            String audioQuality = config.getAudioQuality();
-            boolean cookiesEnabled = config.getCookiesEnabled();
-            String cookiesBrowser = config.getCookiesBrowser();
-
-            // yt-dlp cria subpastas automaticamente via template
-            String outputTemplate = outputDirectory + "/%(artist,uploader)s/%(album,playlist_title)s/%(title)s.%(ext)s";
-
-            List<String> command = new ArrayList<>();
-            command.add(ytDlpPath);
-            command.add("-x");
-            command.add("--audio-format");
-            command.add(audioFormat);
-            command.add("--audio-quality");
-            command.add(audioQuality);
-            command.add("--no-playlist");
-            command.add("--output");
-            command.add(outputTemplate);
-            command.add("--js-runtimes");
-            command.add("node");
-            command.add("--no-mtime");
-            command.add("--embed-thumbnail");
-            command.add("--add-metadata");
-            if (cookiesEnabled) {
-                command.add("--cookies-from-browser");
-                command.add(cookiesBrowser);
-            }
+            List<String> command = baseCommand(outputDirectory, rateLimitKbps);
             command.add(video.getUrl());
 
-            ProcessBuilder pb = new ProcessBuilder(command);
-
             System.out.println("Baixando: " + video.getTitle());
 
-            Process process = pb.start();
-
             StringBuilder errorOutput = new StringBuilder();
-
-            Thread outputThread = new Thread(() -> {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        System.out.println("  " + line);
-                    }
-                } catch (IOException e) {
-                    System.err.println("Erro ao ler saída: " + e.getMessage());
-                }
-            });
-
-            Thread errorThread = new Thread(() -> {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
+            int exitCode = executor.run(command,
+                    line -> {
+                        Double percent = parseProgress(line);
+                        if (percent != null) {
+                            progress.onProgress(video, percent);
+                        } else {
+                            System.out.println("  " + line);
+                        }
+                    },
+                    line -> {
                         System.err.println("  ERRO: " + line);
                         errorOutput.append(line).append("\n");
-                    }
-                } catch (IOException e) {
-                    System.err.println("Erro ao ler erro: " + e.getMessage());
-                }
-            });
-
-            outputThread.start();
-            errorThread.start();
-
-            int exitCode = process.waitFor();
-
-            outputThread.join();
-            errorThread.join();
+                    },
+                    downloadTimeout(1));
 
             if (exitCode == 0) {
                 System.out.println("✓ Download concluído: " + video.getTitle());
@@ -100,20 +83,211 @@ public class YtDlpAudioDownloader implements AudioDownloader {
                 return msg;
             }
 
-        } catch (IOException | InterruptedException e) {
+        } catch (IOException e) {
             System.err.println("Erro ao baixar vídeo: " + e.getMessage());
-            Thread.currentThread().interrupt();
             return e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Download interrompido";
+        }
+    }
+
+    @Override
+    public Map<String, String> downloadBatch(List<Video> videos, String outputDirectory, int rateLimitKbps,
+                                             BatchListener listener) {
+        BatchProgress progress = new BatchProgress(videos, listener);
+        if (videos.isEmpty()) {
+            return progress.results;
+        }
+
+        List<String> command = baseCommand(outputDirectory, rateLimitKbps);
+        // Continua nos próximos itens quando um falha
+        command.add("--ignore-errors");
+        command.add("--progress");
+        command.add("--print");
+        command.add("before_dl:" + START_MARKER + "%(id)s");
+        command.add("--print");
+        command.add("after_move:" + DONE_MARKER + "%(id)s");
+        for (Video video : videos) {
+            command.add(video.getUrl());
+        }
+
+        System.out.println("Baixando lote de " + videos.size() + " vídeos");
+
+        try {
+            int exitCode = executor.run(command,
+                    line -> {
+                        if (line.startsWith(START_MARKER)) {
+                            progress.start(line.substring(START_MARKER.length()).trim());
+                        } else if (line.startsWith(DONE_MARKER)) {
+                            progress.complete(line.substring(DONE_MARKER.length()).trim(), null);
+                        } else {
+                            Double percent = parseProgress(line);
+                            if (percent != null) {
+                                progress.progress(percent);
+                            } else {
+                                System.out.println("  " + line);
+                            }
+                        }
+                    },
+                    line -> {
+                        System.err.println("  ERRO: " + line);
+                        Matcher matcher = ITEM_ERROR.matcher(line);
+                        if (matcher.matches()) {
+                            progress.complete(matcher.group(1), matcher.group(2).trim());
+                        }
+                    },
+                    downloadTimeout(videos.size()));
+            progress.completeRemaining("Código de saída: " + exitCode);
+        } catch (IOException e) {
+            System.err.println("Erro ao baixar lote: " + e.getMessage());
+            progress.completeRemaining(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.completeRemaining("Download interrompido");
+        }
+        return progress.results;
+    }
+
+    @Override
+    public FailureType classifyFailure(String errorMessage) {
+        if (errorMessage == null) {
+            return FailureType.TRANSIENT;
+        }
+        // Verificado antes de PERMANENT: o YouTube também responde
+        // "Video unavailable ... try again later" quando está limitando
+        if (RateLimiter.isThrottleSignal(errorMessage)) {
+            return FailureType.RATE_LIMITED;
+        }
+        if (PERMANENT.matcher(errorMessage).find()) {
+            return FailureType.PERMANENT;
+        }
+        return FailureType.TRANSIENT;
+    }
+
+    /**
+     * @return percentual de uma linha de progresso do yt-dlp, ou null se a linha for outra
+     */
+    static Double parseProgress(String line) {
+        Matcher matcher = DOWNLOAD_PROGRESS.matcher(line);
+        return matcher.find() ? Double.valueOf(matcher.group(1)) : null;
+    }
+
+    /**
+     * Prazo para um processo que baixa {@code videoCount} vídeos.
+     * @return null se não houver limite configurado
+     */
+    private Duration downloadTimeout(int videoCount) {
+        int minutes = config.getDownloadTimeoutMinutes();
+        return minutes > 0 ? Duration.ofMinutes((long) minutes * videoCount) : null;
+    }
+
+    /**
+     * Opções comuns a downloads individuais e em lote; as URLs são adicionadas por quem chama.
+     * O executável fica a cargo do {@link YtDlpExecutor}.
+     */
+    private List<String> baseCommand(String outputDirectory, int rateLimitKbps) {
+        // yt-dlp cria subpastas automaticamente via template
+        String outputTemplate = outputDirectory + "/%(artist,uploader)s/%(album,playlist_title)s/%(title)s.%(ext)s";
+
+        List<String> command = new ArrayList<>();
+        command.add("-x");
+        command.add("--audio-format");
+        command.add(config.getAudioFormat());
+        command.add("--audio-quality");
+        command.add(config.getAudioQuality());
+        command.add("--no-playlist");
+        command.add("--output");
+        command.add(outputTemplate);
+        command.add("--js-runtimes");
+        command.add("node");
+        command.add("--no-mtime");
+        command.add("--embed-thumbnail");
+        command.add("--add-metadata");
+        command.add("--newline");
+        if (config.getCookiesEnabled()) {
+            command.add("--cookies-from-browser");
+            command.add(config.getCookiesBrowser());
+        }
+        if (rateLimitKbps > 0) {
+            command.add("--limit-rate");
+            command.add(rateLimitKbps + "K");
+        }
+        return command;
+    }
+
+    /**
+     * Estado por vídeo de um lote. As threads de stdout e stderr reportam eventos;
+     * cada vídeo é concluído uma única vez, com início sempre antes da conclusão.
+     */
+    private static class BatchProgress {
+        private final Map<String, Video> videosById = new LinkedHashMap<>();
+        private final Set<String> started = new HashSet<>();
+        private final BatchListener listener;
+        private Video current;
+        final Map<String, String> results = new LinkedHashMap<>();
+
+        BatchProgress(List<Video> videos, BatchListener listener) {
+            this.listener = listener;
+            for (Video video : videos) {
+                videosById.put(video.getId(), video);
+            }
+        }
+
+        /**
+         * Início anunciado pelo marcador na saída: a partir daqui as linhas de
+         * percentual pertencem a este vídeo.
+         */
+        synchronized void start(String videoId) {
+            Video video = videosById.get(videoId);
+            if (video != null && !results.containsKey(videoId)) {
+                current = video;
+                announce(video);
+            }
+        }
+
+        private void announce(Video video) {
+            if (started.add(video.getId())) {
+                System.out.println("Baixando: " + video.getTitle());
+                listener.onStart(video);
+            }
+        }
+
+        synchronized void progress(double percent) {
+            if (current != null && !results.containsKey(current.getId())) {
+                listener.onProgress(current, percent);
+            }
+        }
+
+        synchronized void complete(String videoId, String error) {
+            Video video = videosById.get(videoId);
+            if (video == null || results.containsKey(videoId)) {
+                return;
+            }
+            // Um erro no stderr pode chegar antes do marcador de início, mas não muda
+            // o vídeo que o yt-dlp está baixando
+            announce(video);
+            results.put(videoId, error);
+            if (error == null) {
+                System.out.println("✓ Download concluído: " + video.getTitle());
+            } else {
+                System.err.println("✗ Falha no download: " + video.getTitle() + " — " + error);
+            }
+            listener.onComplete(video, error);
+        }
+
+        synchronized void completeRemaining(String error) {
+            for (String videoId : videosById.keySet()) {
+                complete(videoId, error);
+            }
         }
     }
 
     @Override
     public boolean isAvailable() {
         try {
-            ProcessBuilder pb = new ProcessBuilder(config.getYtDlpPath(), "--version");
-            Process process = pb.start();
-            int exitCode = process.waitFor();
-            return exitCode == 0;
+            return ProcessRunner.run(List.of(config.getYtDlpPath(), "--version"),
+                    line -> { }, line -> { }, VERSION_TIMEOUT) == 0;
         } catch (IOException | InterruptedException e) {
             return false;
         }
@@ -122,14 +296,9 @@ public class YtDlpAudioDownloader implements AudioDownloader {
     @Override
     public String getVersion() {
         try {
-            ProcessBuilder pb = new ProcessBuilder(config.getYtDlpPath(), "--version");
-            Process process = pb.start();
-
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-            String version = reader.readLine();
-
-            process.waitFor();
-            return version != null ? version : "Desconhecida";
+            List<String> lines = new ArrayList<>();
+            ProcessRunner.run(List.of(config.getYtDlpPath(), "--version"), lines::add, line -> { }, VERSION_TIMEOUT);
+            return !lines.isEmpty() ? lines.get(0) : "Desconhecida";
         } catch (IOException | InterruptedException e) {
             return "Erro ao obter versão";
         }
@@ -0,0 +1,35 @@
+package adapter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Executa o yt-dlp com os argumentos informados, entregando a saída linha a linha.
+ * Permite trocar um processo por chamada ({@link ProcessYtDlpExecutor}) por workers
+ * residentes ({@link YtDlpWorkerPool}) sem mudar quem usa o yt-dlp.
+ */
+public interface YtDlpExecutor {
+    /**
+     * Executa sem prazo.
+     * @see #run(List, Consumer, Consumer, Duration)
+     */
+    default int run(List<String> args, Consumer<String> stdout, Consumer<String> stderr)
+            throws IOException, InterruptedException {
+        return run(args, stdout, stderr, null);
+    }
+
+    /**
+     * Ao estourar o prazo ou ser interrompido, o yt-dlp e seus processos filhos
+     * (ex: ffmpeg) são encerrados.
+     * @param args argumentos do yt-dlp, sem o executável
+     * @param stdout recebe cada linha da saída padrão
+     * @param stderr recebe cada linha da saída de erro
+     * @param timeout prazo para a execução; null para aguardar indefinidamente
+     * @return código de saída do yt-dlp
+     * @throws ProcessTimeoutException se o prazo acabar
+     */
+    int run(List<String> args, Consumer<String> stdout, Consumer<String> stderr, Duration timeout)
+            throws IOException, InterruptedException;
+}
@@ -3,11 +3,13 @@ package adapter;
 import domain.Video;
 import util.Config;
 import com.google.gson.*;
-import java.io.*;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.*;
 
 /**
@@ -16,60 +18,100 @@ import java.util.regex.*;
  */
 public class YtDlpPlaylistFetcher implements PlaylistFetcher {
     private final Config config;
+    private final YtDlpExecutor executor;
     private final Gson gson;
 
     public YtDlpPlaylistFetcher(Config config) {
+        this(config, new ProcessYtDlpExecutor(config));
+    }
+
+    public YtDlpPlaylistFetcher(Config config, YtDlpExecutor executor) {
         this.config = config;
+        this.executor = executor;
         this.gson = new GsonBuilder().create();
     }
 
     @Override
     public List<Video> fetchVideos(String playlistUrl) {
+        return fetchVideos(playlistUrl, 1, 0);
+    }
+
+    @Override
+    public void fetchVideos(String playlistUrl, Consumer<Video> onVideo) {
+        streamVideos(playlistUrl, 1, 0, onVideo);
+    }
+
+    @Override
+    public List<Video> fetchVideos(String playlistUrl, int start, int end) {
         List<Video> videos = new ArrayList<>();
+        streamVideos(playlistUrl, start, end, videos::add);
+        return videos;
+    }
+
+    /**
+     * Executa o yt-dlp e entrega cada vídeo conforme a linha JSON correspondente
+     * chega na saída, em vez de esperar o processo terminar.
+     * @throws PlaylistFetchException se o yt-dlp falhar, expirar ou for interrompido;
+     *         os vídeos já entregues podem ser só parte da playlist
+     */
+    private void streamVideos(String playlistUrl, int start, int end, Consumer<Video> onVideo) {
         String playlistId = extractPlaylistId(playlistUrl);
 
         try {
             List<String> command = new ArrayList<>();
-            command.add(config.getYtDlpPath());
             command.add("--flat-playlist");
             command.add("--dump-json");
+            if (start > 1) {
+                command.add("--playlist-start");
+                command.add(String.valueOf(start));
+            }
+            if (end > 0) {
+                command.add("--playlist-end");
+                command.add(String.valueOf(end));
+            }
             if (config.getCookiesEnabled()) {
                 command.add("--cookies-from-browser");
                 command.add(config.getCookiesBrowser());
             }
             command.add(playlistUrl);
 
-            ProcessBuilder pb = new ProcessBuilder(command);
-
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
-            String line;
-            while ((line = reader.readLine()) != null) {
+            List<String> errors = new ArrayList<>();
+            int exitCode = executor.run(command, line -> {
                 try {
                     JsonObject obj = gson.fromJson(line, JsonObject.class);
-                    Video video = parseVideo(obj, playlistId);
-                    videos.add(video);
+                    onVideo.accept(parseVideo(obj, playlistId));
                 } catch (JsonSyntaxException e) {
                     System.err.println("Erro ao parsear JSON: " + e.getMessage());
                 }
-            }
+            }, errors::add, fetchTimeout());
 
-            int exitCode = process.waitFor();
             if (exitCode != 0) {
-                BufferedReader errorReader = new BufferedReader(new InputStreamReader(process.getErrorStream()));
-                String errorLine;
-                while ((errorLine = errorReader.readLine()) != null) {
-                    System.err.println("yt-dlp erro: " + errorLine);
-                }
+                errors.forEach(errorLine -> System.err.println("yt-dlp erro: " + errorLine));
+                throw new PlaylistFetchException(exitError("Falha ao listar a playlist", exitCode, errors));
             }
 
-        } catch (IOException | InterruptedException e) {
-            System.err.println("Erro ao buscar vídeos da playlist: " + e.getMessage());
+        } catch (IOException e) {
+            throw new PlaylistFetchException("Erro ao buscar vídeos da playlist: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
+            throw new PlaylistFetchException("Busca de vídeos interrompida", e);
         }
+    }
 
-        return videos;
+    /**
+     * Mensagem de falha com a última linha de erro do yt-dlp, ou o código de saída se não houver.
+     */
+    private static String exitError(String prefix, int exitCode, List<String> errors) {
+        String detail = errors.isEmpty() ? "código de saída " + exitCode : errors.get(errors.size() - 1).trim();
+        return prefix + ": " + detail;
+    }
+
+    /**
+     * @return null se não houver limite configurado
+     */
+    private Duration fetchTimeout() {
+        int minutes = config.getFetchTimeoutMinutes();
+        return minutes > 0 ? Duration.ofMinutes(minutes) : null;
     }
 
     @Override
@@ -108,27 +150,38 @@ public class YtDlpPlaylistFetcher implements PlaylistFetcher {
 
     @Override
     public PlaylistInfo fetchPlaylistInfo(String playlistUrl) {
+        return fetchPlaylistInfo(playlistUrl, 1);
+    }
+
+    /**
+     * As informações vêm da primeira linha da listagem, então título e primeiros
+     * itens saem do mesmo processo do yt-dlp.
+     * @throws PlaylistFetchException se o yt-dlp falhar, expirar ou for interrompido
+     */
+    @Override
+    public PlaylistInfo fetchPlaylistInfo(String playlistUrl, int firstVideos) {
         try {
             List<String> command = new ArrayList<>();
-            command.add(config.getYtDlpPath());
             command.add("--flat-playlist");
             command.add("--dump-json");
             command.add("--playlist-end");
-            command.add("1");
+            command.add(String.valueOf(Math.max(1, firstVideos)));
             if (config.getCookiesEnabled()) {
                 command.add("--cookies-from-browser");
                 command.add(config.getCookiesBrowser());
             }
             command.add(playlistUrl);
 
-            ProcessBuilder pb = new ProcessBuilder(command);
-
-            Process process = pb.start();
-            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            List<String> lines = new ArrayList<>();
+            List<String> errors = new ArrayList<>();
+            int exitCode = executor.run(command, lines::add, errors::add, fetchTimeout());
+            if (exitCode != 0) {
+                throw new PlaylistFetchException(
+                        exitError("Falha ao buscar informações da playlist", exitCode, errors));
+            }
 
-            String line = reader.readLine();
-            if (line != null) {
-                JsonObject obj = gson.fromJson(line, JsonObject.class);
+            if (!lines.isEmpty()) {
+                JsonObject obj = gson.fromJson(lines.get(0), JsonObject.class);
 
                 String title = null;
                 if (obj.has("playlist_title") && !obj.get("playlist_title").isJsonNull()) {
@@ -148,16 +201,21 @@ public class YtDlpPlaylistFetcher implements PlaylistFetcher {
                 }
 
                 String id = extractPlaylistId(playlistUrl);
-
-                process.waitFor();
-                return new PlaylistInfo(id, title, videoCount);
+                List<Video> videos = new ArrayList<>();
+                for (String line : lines) {
+                    videos.add(parseVideo(gson.fromJson(line, JsonObject.class), id));
+                }
+                return new PlaylistInfo(id, title, videoCount, videos);
             }
-
-            process.waitFor();
-        } catch (IOException | InterruptedException e) {
-            System.err.println("Erro ao buscar informações da playlist: " + e.getMessage());
+        } catch (IOException e) {
+            throw new PlaylistFetchException("Erro ao buscar informações da playlist: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-        } catch (Exception e) {
+            throw new PlaylistFetchException("Busca de informações interrompida", e);
+        } catch (PlaylistFetchException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Saída inesperada do yt-dlp: segue com o título provisório
             System.err.println("Erro ao parsear informações da playlist: " + e.getMessage());
         }
 
@@ -0,0 +1,400 @@
+package adapter;
+
+import com.google.gson.Gson;
+import util.AppDataDir;
+import util.Config;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Pool de processos residentes do yt-dlp.
+ *
+ * Cada worker é um script Python auxiliar que importa o módulo {@code yt_dlp} uma única vez
+ * e depois atende pedidos recebidos pela entrada padrão (uma lista JSON de argumentos por
+ * linha). A saída de cada pedido volta pela saída padrão; linhas de erro chegam com o prefixo
+ * {@link #ERR_PREFIX} e o fim do pedido é marcado por {@link #EXIT_PREFIX} seguido do código
+ * de saída. Assim o custo de iniciar o interpretador e carregar os extratores é pago uma vez
+ * por worker, e não a cada chamada.
+ *
+ * Prazos e interrupções são respeitados: o worker do pedido é encerrado (junto com seus
+ * processos filhos) e substituído por um novo no pedido seguinte.
+ *
+ * Se o primeiro worker não conseguir iniciar (sem Python ou sem o módulo yt_dlp), o pool
+ * passa a delegar tudo para {@code fallback}.
+ */
+public class YtDlpWorkerPool implements YtDlpExecutor, Closeable {
+    static final String ERR_PREFIX = "ytmusicsync:err:";
+    static final String EXIT_PREFIX = "ytmusicsync:exit:";
+    static final String SCRIPT_FILE = "ytdlp-worker.py";
+
+    private static final String WORKER_SCRIPT = """
+            import json
+            import sys
+
+            import yt_dlp
+
+            ERR_PREFIX = "%s"
+            EXIT_PREFIX = "%s"
+
+
+            class PrefixedStderr:
+                encoding = "utf-8"
+
+                def __init__(self, out):
+                    self.out = out
+                    self.pending = ""
+
+                def write(self, text):
+                    self.pending += text
+                    while "\\n" in self.pending:
+                        line, self.pending = self.pending.split("\\n", 1)
+                        self.out.write(ERR_PREFIX + line + "\\n")
+                    self.out.flush()
+                    return len(text)
+
+                def flush(self):
+                    if self.pending:
+                        self.out.write(ERR_PREFIX + self.pending + "\\n")
+                        self.pending = ""
+                    self.out.flush()
+
+                def isatty(self):
+                    return False
+
+
+            def main():
+                # Entrega cada linha assim que escrita (necessário para a busca em streaming)
+                sys.stdout.reconfigure(line_buffering=True)
+                out = sys.stdout
+                for request in sys.stdin:
+                    request = request.strip()
+                    if not request:
+                        continue
+                    err = PrefixedStderr(out)
+                    sys.stderr = err
+                    code = 0
+                    try:
+                        yt_dlp.main(json.loads(request))
+                    except SystemExit as e:
+                        code = e.code if isinstance(e.code, int) else (0 if e.code is None else 1)
+                    except Exception as e:
+                        err.write("ERROR: %%s\\n" %% e)
+                        code = 1
+                    err.flush()
+                    sys.stderr = sys.__stderr__
+                    out.write(EXIT_PREFIX + str(code) + "\\n")
+                    out.flush()
+
+
+            main()
+            """.formatted(ERR_PREFIX, EXIT_PREFIX);
+
+    private static final Gson GSON = new Gson();
+    private static final long WATCHDOG_MILLIS = 100;
+
+    private final List<String> workerCommand;
+    private final YtDlpExecutor fallback;
+    private final long idleMillis;
+    private final int size;
+    private final Semaphore permits;
+    private final Deque<Worker> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean broken;
+    private volatile boolean closed;
+
+    public YtDlpWorkerPool(Config config) throws IOException {
+        this(List.of(config.getYtDlpPoolPython(), writeScript(AppDataDir.get()).toString()),
+                config.getYtDlpPoolSize(),
+                config.getYtDlpPoolWarmup(),
+                TimeUnit.SECONDS.toMillis(config.getYtDlpPoolIdleSeconds()),
+                new ProcessYtDlpExecutor(config));
+    }
+
+    /**
+     * @param workerCommand comando que inicia um worker
+     * @param size número máximo de workers (e de pedidos simultâneos)
+     * @param warmup inicia todos os workers em segundo plano já na criação do pool
+     * @param idleMillis workers ociosos por mais tempo são encerrados; zero desativa
+     */
+    YtDlpWorkerPool(List<String> workerCommand, int size, boolean warmup, long idleMillis, YtDlpExecutor fallback) {
+        this.workerCommand = List.copyOf(workerCommand);
+        this.fallback = fallback;
+        this.idleMillis = idleMillis;
+        this.size = Math.max(1, size);
+        this.permits = new Semaphore(this.size);
+        this.maintenance = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "YtDlpWorkerPool");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (idleMillis > 0) {
+            long period = Math.max(50, idleMillis / 2);
+            maintenance.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        }
+        if (warmup) {
+            maintenance.execute(this::warmUp);
+        }
+    }
+
+    static Path writeScript(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path script = directory.resolve(SCRIPT_FILE);
+        Files.writeString(script, WORKER_SCRIPT, StandardCharsets.UTF_8);
+        return script;
+    }
+
+    @Override
+    public int run(List<String> args, Consumer<String> stdout, Consumer<String> stderr, Duration timeout)
+            throws IOException, InterruptedException {
+        if (broken || closed) {
+            return fallback.run(args, stdout, stderr, timeout);
+        }
+
+        permits.acquire();
+        Worker worker = null;
+        Watchdog watchdog = null;
+        boolean fresh = false;
+        OutputTracker output = new OutputTracker(stdout, stderr);
+        try {
+            worker = takeIdle();
+            if (worker == null) {
+                fresh = true;
+                worker = spawn();
+            }
+            watchdog = new Watchdog(worker, Thread.currentThread(), timeout);
+            int exitCode = worker.run(args, output::out, output::err);
+            watchdog.cancel();
+            release(worker);
+            worker = null;
+            return exitCode;
+        } catch (IOException e) {
+            if (worker != null) {
+                worker.destroy();
+            }
+            if (watchdog != null) {
+                watchdog.cancel();
+                if (watchdog.timedOut) {
+                    throw new ProcessTimeoutException("processo excedeu o prazo de " + timeout.toSeconds() + "s");
+                }
+                if (watchdog.interrupted) {
+                    throw new InterruptedException("execução do yt-dlp interrompida");
+                }
+            }
+            if (output.produced) {
+                throw e;
+            }
+            if (fresh) {
+                broken = true;
+                System.err.println("✗ Workers do yt-dlp indisponíveis (" + e.getMessage() + "); usando um processo por chamada");
+            }
+            return fallback.run(args, stdout, stderr, timeout);
+        } catch (RuntimeException e) {
+            // O pedido ficou pela metade; o worker não pode ser reaproveitado
+            if (watchdog != null) {
+                watchdog.cancel();
+            }
+            if (worker != null) {
+                worker.destroy();
+            }
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quantidade de workers ociosos prontos para uso.
+     */
+    synchronized int idleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdownNow();
+        synchronized (this) {
+            idle.forEach(Worker::destroy);
+            idle.clear();
+        }
+    }
+
+    private synchronized Worker takeIdle() {
+        Worker worker;
+        while ((worker = idle.pollFirst()) != null) {
+            if (worker.isAlive()) {
+                return worker;
+            }
+            worker.destroy();
+        }
+        return null;
+    }
+
+    private synchronized void release(Worker worker) {
+        // O aquecimento pode correr junto com pedidos que criaram seus próprios workers
+        if (closed || !worker.isAlive() || idle.size() >= size) {
+            worker.destroy();
+            return;
+        }
+        worker.lastUsed = System.currentTimeMillis();
+        idle.addFirst(worker);
+    }
+
+    private Worker spawn() throws IOException {
+        ProcessBuilder pb = new ProcessBuilder(workerCommand);
+        // Erros do próprio script (ex: módulo ausente) aparecem no console
+        pb.redirectError(ProcessBuilder.Redirect.INHERIT);
+        return new Worker(pb.start());
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < size && !closed; i++) {
+            try {
+                release(spawn());
+            } catch (IOException e) {
+                System.err.println("Erro ao iniciar worker do yt-dlp: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private synchronized void evictIdle() {
+        long limit = System.currentTimeMillis() - idleMillis;
+        idle.removeIf(worker -> {
+            if (worker.lastUsed < limit || !worker.isAlive()) {
+                worker.destroy();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Vigia um pedido em andamento: o worker bloqueia a thread chamadora lendo a saída,
+     * então o prazo e a interrupção são verificados periodicamente pela thread de
+     * manutenção, que encerra a árvore de processos do worker para destravar a leitura.
+     */
+    private class Watchdog implements Runnable {
+        private final Worker worker;
+        private final Thread caller;
+        private final long deadline;
+        private final ScheduledFuture<?> task;
+        volatile boolean timedOut;
+        volatile boolean interrupted;
+
+        Watchdog(Worker worker, Thread caller, Duration timeout) {
+            this.worker = worker;
+            this.caller = caller;
+            this.deadline = timeout != null ? System.nanoTime() + timeout.toNanos() : 0;
+            this.task = maintenance.scheduleWithFixedDelay(this, WATCHDOG_MILLIS, WATCHDOG_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void run() {
+            if (timedOut || interrupted) {
+                return;
+            }
+            if (caller.isInterrupted()) {
+                interrupted = true;
+                worker.kill();
+            } else if (deadline != 0 && System.nanoTime() - deadline > 0) {
+                timedOut = true;
+                worker.kill();
+            }
+        }
+
+        void cancel() {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Registra se o pedido já entregou alguma saída; só é seguro repetir
+     * no fallback um pedido que ainda não produziu nada.
+     */
+    private static class OutputTracker {
+        private final Consumer<String> stdout;
+        private final Consumer<String> stderr;
+        boolean produced;
+
+        OutputTracker(Consumer<String> stdout, Consumer<String> stderr) {
+            this.stdout = stdout;
+            this.stderr = stderr;
+        }
+
+        void out(String line) {
+            produced = true;
+            stdout.accept(line);
+        }
+
+        void err(String line) {
+            produced = true;
+            stderr.accept(line);
+        }
+    }
+
+    private static class Worker {
+        private final Process process;
+        private final BufferedWriter input;
+        private final BufferedReader output;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        Worker(Process process) {
+            this.process = process;
+            this.input = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            this.output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        int run(List<String> args, Consumer<String> stdout, Consumer<String> stderr) throws IOException {
+            input.write(GSON.toJson(args));
+            input.newLine();
+            input.flush();
+
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(EXIT_PREFIX)) {
+                    return Integer.parseInt(line.substring(EXIT_PREFIX.length()).trim());
+                }
+                if (line.startsWith(ERR_PREFIX)) {
+                    stderr.accept(line.substring(ERR_PREFIX.length()));
+                } else {
+                    stdout.accept(line);
+                }
+            }
+            throw new IOException("worker do yt-dlp encerrou inesperadamente");
+        }
+
+        boolean isAlive() {
+            return process.isAlive();
+        }
+
+        void destroy() {
+            try {
+                input.close();
+            } catch (IOException e) {
+                // Processo já encerrado
+            }
+            process.destroy();
+        }
+
+        /**
+         * Encerra o worker e os processos que ele iniciou (ex: ffmpeg).
+         */
+        void kill() {
+            ProcessRunner.destroy(process);
+        }
+    }
+}
@@ -10,10 +10,13 @@ import util.Config;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Classe de aplicação que coordena os componentes.
@@ -22,29 +25,46 @@ import java.util.Scanner;
 public class Application {
     private final Config config;
     private final SyncService syncService;
+    private final PlaylistRepository playlistRepository;
+    private final VideoRepository videoRepository;
+    private final SqliteDatabase database;
+    private final YtDlpExecutor ytDlpExecutor;
+    private final RateLimiter rateLimiter;
     private SchedulerService schedulerService;
     private final Scanner scanner;
 
 
     private final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
-    private boolean autoSyncRunning;
-    private boolean syncInProgress;
-    private String syncCurrentVideo;
-    private int syncDownloadCurrent;
-    private int syncDownloadTotal;
-    private String downloadingVideoId;
-    private final Map<String, String> videoErrors = new HashMap<>();
+    // Escritos pelas threads de sincronização e lidos pela EDT
+    private volatile boolean autoSyncRunning;
+    private volatile boolean syncInProgress;
+    private final SyncProgress syncProgress = new SyncProgress();
+    private final Map<String, String> videoErrors = new ConcurrentHashMap<>();
 
     public Application() {
         this.config = new Config();
         this.scanner = new Scanner(System.in);
 
-        PlaylistRepository playlistRepository = new JsonPlaylistRepository();
-        VideoRepository videoRepository = new JsonVideoRepository();
+        this.database = "sqlite".equalsIgnoreCase(config.getStorageEngine()) ? openDatabase() : null;
+        if (database != null) {
+            this.playlistRepository = new SqlitePlaylistRepository(database);
+            this.videoRepository = new SqliteVideoRepository(database);
+        } else {
+            this.playlistRepository = new JsonPlaylistRepository(config.getPersistenceFlushDelayMs());
+            this.videoRepository = createVideoRepository(config);
+        }
+
+        // Garante a gravação de alterações pendentes mesmo quando a GUI encerra via System.exit
+        Runtime.getRuntime().addShutdownHook(new Thread(this::onShutdown, "RepositoryShutdown"));
+
+        // Fetcher e downloader compartilham os mesmos workers do yt-dlp e o mesmo limite de requisições
+        this.rateLimiter = config.getRateLimitEnabled() ? new RateLimiter(config) : null;
+        YtDlpExecutor executor = createYtDlpExecutor(config);
+        this.ytDlpExecutor = rateLimiter != null ? new RateLimitedYtDlpExecutor(executor, rateLimiter) : executor;
 
-        PlaylistFetcher playlistFetcher = new YtDlpPlaylistFetcher(config);
+        PlaylistFetcher playlistFetcher = new YtDlpPlaylistFetcher(config, ytDlpExecutor);
 
-        AudioDownloader audioDownloader = new YtDlpAudioDownloader(config);
+        AudioDownloader audioDownloader = new YtDlpAudioDownloader(config, ytDlpExecutor);
 
         this.syncService = new SyncService(
                 playlistRepository,
@@ -59,42 +79,113 @@ public class Application {
         syncService.setProgressListener(new SyncService.SyncProgressListener() {
             @Override
             public void onPlaylistFetchStart(String playlistTitle) {
-                syncCurrentVideo = "Buscando: " + playlistTitle;
-                syncDownloadCurrent = 0;
-                syncDownloadTotal = 0;
-                downloadingVideoId = null;
-                pcs.firePropertyChange("syncProgress", null, syncCurrentVideo);
+                syncProgress.fetchStarted(playlistTitle);
+                pcs.firePropertyChange("syncProgress", null, syncProgress.snapshot());
+            }
+
+            @Override
+            public void onDownloadStart(String worker, String videoId, String videoTitle, int current, int total) {
+                syncProgress.downloadStarted(worker, videoId, videoTitle, current, total);
+                pcs.firePropertyChange("syncProgress", null, syncProgress.snapshot());
             }
 
             @Override
-            public void onDownloadStart(String videoId, String videoTitle, int current, int total) {
-                syncCurrentVideo = videoTitle;
-                syncDownloadCurrent = current;
-                syncDownloadTotal = total;
-                downloadingVideoId = videoId;
-                pcs.firePropertyChange("syncProgress", null, syncCurrentVideo);
+            public void onDownloadProgress(String videoId, double percent) {
+                if (syncProgress.progress(videoId, percent)) {
+                    pcs.firePropertyChange("syncProgress", null, syncProgress.snapshot());
+                }
             }
 
             @Override
             public void onDownloadComplete(String videoId, String videoTitle, String errorMessage) {
-                downloadingVideoId = null;
                 if (errorMessage != null) {
                     videoErrors.put(videoId, errorMessage);
                 }
-                pcs.firePropertyChange("syncProgress", null, videoTitle);
+                syncProgress.downloadFinished(videoId);
+                pcs.firePropertyChange("syncProgress", null, syncProgress.snapshot());
+            }
+
+            @Override
+            public void onVideosAdded(String playlistId, List<Video> videos) {
+                pcs.firePropertyChange("videosAdded", playlistId, videos);
+            }
+
+            @Override
+            public void onVideoUpdated(Video video) {
+                pcs.firePropertyChange("videoUpdated", null, video);
+            }
+
+            @Override
+            public void onPlaylistUpdated(Playlist playlist) {
+                pcs.firePropertyChange("playlistUpdated", null, playlist);
             }
         });
     }
 
-    public void triggerSyncNow() {
+    /**
+     * Abre o banco SQLite e importa os arquivos JSON na primeira execução.
+     * Em caso de falha, volta para o armazenamento em JSON.
+     */
+    private static SqliteDatabase openDatabase() {
+        try {
+            SqliteDatabase db = new SqliteDatabase();
+            SqliteImporter.importJsonIfNeeded(db);
+            return db;
+        } catch (SQLException e) {
+            System.err.println("Erro ao abrir banco SQLite, usando JSON: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static VideoRepository createVideoRepository(Config config) {
+        if ("journal".equalsIgnoreCase(config.getStorageEngine())) {
+            return new JournalVideoRepository();
+        }
+        return new JsonVideoRepository(config.getPersistenceFlushDelayMs());
+    }
+
+    private static YtDlpExecutor createYtDlpExecutor(Config config) {
+        if (config.getYtDlpPoolEnabled()) {
+            try {
+                return new YtDlpWorkerPool(config);
+            } catch (IOException e) {
+                System.err.println("Erro ao criar workers do yt-dlp, usando um processo por chamada: " + e.getMessage());
+            }
+        }
+        return new ProcessYtDlpExecutor(config);
+    }
+
+    public SyncService.SyncSummary triggerSyncNow() {
         setSyncInProgress(true);
         try {
-            syncService.syncAllPlaylists();
+            return syncService.syncAllPlaylists();
         } finally {
             setSyncInProgress(false);
         }
     }
 
+    /**
+     * Cancela a sincronização em andamento, manual ou automática.
+     * @return false se nenhuma sincronização estava rodando
+     */
+    public boolean cancelSync() {
+        return syncService.cancelSync();
+    }
+
+    /**
+     * @return estado do limite de requisições; null se desativado
+     */
+    public RateLimiter.Status getRateLimiterStatus() {
+        return rateLimiter != null ? rateLimiter.getStatus() : null;
+    }
+
+    /**
+     * Eventos disparados, na thread que fez a alteração:
+     * "playlistsChanged" (playlists adicionadas, removidas ou alteradas em lote),
+     * "playlistUpdated" (nova {@link Playlist}), "videosAdded" (ID da playlist e lista de
+     * {@link Video} novos), "videoUpdated" (novo {@link Video}), "syncProgress" (novo
+     * {@link SyncProgress.Snapshot}), "syncInProgress" e "autoSyncRunning".
+     */
     public void addPropertyChangeListener(PropertyChangeListener listener) {
         pcs.addPropertyChangeListener(listener);
     }
@@ -107,16 +198,11 @@ public class Application {
         return syncInProgress;
     }
 
-    public String getSyncCurrentVideo() {
-        return syncCurrentVideo;
-    }
-
-    public int getSyncDownloadCurrent() {
-        return syncDownloadCurrent;
-    }
-
-    public int getSyncDownloadTotal() {
-        return syncDownloadTotal;
+    /**
+     * Estado atual do progresso da sincronização; imutável, pode ser lido de qualquer thread.
+     */
+    public SyncProgress.Snapshot getSyncProgress() {
+        return syncProgress.snapshot();
     }
 
     public List<Playlist> getPlaylists() {
@@ -127,12 +213,16 @@ public class Application {
         return syncService.getPlaylistStats(playlistId);
     }
 
+    public SyncService.PlaylistStats getGlobalStats() {
+        return syncService.getGlobalStats();
+    }
+
     public List<Video> getVideosByPlaylistId(String playlistId) {
         return syncService.getPlaylistVideos(playlistId);
     }
 
-    public String getDownloadingVideoId() {
-        return downloadingVideoId;
+    public List<Video> getVideosPage(String playlistId, int offset, int limit) {
+        return syncService.getPlaylistVideos(playlistId, offset, limit);
     }
 
     public String getVideoError(String videoId) {
@@ -149,15 +239,60 @@ public class Application {
         return playlist;
     }
 
+    /**
+     * Adiciona várias playlists de uma vez, buscando-as em paralelo.
+     */
+    public List<Playlist> addPlaylists(List<String> urls) {
+        List<Playlist> playlists = syncService.addPlaylists(urls);
+        pcs.firePropertyChange("playlistsChanged", null, playlists);
+        return playlists;
+    }
+
+    /**
+     * Separa as URLs de um texto com uma ou mais URLs separadas por espaços, vírgulas ou linhas.
+     */
+    public static List<String> splitUrls(String text) {
+        List<String> urls = new ArrayList<>();
+        for (String part : text.split("[\\s,]+")) {
+            if (!part.isBlank()) {
+                urls.add(part.trim());
+            }
+        }
+        return urls;
+    }
+
     public void removePlaylist(String playlistId) {
         syncService.removePlaylist(playlistId);
         pcs.firePropertyChange("playlistsChanged", playlistId, null);
     }
 
-    public void syncPlaylist(String playlistId) {
+    /**
+     * Libera para nova tentativa os vídeos com falha, inclusive os indisponíveis.
+     * @param playlistId playlist alvo; null para todas
+     * @return quantidade de vídeos liberados
+     */
+    public int resetFailedVideos(String playlistId) {
+        int reset = syncService.resetFailures(playlistId);
+        pcs.firePropertyChange("playlistsChanged", null, playlistId);
+        return reset;
+    }
+
+    /**
+     * Define a prioridade de download da playlist; maior é baixada antes.
+     * @return false se a playlist não existir
+     */
+    public boolean setPlaylistPriority(String playlistId, int priority) {
+        boolean updated = syncService.setPlaylistPriority(playlistId, priority).isPresent();
+        if (updated) {
+            pcs.firePropertyChange("playlistsChanged", null, playlistId);
+        }
+        return updated;
+    }
+
+    public SyncService.SyncResult syncPlaylist(String playlistId) {
         setSyncInProgress(true);
         try {
-            syncService.syncPlaylist(playlistId);
+            return syncService.syncPlaylist(playlistId);
         } finally {
             setSyncInProgress(false);
         }
@@ -190,9 +325,39 @@ public class Application {
         if (schedulerService.isRunning()) {
             schedulerService.stop();
         }
+        syncService.cancelSync();
+        closeRepositories();
         scanner.close();
     }
 
+    private void onShutdown() {
+        // Encerra os processos do yt-dlp antes de fechar os repositórios
+        if (syncService != null) {
+            syncService.cancelSync();
+        }
+        closeRepositories();
+    }
+
+    /**
+     * Grava alterações pendentes e libera os arquivos dos repositórios.
+     * Pode ser chamado mais de uma vez.
+     */
+    private void closeRepositories() {
+        List<Object> resources = new ArrayList<>(List.of(playlistRepository, videoRepository, ytDlpExecutor));
+        if (database != null) {
+            resources.add(database);
+        }
+        for (Object resource : resources) {
+            if (resource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    System.err.println("Erro ao fechar repositório: " + e.getMessage());
+                }
+            }
+        }
+    }
+
     /**
      * Inicia a aplicação em modo CLI (Command Line Interface).
      * Exibe o menu interativo no terminal.
@@ -236,6 +401,9 @@ public class Application {
             System.out.println("║ 5. Iniciar Sinc. Automática       ║");
             System.out.println("║ 6. Parar Sinc. Automática         ║");
             System.out.println("║ 7. Configurações                  ║");
+            System.out.println("║ 8. Cancelar Sincronização         ║");
+            System.out.println("║ 9. Repetir Vídeos com Falha       ║");
+            System.out.println("║ 10. Prioridade de Playlist        ║");
             System.out.println("║ 0. Sair                           ║");
             System.out.println("╠════════════════════════════════════╣");
             System.out.println("║ SINCRONIZAÇÃO AUTOMÁTICA          ║");
@@ -244,6 +412,10 @@ public class Application {
             for (String line : statusLines) {
                 System.out.printf("║ %-34s ║%n", line);
             }
+            RateLimiter.Status rate = getRateLimiterStatus();
+            if (rate != null) {
+                System.out.printf("║ %-34s ║%n", "Req.: " + rate);
+            }
 
             System.out.println("╚════════════════════════════════════╝");
             System.out.print("\nEscolha uma opção: ");
@@ -259,6 +431,9 @@ public class Application {
                     case "5" -> startAutoSyncMenu();
                     case "6" -> stopAutoSyncMenu();
                     case "7" -> showSettings();
+                    case "8" -> cancelSyncMenu();
+                    case "9" -> resetFailedVideos(null);
+                    case "10" -> playlistPriorityMenu();
                     case "0" -> {
                         exit();
                         return;
@@ -272,21 +447,30 @@ public class Application {
     }
 
     private void addPlaylistMenu() {
-        System.out.print("\nURL da playlist ou canal: ");
-        String url = scanner.nextLine().trim();
+        System.out.print("\nURL da playlist ou canal (várias separadas por espaço): ");
+        List<String> urls = splitUrls(scanner.nextLine());
 
-        if (url.isEmpty()) {
+        if (urls.isEmpty()) {
             System.out.println("URL inválida");
             return;
         }
 
-        Playlist playlist = addPlaylist(url);
+        if (urls.size() > 1) {
+            List<Playlist> added = addPlaylists(urls);
+            System.out.print("\nDeseja sincronizar as " + added.size() + " playlists agora? (s/n): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("s")) {
+                runManualSync(this::triggerSyncNow);
+            }
+            return;
+        }
+
+        Playlist playlist = addPlaylist(urls.get(0));
         String label = playlist.isChannel() ? "Canal adicionado" : "Playlist adicionada";
         System.out.println("\n✓ " + label + ": " + playlist.getTitle());
         System.out.print("\nDeseja sincronizar agora? (s/n): ");
 
         if (scanner.nextLine().trim().equalsIgnoreCase("s")) {
-            syncPlaylist(playlist.getId());
+            runManualSync(() -> syncPlaylist(playlist.getId()));
         }
     }
 
@@ -310,11 +494,17 @@ public class Application {
             System.out.printf("║    Vídeos: %d | Baixados: %d | Pendentes: %d%n",
                     stats.totalVideos, stats.downloaded, stats.pending);
             System.out.println("║    ID: " + p.getId());
+            if (p.getPriority() != 0) {
+                System.out.println("║    Prioridade: " + p.getPriority());
+            }
             if (p.getLastSyncedAt() != null) {
                 System.out.println("║    Última sinc: " + p.getLastSyncedAt());
             }
             System.out.println("╠════════════════════════════════════════════════════════════╣");
         }
+        SyncService.PlaylistStats total = syncService.getGlobalStats();
+        System.out.printf("║ Total: %d vídeos | Baixados: %d | Pendentes: %d | Com falha: %d%n",
+                total.totalVideos, total.downloaded, total.pending, total.failed);
         System.out.println("╚════════════════════════════════════════════════════════════╝");
     }
 
@@ -328,6 +518,27 @@ public class Application {
         }
     }
 
+    private void playlistPriorityMenu() {
+        listPlaylists();
+        System.out.print("\nID da playlist: ");
+        String id = scanner.nextLine().trim();
+        if (id.isEmpty()) {
+            return;
+        }
+
+        System.out.print("Prioridade (maior é baixada antes, padrão 0): ");
+        try {
+            int priority = Integer.parseInt(scanner.nextLine().trim());
+            if (setPlaylistPriority(id, priority)) {
+                System.out.println("✓ Prioridade atualizada para " + priority);
+            } else {
+                System.out.println("Playlist não encontrada");
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("✗ Valor inválido. Digite apenas números.");
+        }
+    }
+
     private void syncNowMenu() {
         List<Playlist> playlists = syncService.listPlaylists();
 
@@ -343,22 +554,38 @@ public class Application {
         String choice = scanner.nextLine().trim();
 
         if (choice.equals("1")) {
-            setSyncInProgress(true);
-            try {
-                syncService.syncAllPlaylists();
-            } finally {
-                setSyncInProgress(false);
-            }
+            runManualSync(this::triggerSyncNow);
         } else if (choice.equals("2")) {
             listPlaylists();
             System.out.print("\nID da playlist: ");
             String id = scanner.nextLine().trim();
             if (!id.isEmpty()) {
-                syncPlaylist(id);
+                runManualSync(() -> syncPlaylist(id));
             }
         }
     }
 
+    /**
+     * Roda a sincronização pedida no menu em segundo plano, para que o menu continue
+     * respondendo e a opção "Cancelar Sincronização" possa interrompê-la.
+     */
+    private void runManualSync(Runnable sync) {
+        if (syncInProgress) {
+            System.out.println("\nJá existe uma sincronização manual em andamento");
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                sync.run();
+            } catch (RuntimeException e) {
+                System.err.println("Erro na sincronização: " + e.getMessage());
+            }
+        }, "ManualSync");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("\nSincronização iniciada em segundo plano (opção 8 cancela)");
+    }
+
     private void startAutoSyncMenu() {
         if (schedulerService.isRunning()) {
             System.out.println("\nSincronização automática já está rodando");
@@ -377,6 +604,12 @@ public class Application {
         stopAutoSync();
     }
 
+    private void cancelSyncMenu() {
+        if (!cancelSync()) {
+            System.out.println("\nNenhuma sincronização em andamento");
+        }
+    }
+
     private void setAutoSyncRunning(boolean running) {
         boolean old = this.autoSyncRunning;
         this.autoSyncRunning = running;
@@ -386,11 +619,9 @@ public class Application {
     private void setSyncInProgress(boolean syncing) {
         if (syncing) {
             videoErrors.clear();
+            syncProgress.begin();
         } else {
-            syncCurrentVideo = null;
-            syncDownloadCurrent = 0;
-            syncDownloadTotal = 0;
-            downloadingVideoId = null;
+            syncProgress.end();
         }
         boolean old = this.syncInProgress;
         this.syncInProgress = syncing;
@@ -0,0 +1,131 @@
+package application;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Progresso da sincronização em andamento, escrito pelos workers de download e lido
+ * pela interface.
+ *
+ * O estado é um {@link Snapshot} imutável trocado por compare-and-set: escritores nunca
+ * bloqueiam e leitores sempre veem um estado consistente, sem locks.
+ */
+public final class SyncProgress {
+
+    /**
+     * Download de um vídeo em andamento.
+     */
+    public static final class Download {
+        public final String worker;
+        public final String videoId;
+        public final String title;
+        /** Percentual baixado, de 0 a 100. */
+        public final double percent;
+
+        Download(String worker, String videoId, String title, double percent) {
+            this.worker = worker;
+            this.videoId = videoId;
+            this.title = title;
+            this.percent = percent;
+        }
+    }
+
+    /**
+     * Estado imutável do progresso em um instante.
+     */
+    public static final class Snapshot {
+        static final Snapshot IDLE = new Snapshot(false, null, 0, 0, Map.of());
+
+        public final boolean syncing;
+        /** Playlist sendo buscada ou último vídeo iniciado; null se nenhum. */
+        public final String status;
+        /** Posição do último download iniciado entre os agendados da sua playlist. */
+        public final int current;
+        /** Downloads agendados na playlist do último download iniciado. */
+        public final int total;
+        /** Downloads em andamento, por ID do vídeo, na ordem em que começaram. */
+        public final Map<String, Download> inFlight;
+
+        private Snapshot(boolean syncing, String status, int current, int total, Map<String, Download> inFlight) {
+            this.syncing = syncing;
+            this.status = status;
+            this.current = current;
+            this.total = total;
+            this.inFlight = inFlight;
+        }
+
+        public boolean isDownloading(String videoId) {
+            return inFlight.containsKey(videoId);
+        }
+
+        private Snapshot with(String status, int current, int total, Map<String, Download> inFlight) {
+            return new Snapshot(syncing, status, current, total, Collections.unmodifiableMap(inFlight));
+        }
+    }
+
+    private final AtomicReference<Snapshot> state = new AtomicReference<>(Snapshot.IDLE);
+
+    public Snapshot snapshot() {
+        return state.get();
+    }
+
+    void begin() {
+        state.set(new Snapshot(true, null, 0, 0, Map.of()));
+    }
+
+    void end() {
+        state.set(Snapshot.IDLE);
+    }
+
+    void fetchStarted(String playlistTitle) {
+        // Sem downloads em andamento, a contagem da playlist anterior não vale mais
+        update(s -> s.inFlight.isEmpty()
+                ? s.with("Buscando: " + playlistTitle, 0, 0, s.inFlight)
+                : s.with("Buscando: " + playlistTitle, s.current, s.total, s.inFlight));
+    }
+
+    void downloadStarted(String worker, String videoId, String title, int current, int total) {
+        update(s -> {
+            Map<String, Download> inFlight = new LinkedHashMap<>(s.inFlight);
+            inFlight.put(videoId, new Download(worker, videoId, title, 0));
+            return s.with(title, current, total, inFlight);
+        });
+    }
+
+    /**
+     * @return false se a mudança não é visível (vídeo não está em andamento ou o
+     *         percentual inteiro não mudou), para que quem chama evite notificar
+     */
+    boolean progress(String videoId, double percent) {
+        boolean[] changed = new boolean[1];
+        update(s -> {
+            Download download = s.inFlight.get(videoId);
+            changed[0] = download != null && (int) download.percent != (int) percent;
+            if (!changed[0]) {
+                return s;
+            }
+            Map<String, Download> inFlight = new LinkedHashMap<>(s.inFlight);
+            inFlight.put(videoId, new Download(download.worker, videoId, download.title, percent));
+            return s.with(s.status, s.current, s.total, inFlight);
+        });
+        return changed[0];
+    }
+
+    void downloadFinished(String videoId) {
+        update(s -> {
+            if (!s.inFlight.containsKey(videoId)) {
+                return s;
+            }
+            Map<String, Download> inFlight = new LinkedHashMap<>(s.inFlight);
+            inFlight.remove(videoId);
+            return s.with(s.status, s.current, s.total, inFlight);
+        });
+    }
+
+    private Snapshot update(UnaryOperator<Snapshot> change) {
+        return state.updateAndGet(change);
+    }
+}
@@ -0,0 +1,21 @@
+package domain;
+
+/**
+ * Classificação da falha de download de um vídeo; define quando tentar de novo.
+ */
+public enum FailureType {
+    /**
+     * Erro passageiro (rede, prazo esgotado, erro do servidor): nova tentativa com espera crescente.
+     */
+    TRANSIENT,
+
+    /**
+     * O YouTube limitou as requisições (HTTP 429, verificação de robô): espera mais longa.
+     */
+    RATE_LIMITED,
+
+    /**
+     * Vídeo privado, removido ou bloqueado na região: não é tentado de novo até um reset manual.
+     */
+    PERMANENT
+}
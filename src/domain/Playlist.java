@@ -17,6 +17,9 @@ public class Playlist {
     private final LocalDateTime lastSyncedAt;
     private final int videoCount;
     private final String type;
+    private final LocalDateTime lastFullSyncAt;
+    private final String syncCursor;
+    private final int priority;
 
     private Playlist(Builder builder) {
         this.id = Objects.requireNonNull(builder.id, "ID não pode ser nulo");
@@ -25,6 +28,9 @@ public class Playlist {
         this.lastSyncedAt = builder.lastSyncedAt;
         this.videoCount = builder.videoCount;
         this.type = builder.type != null ? builder.type : TYPE_PLAYLIST;
+        this.lastFullSyncAt = builder.lastFullSyncAt;
+        this.syncCursor = builder.syncCursor;
+        this.priority = builder.priority;
     }
 
     public String getId() {
@@ -55,6 +61,42 @@ public class Playlist {
         return TYPE_CHANNEL.equals(type);
     }
 
+    /**
+     * Momento da última busca completa da playlist (sem janela incremental).
+     */
+    public LocalDateTime getLastFullSyncAt() {
+        return lastFullSyncAt;
+    }
+
+    /**
+     * ID do vídeo na borda da última busca: o mais recente em canais,
+     * o último da lista em playlists. Usado pela busca incremental.
+     */
+    public String getSyncCursor() {
+        return syncCursor;
+    }
+
+    /**
+     * Prioridade dos downloads da playlist: valores maiores são baixados antes. Padrão 0.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    public Playlist withPriority(int newPriority) {
+        return new Builder()
+                .id(this.id)
+                .url(this.url)
+                .title(this.title)
+                .type(this.type)
+                .lastSyncedAt(this.lastSyncedAt)
+                .videoCount(this.videoCount)
+                .lastFullSyncAt(this.lastFullSyncAt)
+                .syncCursor(this.syncCursor)
+                .priority(newPriority)
+                .build();
+    }
+
     public Playlist updateSyncTime(int newVideoCount) {
         return new Builder()
                 .id(this.id)
@@ -63,6 +105,24 @@ public class Playlist {
                 .type(this.type)
                 .lastSyncedAt(LocalDateTime.now())
                 .videoCount(newVideoCount)
+                .lastFullSyncAt(this.lastFullSyncAt)
+                .syncCursor(this.syncCursor)
+                .priority(this.priority)
+                .build();
+    }
+
+    public Playlist updateSyncState(int newVideoCount, String newSyncCursor, boolean fullSync) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Builder()
+                .id(this.id)
+                .url(this.url)
+                .title(this.title)
+                .type(this.type)
+                .lastSyncedAt(now)
+                .videoCount(newVideoCount)
+                .lastFullSyncAt(fullSync ? now : this.lastFullSyncAt)
+                .syncCursor(newSyncCursor)
+                .priority(this.priority)
                 .build();
     }
 
@@ -96,6 +156,9 @@ public class Playlist {
         private LocalDateTime lastSyncedAt;
         private int videoCount = 0;
         private String type;
+        private LocalDateTime lastFullSyncAt;
+        private String syncCursor;
+        private int priority = 0;
 
         public Builder id(String id) {
             this.id = id;
@@ -127,6 +190,21 @@ public class Playlist {
             return this;
         }
 
+        public Builder lastFullSyncAt(LocalDateTime lastFullSyncAt) {
+            this.lastFullSyncAt = lastFullSyncAt;
+            return this;
+        }
+
+        public Builder syncCursor(String syncCursor) {
+            this.syncCursor = syncCursor;
+            return this;
+        }
+
+        public Builder priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
         public Playlist build() {
             return new Playlist(this);
         }
@@ -15,6 +15,10 @@ public class Video {
     private final String playlistId;
     private final boolean downloaded;
     private final LocalDateTime downloadedAt;
+    private final FailureType failureType;
+    private final int failureCount;
+    private final String lastError;
+    private final LocalDateTime nextRetryAt;
 
     private Video(Builder builder) {
         this.id = Objects.requireNonNull(builder.id, "ID não pode ser nulo");
@@ -24,6 +28,10 @@ public class Video {
         this.playlistId = Objects.requireNonNull(builder.playlistId, "Playlist ID não pode ser nulo");
         this.downloaded = builder.downloaded;
         this.downloadedAt = builder.downloadedAt;
+        this.failureType = builder.failureType;
+        this.failureCount = builder.failureCount;
+        this.lastError = builder.lastError;
+        this.nextRetryAt = builder.nextRetryAt;
     }
 
     public String getId() {
@@ -54,6 +62,45 @@ public class Video {
         return downloadedAt;
     }
 
+    /**
+     * Tipo da última falha de download; null se o vídeo não falhou desde o último sucesso ou reset.
+     */
+    public FailureType getFailureType() {
+        return failureType;
+    }
+
+    /**
+     * Falhas consecutivas de download.
+     */
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Momento a partir do qual o download pode ser tentado de novo.
+     */
+    public LocalDateTime getNextRetryAt() {
+        return nextRetryAt;
+    }
+
+    public boolean hasPermanentFailure() {
+        return failureType == FailureType.PERMANENT;
+    }
+
+    /**
+     * Indica se o vídeo deve ser baixado agora: ainda não baixado, sem falha permanente
+     * e com a espera da última falha já cumprida.
+     */
+    public boolean isDownloadDue(LocalDateTime now) {
+        return !downloaded
+                && !hasPermanentFailure()
+                && (nextRetryAt == null || !now.isBefore(nextRetryAt));
+    }
+
     public Video markAsDownloaded() {
         return new Builder()
                 .id(this.id)
@@ -66,6 +113,35 @@ public class Video {
                 .build();
     }
 
+    /**
+     * Registra mais uma falha de download.
+     * @param nextRetryAt próxima tentativa; ignorado para falhas permanentes
+     */
+    public Video markAsFailed(FailureType type, String error, LocalDateTime nextRetryAt) {
+        return pending()
+                .failureType(Objects.requireNonNull(type, "Tipo de falha não pode ser nulo"))
+                .failureCount(this.failureCount + 1)
+                .lastError(error)
+                .nextRetryAt(type == FailureType.PERMANENT ? null : nextRetryAt)
+                .build();
+    }
+
+    /**
+     * Esquece as falhas registradas, liberando o vídeo para download imediato.
+     */
+    public Video clearFailure() {
+        return pending().build();
+    }
+
+    private Builder pending() {
+        return new Builder()
+                .id(this.id)
+                .title(this.title)
+                .url(this.url)
+                .publishedAt(this.publishedAt)
+                .playlistId(this.playlistId);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -85,6 +161,7 @@ public class Video {
                 "id='" + id + '\'' +
                 ", title='" + title + '\'' +
                 ", downloaded=" + downloaded +
+                (failureType != null ? ", failure=" + failureType + "x" + failureCount : "") +
                 '}';
     }
 
@@ -96,6 +173,10 @@ public class Video {
         private String playlistId;
         private boolean downloaded = false;
         private LocalDateTime downloadedAt;
+        private FailureType failureType;
+        private int failureCount;
+        private String lastError;
+        private LocalDateTime nextRetryAt;
 
         public Builder id(String id) {
             this.id = id;
@@ -132,6 +213,26 @@ public class Video {
             return this;
         }
 
+        public Builder failureType(FailureType failureType) {
+            this.failureType = failureType;
+            return this;
+        }
+
+        public Builder failureCount(int failureCount) {
+            this.failureCount = failureCount;
+            return this;
+        }
+
+        public Builder lastError(String lastError) {
+            this.lastError = lastError;
+            return this;
+        }
+
+        public Builder nextRetryAt(LocalDateTime nextRetryAt) {
+            this.nextRetryAt = nextRetryAt;
+            return this;
+        }
+
         public Video build() {
             return new Video(this);
         }
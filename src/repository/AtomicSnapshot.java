@@ -0,0 +1,146 @@
+package repository;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Gravação e leitura à prova de queda dos arquivos de dados.
+ *
+ * A nova versão é escrita em um arquivo temporário, sincronizada em disco (fsync) e só
+ * então renomeada atomicamente sobre o arquivo real; a versão anterior é mantida como
+ * {@code .bak}. Na leitura, um arquivo ilegível ou com checksum inválido é movido para
+ * {@code .corrupt} e a última versão boa ({@code .bak}) é usada no lugar.
+ */
+final class AtomicSnapshot {
+    static final String CHECKSUM_KEY = "checksum";
+
+    private static final Gson COMPACT = new Gson();
+
+    interface Body {
+        void write(Writer writer) throws IOException;
+    }
+
+    interface Loader<T> {
+        T load(Reader reader) throws IOException;
+    }
+
+    private AtomicSnapshot() {
+    }
+
+    static Path backupOf(Path target) {
+        return target.resolveSibling(target.getFileName() + ".bak");
+    }
+
+    /**
+     * Substitui {@code target} de forma atômica pelo conteúdo escrito por {@code body}.
+     */
+    static void write(Path target, Body body) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            body.write(writer);
+            writer.flush();
+            channel.force(true);
+        }
+
+        if (Files.exists(target)) {
+            Files.move(target, backupOf(target), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(target.getParent());
+    }
+
+    /**
+     * Lê {@code target}, recorrendo ao backup se ele estiver ausente ou corrompido.
+     * @return vazio se não houver nenhuma versão legível
+     */
+    static <T> Optional<T> read(Path target, Loader<T> loader) {
+        for (Path candidate : List.of(target, backupOf(target))) {
+            if (!Files.exists(candidate)) {
+                continue;
+            }
+            try (Reader reader = Files.newBufferedReader(candidate, StandardCharsets.UTF_8)) {
+                T result = loader.load(reader);
+                if (!candidate.equals(target)) {
+                    System.err.println("⚠ " + target.getFileName() + " inválido; usando versão anterior " + candidate.getFileName());
+                }
+                return Optional.of(result);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Erro ao ler " + candidate.getFileName() + ": " + e.getMessage());
+                quarantine(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checksum (CRC32) dos elementos de dados, calculado sobre sua forma JSON compacta.
+     */
+    static String checksum(Iterable<JsonElement> elements) {
+        CRC32 crc = new CRC32();
+        for (JsonElement element : elements) {
+            update(crc, element);
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
+    static void update(CRC32 crc, JsonElement element) {
+        crc.update(COMPACT.toJson(element).getBytes(StandardCharsets.UTF_8));
+        crc.update('\n');
+    }
+
+    /**
+     * Confere o checksum gravado no documento. Arquivos antigos sem checksum são aceitos.
+     */
+    static void verify(JsonObject root, Iterable<JsonElement> elements) throws IOException {
+        if (!root.has(CHECKSUM_KEY)) {
+            return;
+        }
+        CRC32 crc = new CRC32();
+        for (JsonElement element : elements) {
+            update(crc, element);
+        }
+        verify(root.get(CHECKSUM_KEY).getAsString(), crc);
+    }
+
+    /**
+     * Confere um checksum acumulado incrementalmente com {@link #update}.
+     */
+    static void verify(String expected, CRC32 crc) throws IOException {
+        String actual = Long.toHexString(crc.getValue());
+        if (!expected.equals(actual)) {
+            throw new IOException("checksum inválido (esperado " + expected + ", calculado " + actual + ")");
+        }
+    }
+
+    private static void quarantine(Path file) {
+        try {
+            Path corrupt = file.resolveSibling(file.getFileName() + ".corrupt");
+            Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            System.err.println("Arquivo preservado em " + corrupt.getFileName());
+        } catch (IOException e) {
+            System.err.println("Erro ao isolar arquivo corrompido: " + e.getMessage());
+        }
+    }
+
+    private static void syncDirectory(Path directory) {
+        // Garante que o rename foi persistido; não suportado em alguns sistemas (ex: Windows)
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Melhor esforço
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package repository;
+
+import domain.Video;
+import util.AppDataDir;
+import com.google.gson.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Implementação de VideoRepository baseada em um log append-only.
+ *
+ * Cada save/delete acrescenta uma linha JSON em {@code videos.journal}, então o custo de
+ * I/O por operação é constante. Periodicamente o estado em memória é compactado em
+ * {@code videos.snapshot} e o journal é truncado. Na inicialização o snapshot é carregado
+ * (ou o {@code .bak}, se estiver corrompido) e o journal é reaplicado por cima. Se nenhum dos dois existir, o {@code videos.json}
+ * legado é importado uma única vez (o arquivo original é mantido intacto). Se a importação
+ * falhar, nada é gravado na execução, para que ela possa ser repetida na próxima.
+ */
+public class JournalVideoRepository implements VideoRepository, Closeable {
+    static final String SNAPSHOT_FILE = "videos.snapshot";
+    static final String JOURNAL_FILE = "videos.journal";
+    static final String LEGACY_FILE = "videos.json";
+
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 5000;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final Path legacyFile;
+    private final int compactionThreshold;
+    private final VideoIndex index = new VideoIndex();
+    private final Gson gson = new Gson();
+
+    private Writer journalWriter;
+    private int journalEntries;
+    // Importação do videos.json falhou: gravar criaria um journal e impediria nova tentativa
+    private boolean importFailed;
+
+    public JournalVideoRepository() {
+        this(AppDataDir.get());
+    }
+
+    JournalVideoRepository(Path dataDir) {
+        this(dataDir, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    JournalVideoRepository(Path dataDir, int compactionThreshold) {
+        this.snapshotFile = dataDir.resolve(SNAPSHOT_FILE);
+        this.journalFile = dataDir.resolve(JOURNAL_FILE);
+        this.legacyFile = dataDir.resolve(LEGACY_FILE);
+        this.compactionThreshold = compactionThreshold;
+        load();
+    }
+
+    @Override
+    public synchronized void save(Video video) {
+        index.put(video);
+        append(List.of(saveEntry(video)));
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<Video> videos) {
+        List<JsonObject> entries = new ArrayList<>(videos.size());
+        for (Video video : videos) {
+            index.put(video);
+            entries.add(saveEntry(video));
+        }
+        append(entries);
+    }
+
+    @Override
+    public Optional<Video> findById(String id) {
+        return Optional.ofNullable(index.get(id));
+    }
+
+    @Override
+    public List<Video> findByPlaylistId(String playlistId) {
+        return index.findByPlaylistId(playlistId);
+    }
+
+    @Override
+    public List<Video> findByPlaylistId(String playlistId, int offset, int limit) {
+        return index.findByPlaylistId(playlistId, offset, limit);
+    }
+
+    @Override
+    public List<Video> findNotDownloadedByPlaylistId(String playlistId) {
+        return index.findNotDownloadedByPlaylistId(playlistId);
+    }
+
+    @Override
+    public List<Video> findNotDownloaded() {
+        return index.findNotDownloaded();
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return index.contains(id);
+    }
+
+    @Override
+    public synchronized void delete(String id) {
+        if (index.remove(id) != null) {
+            append(List.of(deleteEntry(id)));
+        }
+    }
+
+    @Override
+    public synchronized void deleteAll(Collection<String> ids) {
+        List<JsonObject> entries = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            if (index.remove(id) != null) {
+                entries.add(deleteEntry(id));
+            }
+        }
+        append(entries);
+    }
+
+    @Override
+    public int countByPlaylistId(String playlistId) {
+        return index.countByPlaylistId(playlistId);
+    }
+
+    @Override
+    public VideoStats statsByPlaylistId(String playlistId) {
+        return index.statsByPlaylistId(playlistId);
+    }
+
+    @Override
+    public VideoStats globalStats() {
+        return index.globalStats();
+    }
+
+    /**
+     * Grava o estado atual em um novo snapshot e esvazia o journal.
+     */
+    public synchronized void compact() {
+        if (importFailed) {
+            return;
+        }
+        try {
+            closeJournal();
+
+            AtomicSnapshot.write(snapshotFile, writer -> {
+                for (Video video : index.values()) {
+                    writer.write(gson.toJson(VideoJsonCodec.serialize(video)));
+                    writer.write('\n');
+                }
+            });
+
+            // O snapshot já contém tudo; o journal recomeça vazio
+            openJournal(false);
+        } catch (IOException e) {
+            System.err.println("Erro ao compactar journal de vídeos: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closeJournal();
+    }
+
+    private static JsonObject saveEntry(Video video) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("op", "save");
+        entry.add("video", VideoJsonCodec.serialize(video));
+        return entry;
+    }
+
+    private static JsonObject deleteEntry(String id) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("op", "delete");
+        entry.addProperty("id", id);
+        return entry;
+    }
+
+    /**
+     * Acrescenta as entradas ao journal com um único flush.
+     */
+    private synchronized void append(List<JsonObject> entries) {
+        if (entries.isEmpty() || importFailed) {
+            return;
+        }
+        try {
+            if (journalWriter == null) {
+                openJournal(true);
+            }
+            for (JsonObject entry : entries) {
+                journalWriter.write(gson.toJson(entry));
+                journalWriter.write('\n');
+            }
+            journalWriter.flush();
+            journalEntries += entries.size();
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar journal de vídeos: " + e.getMessage());
+            return;
+        }
+
+        if (journalEntries >= Math.max(compactionThreshold, index.size())) {
+            compact();
+        }
+    }
+
+    private void load() {
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+
+            if (!Files.exists(snapshotFile) && !Files.exists(journalFile)
+                    && (Files.exists(legacyFile) || Files.exists(AtomicSnapshot.backupOf(legacyFile)))) {
+                migrateLegacyFile();
+                return;
+            }
+
+            // Snapshot ilegível é isolado e a versão anterior (.bak) é usada; o journal é
+            // reaplicado em qualquer caso
+            AtomicSnapshot.read(snapshotFile, this::readSnapshot).ifPresent(videos -> videos.forEach(index::put));
+
+            // Uma linha inválida ficaria no arquivo e a próxima entrada seria colada nela;
+            // compactar reescreve o estado no snapshot e recomeça o journal limpo
+            if (Files.exists(journalFile) && !replayJournal()) {
+                System.err.println("⚠ Journal de vídeos danificado; compactando");
+                compact();
+            } else if (journalEntries >= Math.max(compactionThreshold, index.size())) {
+                compact();
+            }
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            System.err.println("Erro ao carregar vídeos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lê o snapshot inteiro antes de devolvê-lo, para que uma linha inválida descarte
+     * o arquivo todo em vez de deixar o índice pela metade.
+     */
+    private List<Video> readSnapshot(Reader reader) throws IOException {
+        List<Video> videos = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) continue;
+            videos.add(VideoJsonCodec.deserialize(JsonParser.parseString(line).getAsJsonObject()));
+        }
+        return videos;
+    }
+
+    /**
+     * Reaplica as entradas do journal sobre o índice, ignorando as inválidas.
+     * @return false se alguma linha foi ignorada ou o arquivo não termina em quebra de linha
+     */
+    private boolean replayJournal() throws IOException {
+        boolean intact = endsWithNewline(journalFile);
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                JsonObject entry;
+                try {
+                    entry = JsonParser.parseString(line).getAsJsonObject();
+                } catch (JsonParseException | IllegalStateException e) {
+                    // Linha incompleta após queda do processo (ou corrompida): descarta
+                    System.err.println("Entrada inválida no journal ignorada");
+                    intact = false;
+                    continue;
+                }
+
+                String op = entry.get("op").getAsString();
+                if ("save".equals(op)) {
+                    Video video = VideoJsonCodec.deserialize(entry.getAsJsonObject("video"));
+                    index.put(video);
+                } else if ("delete".equals(op)) {
+                    index.remove(entry.get("id").getAsString());
+                }
+                journalEntries++;
+            }
+        }
+        return intact;
+    }
+
+    private static boolean endsWithNewline(Path file) throws IOException {
+        try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(last);
+            return last.get(0) == '\n';
+        }
+    }
+
+    /**
+     * Importa o {@code videos.json} com a mesma leitura do {@link JsonVideoRepository}
+     * (checksum e recurso ao {@code .bak}). O índice só é preenchido depois que o arquivo
+     * inteiro foi lido.
+     */
+    private void migrateLegacyFile() {
+        Optional<List<Video>> videos = AtomicSnapshot.read(legacyFile, JsonVideoRepository::readVideos);
+        if (videos.isEmpty()) {
+            importFailed = true;
+            System.err.println("✗ Não foi possível importar " + LEGACY_FILE + "; alterações não serão gravadas");
+            return;
+        }
+        videos.get().forEach(index::put);
+        compact();
+        if (!Files.exists(snapshotFile)) {
+            // Sem snapshot, um journal novo esconderia o videos.json na próxima inicialização
+            importFailed = true;
+            return;
+        }
+        System.out.println("✓ " + index.size() + " vídeos importados de " + LEGACY_FILE);
+    }
+
+    private void openJournal(boolean append) throws IOException {
+        OutputStream out = append
+                ? Files.newOutputStream(journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newOutputStream(journalFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        journalWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (!append) {
+            journalEntries = 0;
+        }
+    }
+
+    private void closeJournal() {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.close();
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar journal de vídeos: " + e.getMessage());
+        }
+        journalWriter = null;
+    }
+}
@@ -14,30 +14,44 @@ import java.util.concurrent.ConcurrentHashMap;
  * Implementação de PlaylistRepository usando JSON.
  * Thread-safe com ConcurrentHashMap.
  */
-public class JsonPlaylistRepository implements PlaylistRepository {
+public class JsonPlaylistRepository implements PlaylistRepository, Closeable {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
     private final Path dataFile;
     private final Map<String, Playlist> cache = new ConcurrentHashMap<>();
     private final Gson gson;
+    private final WriteBehindFlusher flusher;
 
     public JsonPlaylistRepository() {
         this(AppDataDir.get());
     }
 
+    /**
+     * @param flushDelayMillis intervalo mínimo entre gravações em disco;
+     *                         0 grava a cada alteração
+     */
+    public JsonPlaylistRepository(long flushDelayMillis) {
+        this(AppDataDir.get(), flushDelayMillis);
+    }
+
     JsonPlaylistRepository(Path dataDir) {
+        this(dataDir, 0);
+    }
+
+    JsonPlaylistRepository(Path dataDir, long flushDelayMillis) {
         this.dataFile = dataDir.resolve("playlists.json");
         this.gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .setPrettyPrinting()
                 .create();
+        this.flusher = new WriteBehindFlusher("PlaylistRepositoryFlusher", flushDelayMillis, this::saveToFile);
         loadFromFile();
     }
 
     @Override
     public void save(Playlist playlist) {
         cache.put(playlist.getId(), playlist);
-        saveToFile();
+        flusher.markDirty();
     }
 
     @Override
@@ -60,7 +74,7 @@ public class JsonPlaylistRepository implements PlaylistRepository {
     @Override
     public void delete(String id) {
         cache.remove(id);
-        saveToFile();
+        flusher.markDirty();
     }
 
     @Override
@@ -68,30 +82,47 @@ public class JsonPlaylistRepository implements PlaylistRepository {
         return cache.containsKey(id);
     }
 
+    /**
+     * Grava imediatamente alterações ainda pendentes no modo write-behind.
+     */
+    public void flush() {
+        flusher.flush();
+    }
+
+    @Override
+    public void close() {
+        flusher.close();
+    }
+
     private void loadFromFile() {
         try {
-            Path path = dataFile;
-            if (!Files.exists(path)) {
-                Files.createDirectories(path.getParent());
-                return;
-            }
-
-            String json = Files.readString(path);
-            JsonObject root = gson.fromJson(json, JsonObject.class);
+            Files.createDirectories(dataFile.getParent());
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar playlists: " + e.getMessage());
+            return;
+        }
 
-            if (root != null && root.has("playlists")) {
+        AtomicSnapshot.read(dataFile, reader -> {
+            JsonObject root = gson.fromJson(reader, JsonObject.class);
+            List<Playlist> loaded = new ArrayList<>();
+            if (root == null) {
+                throw new IOException("arquivo vazio");
+            }
+            if (root.has("playlists")) {
                 JsonArray playlists = root.getAsJsonArray("playlists");
+                AtomicSnapshot.verify(root, playlists);
                 for (JsonElement element : playlists) {
-                    Playlist playlist = deserializePlaylist(element.getAsJsonObject());
-                    cache.put(playlist.getId(), playlist);
+                    loaded.add(deserializePlaylist(element.getAsJsonObject()));
                 }
             }
-        } catch (IOException e) {
-            System.err.println("Erro ao carregar playlists: " + e.getMessage());
-        }
+            return loaded;
+        }).ifPresent(playlists -> playlists.forEach(playlist -> cache.put(playlist.getId(), playlist)));
     }
 
-    private void saveToFile() {
+    /**
+     * @return false se a gravação falhou
+     */
+    private synchronized boolean saveToFile() {
         try {
             JsonObject root = new JsonObject();
             JsonArray playlists = new JsonArray();
@@ -101,12 +132,13 @@ public class JsonPlaylistRepository implements PlaylistRepository {
             }
 
             root.add("playlists", playlists);
+            root.addProperty(AtomicSnapshot.CHECKSUM_KEY, AtomicSnapshot.checksum(playlists));
 
-            Path path = dataFile;
-            Files.createDirectories(path.getParent());
-            Files.writeString(path, gson.toJson(root));
+            AtomicSnapshot.write(dataFile, writer -> gson.toJson(root, writer));
+            return true;
         } catch (IOException e) {
             System.err.println("Erro ao salvar playlists: " + e.getMessage());
+            return false;
         }
     }
 
@@ -116,9 +148,19 @@ public class JsonPlaylistRepository implements PlaylistRepository {
         obj.addProperty("url", playlist.getUrl());
         obj.addProperty("title", playlist.getTitle());
         obj.addProperty("videoCount", playlist.getVideoCount());
+        obj.addProperty("type", playlist.getType());
         if (playlist.getLastSyncedAt() != null) {
             obj.addProperty("lastSyncedAt", playlist.getLastSyncedAt().format(FORMATTER));
         }
+        if (playlist.getLastFullSyncAt() != null) {
+            obj.addProperty("lastFullSyncAt", playlist.getLastFullSyncAt().format(FORMATTER));
+        }
+        if (playlist.getSyncCursor() != null) {
+            obj.addProperty("syncCursor", playlist.getSyncCursor());
+        }
+        if (playlist.getPriority() != 0) {
+            obj.addProperty("priority", playlist.getPriority());
+        }
         return obj;
     }
 
@@ -136,6 +178,22 @@ public class JsonPlaylistRepository implements PlaylistRepository {
             builder.lastSyncedAt(LocalDateTime.parse(obj.get("lastSyncedAt").getAsString(), FORMATTER));
         }
 
+        if (obj.has("type")) {
+            builder.type(obj.get("type").getAsString());
+        }
+
+        if (obj.has("lastFullSyncAt")) {
+            builder.lastFullSyncAt(LocalDateTime.parse(obj.get("lastFullSyncAt").getAsString(), FORMATTER));
+        }
+
+        if (obj.has("syncCursor")) {
+            builder.syncCursor(obj.get("syncCursor").getAsString());
+        }
+
+        if (obj.has("priority")) {
+            builder.priority(obj.get("priority").getAsInt());
+        }
+
         return builder.build();
     }
 
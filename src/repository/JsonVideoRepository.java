@@ -3,160 +3,240 @@ package repository;
 import domain.Video;
 import util.AppDataDir;
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 /**
  * Implementação de VideoRepository usando JSON.
- * Thread-safe com ConcurrentHashMap.
+ * Thread-safe; consultas por playlist usam os índices de {@link VideoIndex}.
  */
-public class JsonVideoRepository implements VideoRepository {
+public class JsonVideoRepository implements VideoRepository, Closeable {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
     private final Path dataFile;
-    private final Map<String, Video> cache = new ConcurrentHashMap<>();
+    private final VideoIndex index = new VideoIndex();
     private final Gson gson;
+    private final WriteBehindFlusher flusher;
 
     public JsonVideoRepository() {
         this(AppDataDir.get());
     }
 
+    /**
+     * @param flushDelayMillis intervalo mínimo entre gravações em disco;
+     *                         0 grava a cada alteração
+     */
+    public JsonVideoRepository(long flushDelayMillis) {
+        this(AppDataDir.get(), flushDelayMillis);
+    }
+
     JsonVideoRepository(Path dataDir) {
+        this(dataDir, 0);
+    }
+
+    JsonVideoRepository(Path dataDir, long flushDelayMillis) {
         this.dataFile = dataDir.resolve("videos.json");
         this.gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .setPrettyPrinting()
                 .create();
+        this.flusher = new WriteBehindFlusher("VideoRepositoryFlusher", flushDelayMillis, this::saveToFile);
         loadFromFile();
     }
 
     @Override
     public void save(Video video) {
-        cache.put(video.getId(), video);
-        saveToFile();
+        index.put(video);
+        flusher.markDirty();
+    }
+
+    @Override
+    public void saveAll(Collection<Video> videos) {
+        if (videos.isEmpty()) {
+            return;
+        }
+        for (Video video : videos) {
+            index.put(video);
+        }
+        flusher.markDirty();
     }
 
     @Override
     public Optional<Video> findById(String id) {
-        return Optional.ofNullable(cache.get(id));
+        return Optional.ofNullable(index.get(id));
     }
 
     @Override
     public List<Video> findByPlaylistId(String playlistId) {
-        return cache.values().stream()
-                .filter(v -> v.getPlaylistId().equals(playlistId))
-                .collect(Collectors.toList());
+        return index.findByPlaylistId(playlistId);
+    }
+
+    @Override
+    public List<Video> findByPlaylistId(String playlistId, int offset, int limit) {
+        return index.findByPlaylistId(playlistId, offset, limit);
     }
 
     @Override
     public List<Video> findNotDownloadedByPlaylistId(String playlistId) {
-        return cache.values().stream()
-                .filter(v -> v.getPlaylistId().equals(playlistId))
-                .filter(v -> !v.isDownloaded())
-                .collect(Collectors.toList());
+        return index.findNotDownloadedByPlaylistId(playlistId);
+    }
+
+    @Override
+    public List<Video> findNotDownloaded() {
+        return index.findNotDownloaded();
     }
 
     @Override
     public boolean exists(String id) {
-        return cache.containsKey(id);
+        return index.contains(id);
     }
 
     @Override
     public void delete(String id) {
-        cache.remove(id);
-        saveToFile();
+        index.remove(id);
+        flusher.markDirty();
     }
 
     @Override
-    public int countByPlaylistId(String playlistId) {
-        return (int) cache.values().stream()
-                .filter(v -> v.getPlaylistId().equals(playlistId))
-                .count();
+    public void deleteAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (String id : ids) {
+            index.remove(id);
+        }
+        flusher.markDirty();
     }
 
-    private void loadFromFile() {
-        try {
-            Path path = dataFile;
-            if (!Files.exists(path)) {
-                Files.createDirectories(path.getParent());
-                return;
-            }
-
-            String json = Files.readString(path);
-            JsonObject root = gson.fromJson(json, JsonObject.class);
-
-            if (root != null && root.has("videos")) {
-                JsonArray videos = root.getAsJsonArray("videos");
-                for (JsonElement element : videos) {
-                    Video video = deserializeVideo(element.getAsJsonObject());
-                    cache.put(video.getId(), video);
-                }
-            }
-        } catch (IOException e) {
-            System.err.println("Erro ao carregar vídeos: " + e.getMessage());
-        }
+    @Override
+    public int countByPlaylistId(String playlistId) {
+        return index.countByPlaylistId(playlistId);
     }
 
-    private void saveToFile() {
-        try {
-            JsonObject root = new JsonObject();
-            JsonArray videos = new JsonArray();
+    @Override
+    public VideoStats statsByPlaylistId(String playlistId) {
+        return index.statsByPlaylistId(playlistId);
+    }
 
-            for (Video video : cache.values()) {
-                videos.add(serializeVideo(video));
-            }
+    @Override
+    public VideoStats globalStats() {
+        return index.globalStats();
+    }
 
-            root.add("videos", videos);
+    /**
+     * Todos os vídeos carregados, usado na migração para outros backends.
+     */
+    List<Video> findAll() {
+        return index.values();
+    }
 
-            Path path = dataFile;
-            Files.createDirectories(path.getParent());
-            Files.writeString(path, gson.toJson(root));
-        } catch (IOException e) {
-            System.err.println("Erro ao salvar vídeos: " + e.getMessage());
-        }
+    /**
+     * Grava imediatamente alterações ainda pendentes no modo write-behind.
+     */
+    public void flush() {
+        flusher.flush();
     }
 
-    private JsonObject serializeVideo(Video video) {
-        JsonObject obj = new JsonObject();
-        obj.addProperty("id", video.getId());
-        obj.addProperty("title", video.getTitle());
-        obj.addProperty("url", video.getUrl());
-        obj.addProperty("playlistId", video.getPlaylistId());
-        obj.addProperty("downloaded", video.isDownloaded());
+    @Override
+    public void close() {
+        flusher.close();
+    }
 
-        if (video.getPublishedAt() != null) {
-            obj.addProperty("publishedAt", video.getPublishedAt().format(FORMATTER));
+    /**
+     * Carrega o arquivo em streaming: apenas um vídeo por vez é mantido como árvore JSON,
+     * sem ler o documento inteiro para uma String.
+     */
+    private void loadFromFile() {
+        try {
+            Files.createDirectories(dataFile.getParent());
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar vídeos: " + e.getMessage());
+            return;
         }
 
-        if (video.getDownloadedAt() != null) {
-            obj.addProperty("downloadedAt", video.getDownloadedAt().format(FORMATTER));
+        long start = System.nanoTime();
+        Optional<List<Video>> loaded = AtomicSnapshot.read(dataFile, JsonVideoRepository::readVideos);
+        loaded.ifPresent(videos -> videos.forEach(index::put));
+        if (loaded.isPresent()) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println("✓ " + index.size() + " vídeos carregados em " + elapsedMillis + " ms");
         }
-
-        return obj;
     }
 
-    private Video deserializeVideo(JsonObject obj) {
-        Video.Builder builder = new Video.Builder()
-                .id(obj.get("id").getAsString())
-                .title(obj.get("title").getAsString())
-                .url(obj.get("url").getAsString())
-                .playlistId(obj.get("playlistId").getAsString())
-                .downloaded(obj.has("downloaded") && obj.get("downloaded").getAsBoolean());
-
-        if (obj.has("publishedAt")) {
-            builder.publishedAt(LocalDateTime.parse(obj.get("publishedAt").getAsString(), FORMATTER));
+    /**
+     * Lê o documento inteiro antes de devolver os vídeos; também usado pela importação
+     * do {@link JournalVideoRepository}.
+     */
+    static List<Video> readVideos(Reader source) throws IOException {
+        List<Video> videos = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        String checksum = null;
+
+        JsonReader reader = new JsonReader(source);
+        if (reader.peek() == JsonToken.END_DOCUMENT) {
+            throw new IOException("arquivo vazio");
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if ("videos".equals(name)) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    JsonObject obj = JsonParser.parseReader(reader).getAsJsonObject();
+                    AtomicSnapshot.update(crc, obj);
+                    videos.add(VideoJsonCodec.deserialize(obj));
+                }
+                reader.endArray();
+            } else if (AtomicSnapshot.CHECKSUM_KEY.equals(name)) {
+                checksum = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
         }
+        reader.endObject();
 
-        if (obj.has("downloadedAt")) {
-            builder.downloadedAt(LocalDateTime.parse(obj.get("downloadedAt").getAsString(), FORMATTER));
+        if (checksum != null) {
+            AtomicSnapshot.verify(checksum, crc);
         }
+        return videos;
+    }
 
-        return builder.build();
+    /**
+     * Grava o arquivo em streaming, um vídeo por vez, sem montar a árvore do documento.
+     * @return false se a gravação falhou
+     */
+    private synchronized boolean saveToFile() {
+        try {
+            List<Video> videos = index.values();
+            AtomicSnapshot.write(dataFile, target -> {
+                CRC32 crc = new CRC32();
+                JsonWriter writer = new JsonWriter(target);
+                writer.setIndent("  ");
+                writer.beginObject();
+                writer.name("videos");
+                writer.beginArray();
+                for (Video video : videos) {
+                    JsonObject obj = VideoJsonCodec.serialize(video);
+                    AtomicSnapshot.update(crc, obj);
+                    gson.toJson(obj, writer);
+                }
+                writer.endArray();
+                writer.name(AtomicSnapshot.CHECKSUM_KEY).value(Long.toHexString(crc.getValue()));
+                writer.endObject();
+                writer.flush();
+            });
+            return true;
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar vídeos: " + e.getMessage());
+            return false;
+        }
     }
 
     private static class LocalDateTimeAdapter implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime> {
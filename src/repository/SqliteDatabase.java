@@ -0,0 +1,216 @@
+package repository;
+
+import util.AppDataDir;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+
+/**
+ * Conexão compartilhada com o banco SQLite usado por {@link SqliteVideoRepository}
+ * e {@link SqlitePlaylistRepository}.
+ *
+ * O SQLite aceita um único escritor por vez, então todo acesso passa por esta
+ * conexão sincronizada. O esquema é criado na abertura.
+ *
+ * A tabela video_stats guarda os contadores de vídeos por playlist; triggers a
+ * ajustam a cada inserção, alteração e remoção em videos.
+ */
+public class SqliteDatabase implements Closeable {
+    static final String DATABASE_FILE = "ytmusicsync.db";
+
+    private final Connection connection;
+
+    interface Work<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    public SqliteDatabase() throws SQLException {
+        this(AppDataDir.get());
+    }
+
+    SqliteDatabase(Path dataDir) throws SQLException {
+        try {
+            Files.createDirectories(dataDir);
+        } catch (IOException e) {
+            throw new SQLException("Erro ao criar diretório de dados: " + e.getMessage(), e);
+        }
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + dataDir.resolve(DATABASE_FILE));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+        }
+        createSchema();
+    }
+
+    /**
+     * Executa uma operação com acesso exclusivo à conexão.
+     */
+    synchronized <T> T execute(Work<T> work) throws SQLException {
+        return work.run(connection);
+    }
+
+    /**
+     * Executa uma operação dentro de uma transação; faz rollback em caso de erro.
+     */
+    synchronized <T> T inTransaction(Work<T> work) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            T result = work.run(connection);
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    synchronized String getMeta(String key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT value FROM meta WHERE key = ?")) {
+            statement.setString(1, key);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    synchronized void setMeta(String key, String value) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT OR REPLACE INTO meta (key, value) VALUES (?, ?)")) {
+            statement.setString(1, key);
+            statement.setString(2, value);
+            statement.executeUpdate();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar banco de dados: " + e.getMessage());
+        }
+    }
+
+    private void createSchema() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS videos (
+                        id TEXT PRIMARY KEY,
+                        title TEXT NOT NULL,
+                        url TEXT NOT NULL,
+                        playlist_id TEXT NOT NULL,
+                        downloaded INTEGER NOT NULL DEFAULT 0,
+                        published_at TEXT,
+                        downloaded_at TEXT,
+                        failure_type TEXT,
+                        failure_count INTEGER NOT NULL DEFAULT 0,
+                        last_error TEXT,
+                        next_retry_at TEXT
+                    )""");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_videos_playlist_downloaded ON videos (playlist_id, downloaded)");
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS playlists (
+                        id TEXT PRIMARY KEY,
+                        url TEXT NOT NULL,
+                        title TEXT,
+                        video_count INTEGER NOT NULL DEFAULT 0,
+                        last_synced_at TEXT,
+                        type TEXT NOT NULL,
+                        last_full_sync_at TEXT,
+                        sync_cursor TEXT,
+                        priority INTEGER NOT NULL DEFAULT 0
+                    )""");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_videos_pending ON videos (playlist_id) WHERE downloaded = 0");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_playlists_url ON playlists (url)");
+            statement.execute("CREATE TABLE IF NOT EXISTS meta (key TEXT PRIMARY KEY, value TEXT)");
+        }
+        addColumnIfMissing("playlists", "last_full_sync_at", "TEXT");
+        addColumnIfMissing("playlists", "sync_cursor", "TEXT");
+        addColumnIfMissing("playlists", "priority", "INTEGER NOT NULL DEFAULT 0");
+        addColumnIfMissing("videos", "failure_type", "TEXT");
+        addColumnIfMissing("videos", "failure_count", "INTEGER NOT NULL DEFAULT 0");
+        addColumnIfMissing("videos", "last_error", "TEXT");
+        addColumnIfMissing("videos", "next_retry_at", "TEXT");
+        createVideoStats();
+    }
+
+    /**
+     * Cria a tabela de contadores e suas triggers; em bancos que ainda não a tinham,
+     * preenche os contadores a partir dos vídeos existentes.
+     */
+    private void createVideoStats() throws SQLException {
+        boolean exists;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'video_stats'")) {
+            exists = rs.next();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS video_stats (
+                        playlist_id TEXT PRIMARY KEY,
+                        total INTEGER NOT NULL DEFAULT 0,
+                        downloaded INTEGER NOT NULL DEFAULT 0,
+                        failed INTEGER NOT NULL DEFAULT 0,
+                        unavailable INTEGER NOT NULL DEFAULT 0
+                    )""");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS video_stats_insert AFTER INSERT ON videos BEGIN "
+                    + countVideo("NEW") + " END");
+            statement.execute("CREATE TRIGGER IF NOT EXISTS video_stats_delete AFTER DELETE ON videos BEGIN "
+                    + uncountVideo("OLD") + " END");
+            statement.execute("""
+                    CREATE TRIGGER IF NOT EXISTS video_stats_update AFTER UPDATE ON videos
+                    WHEN OLD.playlist_id IS NOT NEW.playlist_id
+                      OR OLD.downloaded IS NOT NEW.downloaded
+                      OR OLD.failure_type IS NOT NEW.failure_type
+                    BEGIN\s""" + uncountVideo("OLD") + " " + countVideo("NEW") + " END");
+            if (!exists) {
+                statement.execute("""
+                        INSERT INTO video_stats (playlist_id, total, downloaded, failed, unavailable)
+                        SELECT playlist_id, COUNT(*), SUM(downloaded),
+                               SUM(downloaded = 0 AND failure_type IS NOT NULL),
+                               SUM(failure_type IS 'PERMANENT')
+                        FROM videos GROUP BY playlist_id""");
+            }
+        }
+    }
+
+    private static String countVideo(String row) {
+        return "INSERT INTO video_stats (playlist_id, total, downloaded, failed, unavailable) VALUES ("
+                + row + ".playlist_id, 1, " + row + ".downloaded, "
+                + "(" + row + ".downloaded = 0 AND " + row + ".failure_type IS NOT NULL), "
+                + "(" + row + ".failure_type IS 'PERMANENT')) "
+                + "ON CONFLICT(playlist_id) DO UPDATE SET total = total + excluded.total, "
+                + "downloaded = downloaded + excluded.downloaded, failed = failed + excluded.failed, "
+                + "unavailable = unavailable + excluded.unavailable;";
+    }
+
+    private static String uncountVideo(String row) {
+        return "UPDATE video_stats SET total = total - 1, downloaded = downloaded - " + row + ".downloaded, "
+                + "failed = failed - (" + row + ".downloaded = 0 AND " + row + ".failure_type IS NOT NULL), "
+                + "unavailable = unavailable - (" + row + ".failure_type IS 'PERMANENT') "
+                + "WHERE playlist_id = " + row + ".playlist_id; "
+                + "DELETE FROM video_stats WHERE playlist_id = " + row + ".playlist_id AND total = 0;";
+    }
+
+    /**
+     * Migração de bancos criados por versões anteriores do esquema.
+     */
+    private void addColumnIfMissing(String table, String column, String type) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equals(rs.getString("name"))) {
+                    return;
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + type);
+        }
+    }
+}
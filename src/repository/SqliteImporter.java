@@ -0,0 +1,45 @@
+package repository;
+
+import util.AppDataDir;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Importação única de {@code videos.json} e {@code playlists.json} para o banco SQLite.
+ * Os arquivos JSON são mantidos intactos; a importação é registrada na tabela meta
+ * para não ser repetida.
+ */
+public final class SqliteImporter {
+    static final String IMPORTED_KEY = "json.imported.at";
+
+    private SqliteImporter() {
+    }
+
+    public static void importJsonIfNeeded(SqliteDatabase database) throws SQLException {
+        importJsonIfNeeded(database, AppDataDir.get());
+    }
+
+    static void importJsonIfNeeded(SqliteDatabase database, Path dataDir) throws SQLException {
+        if (database.getMeta(IMPORTED_KEY) != null) {
+            return;
+        }
+
+        boolean hasJson = Files.exists(dataDir.resolve("videos.json")) || Files.exists(dataDir.resolve("playlists.json"));
+        if (hasJson) {
+            JsonPlaylistRepository jsonPlaylists = new JsonPlaylistRepository(dataDir);
+            JsonVideoRepository jsonVideos = new JsonVideoRepository(dataDir);
+
+            new SqlitePlaylistRepository(database).upsertAll(jsonPlaylists.findAll());
+            new SqliteVideoRepository(database).upsertAll(jsonVideos.findAll());
+
+            System.out.println("✓ Importados para SQLite: " + jsonPlaylists.findAll().size() + " playlists, "
+                    + jsonVideos.findAll().size() + " vídeos");
+            jsonPlaylists.close();
+            jsonVideos.close();
+        }
+
+        database.setMeta(IMPORTED_KEY, LocalDateTime.now().toString());
+    }
+}
@@ -0,0 +1,153 @@
+package repository;
+
+import domain.Playlist;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Implementação de PlaylistRepository usando SQLite.
+ */
+public class SqlitePlaylistRepository implements PlaylistRepository {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final String UPSERT = """
+            INSERT INTO playlists (id, url, title, video_count, last_synced_at, type, last_full_sync_at, sync_cursor,
+                                   priority)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(id) DO UPDATE SET
+                url = excluded.url,
+                title = excluded.title,
+                video_count = excluded.video_count,
+                last_synced_at = excluded.last_synced_at,
+                type = excluded.type,
+                last_full_sync_at = excluded.last_full_sync_at,
+                sync_cursor = excluded.sync_cursor,
+                priority = excluded.priority""";
+
+    private static final String COLUMNS =
+            "id, url, title, video_count, last_synced_at, type, last_full_sync_at, sync_cursor, priority";
+
+    private final SqliteDatabase database;
+
+    public SqlitePlaylistRepository(SqliteDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public void save(Playlist playlist) {
+        try {
+            upsertAll(List.of(playlist));
+        } catch (SQLException e) {
+            System.err.println("Erro ao salvar playlist: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grava as playlists em uma única transação, propagando falhas.
+     */
+    void upsertAll(Collection<Playlist> playlists) throws SQLException {
+        if (playlists.isEmpty()) {
+            return;
+        }
+        database.inTransaction(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (Playlist playlist : playlists) {
+                    statement.setString(1, playlist.getId());
+                    statement.setString(2, playlist.getUrl());
+                    statement.setString(3, playlist.getTitle());
+                    statement.setInt(4, playlist.getVideoCount());
+                    statement.setString(5, format(playlist.getLastSyncedAt()));
+                    statement.setString(6, playlist.getType());
+                    statement.setString(7, format(playlist.getLastFullSyncAt()));
+                    statement.setString(8, playlist.getSyncCursor());
+                    statement.setInt(9, playlist.getPriority());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Playlist> findById(String id) {
+        List<Playlist> found = query("SELECT " + COLUMNS + " FROM playlists WHERE id = ?", id);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    public Optional<Playlist> findByUrl(String url) {
+        List<Playlist> found = query("SELECT " + COLUMNS + " FROM playlists WHERE url = ? LIMIT 1", url);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    public List<Playlist> findAll() {
+        return query("SELECT " + COLUMNS + " FROM playlists", null);
+    }
+
+    @Override
+    public void delete(String id) {
+        try {
+            database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM playlists WHERE id = ?")) {
+                    statement.setString(1, id);
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao remover playlist: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return findById(id).isPresent();
+    }
+
+    private List<Playlist> query(String sql, String param) {
+        try {
+            return database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    if (param != null) {
+                        statement.setString(1, param);
+                    }
+                    try (ResultSet rs = statement.executeQuery()) {
+                        List<Playlist> playlists = new ArrayList<>();
+                        while (rs.next()) {
+                            playlists.add(map(rs));
+                        }
+                        return playlists;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao consultar playlists: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static Playlist map(ResultSet rs) throws SQLException {
+        return new Playlist.Builder()
+                .id(rs.getString("id"))
+                .url(rs.getString("url"))
+                .title(rs.getString("title"))
+                .videoCount(rs.getInt("video_count"))
+                .lastSyncedAt(parse(rs.getString("last_synced_at")))
+                .type(rs.getString("type"))
+                .lastFullSyncAt(parse(rs.getString("last_full_sync_at")))
+                .syncCursor(rs.getString("sync_cursor"))
+                .priority(rs.getInt("priority"))
+                .build();
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? value.format(FORMATTER) : null;
+    }
+
+    private static LocalDateTime parse(String value) {
+        return value != null ? LocalDateTime.parse(value, FORMATTER) : null;
+    }
+}
@@ -0,0 +1,268 @@
+package repository;
+
+import domain.FailureType;
+import domain.Video;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Implementação de VideoRepository usando SQLite.
+ * Consultas por playlist e estado de download usam o índice (playlist_id, downloaded);
+ * estatísticas vêm da tabela video_stats, mantida por triggers. Operações em lote
+ * rodam em uma única transação.
+ */
+public class SqliteVideoRepository implements VideoRepository {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private static final String UPSERT = """
+            INSERT INTO videos (id, title, url, playlist_id, downloaded, published_at, downloaded_at,
+                                failure_type, failure_count, last_error, next_retry_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT(id) DO UPDATE SET
+                title = excluded.title,
+                url = excluded.url,
+                playlist_id = excluded.playlist_id,
+                downloaded = excluded.downloaded,
+                published_at = excluded.published_at,
+                downloaded_at = excluded.downloaded_at,
+                failure_type = excluded.failure_type,
+                failure_count = excluded.failure_count,
+                last_error = excluded.last_error,
+                next_retry_at = excluded.next_retry_at""";
+
+    private static final String COLUMNS = "id, title, url, playlist_id, downloaded, published_at, downloaded_at, "
+            + "failure_type, failure_count, last_error, next_retry_at";
+
+    private final SqliteDatabase database;
+
+    public SqliteVideoRepository(SqliteDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public void save(Video video) {
+        saveAll(List.of(video));
+    }
+
+    @Override
+    public void saveAll(Collection<Video> videos) {
+        try {
+            upsertAll(videos);
+        } catch (SQLException e) {
+            System.err.println("Erro ao salvar vídeos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Grava os vídeos em uma única transação, propagando falhas.
+     */
+    void upsertAll(Collection<Video> videos) throws SQLException {
+        if (videos.isEmpty()) {
+            return;
+        }
+        database.inTransaction(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (Video video : videos) {
+                    bind(statement, video);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Video> findById(String id) {
+        List<Video> found = query("SELECT " + COLUMNS + " FROM videos WHERE id = ?", id);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    @Override
+    public List<Video> findByPlaylistId(String playlistId) {
+        return query("SELECT " + COLUMNS + " FROM videos WHERE playlist_id = ?", playlistId);
+    }
+
+    @Override
+    public List<Video> findByPlaylistId(String playlistId, int offset, int limit) {
+        try {
+            return database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT " + COLUMNS + " FROM videos WHERE playlist_id = ? ORDER BY rowid LIMIT ? OFFSET ?")) {
+                    statement.setString(1, playlistId);
+                    statement.setInt(2, limit);
+                    statement.setInt(3, offset);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        List<Video> videos = new ArrayList<>();
+                        while (rs.next()) {
+                            videos.add(map(rs));
+                        }
+                        return videos;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao consultar vídeos: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<Video> findNotDownloadedByPlaylistId(String playlistId) {
+        return query("SELECT " + COLUMNS + " FROM videos WHERE playlist_id = ? AND downloaded = 0", playlistId);
+    }
+
+    @Override
+    public List<Video> findNotDownloaded() {
+        return query("SELECT " + COLUMNS + " FROM videos WHERE downloaded = 0", null);
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return count("SELECT COUNT(*) FROM videos WHERE id = ?", id) > 0;
+    }
+
+    @Override
+    public void delete(String id) {
+        deleteAll(List.of(id));
+    }
+
+    @Override
+    public void deleteAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            database.inTransaction(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM videos WHERE id = ?")) {
+                    for (String id : ids) {
+                        statement.setString(1, id);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao remover vídeos: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int countByPlaylistId(String playlistId) {
+        return count("SELECT COUNT(*) FROM videos WHERE playlist_id = ?", playlistId);
+    }
+
+    @Override
+    public VideoStats statsByPlaylistId(String playlistId) {
+        return stats("SELECT total, downloaded, failed, unavailable FROM video_stats WHERE playlist_id = ?",
+                playlistId);
+    }
+
+    @Override
+    public VideoStats globalStats() {
+        return stats("SELECT SUM(total), SUM(downloaded), SUM(failed), SUM(unavailable) FROM video_stats", null);
+    }
+
+    private List<Video> query(String sql, String param) {
+        try {
+            return database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    if (param != null) {
+                        statement.setString(1, param);
+                    }
+                    try (ResultSet rs = statement.executeQuery()) {
+                        List<Video> videos = new ArrayList<>();
+                        while (rs.next()) {
+                            videos.add(map(rs));
+                        }
+                        return videos;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao consultar vídeos: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private VideoStats stats(String sql, String param) {
+        try {
+            return database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    if (param != null) {
+                        statement.setString(1, param);
+                    }
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return rs.next()
+                                ? new VideoStats(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4))
+                                : VideoStats.EMPTY;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao consultar vídeos: " + e.getMessage());
+            return VideoStats.EMPTY;
+        }
+    }
+
+    private int count(String sql, String param) {
+        try {
+            return database.execute(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setString(1, param);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return rs.next() ? rs.getInt(1) : 0;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Erro ao consultar vídeos: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Video video) throws SQLException {
+        statement.setString(1, video.getId());
+        statement.setString(2, video.getTitle());
+        statement.setString(3, video.getUrl());
+        statement.setString(4, video.getPlaylistId());
+        statement.setInt(5, video.isDownloaded() ? 1 : 0);
+        statement.setString(6, format(video.getPublishedAt()));
+        statement.setString(7, format(video.getDownloadedAt()));
+        statement.setString(8, video.getFailureType() != null ? video.getFailureType().name() : null);
+        statement.setInt(9, video.getFailureCount());
+        statement.setString(10, video.getLastError());
+        statement.setString(11, format(video.getNextRetryAt()));
+    }
+
+    private static Video map(ResultSet rs) throws SQLException {
+        return new Video.Builder()
+                .id(rs.getString("id"))
+                .title(rs.getString("title"))
+                .url(rs.getString("url"))
+                .playlistId(rs.getString("playlist_id"))
+                .downloaded(rs.getInt("downloaded") != 0)
+                .publishedAt(parse(rs.getString("published_at")))
+                .downloadedAt(parse(rs.getString("downloaded_at")))
+                .failureType(parseFailureType(rs.getString("failure_type")))
+                .failureCount(rs.getInt("failure_count"))
+                .lastError(rs.getString("last_error"))
+                .nextRetryAt(parse(rs.getString("next_retry_at")))
+                .build();
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? value.format(FORMATTER) : null;
+    }
+
+    private static FailureType parseFailureType(String value) {
+        return value != null ? FailureType.valueOf(value) : null;
+    }
+
+    private static LocalDateTime parse(String value) {
+        return value != null ? LocalDateTime.parse(value, FORMATTER) : null;
+    }
+}
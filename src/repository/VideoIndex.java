@@ -0,0 +1,220 @@
+package repository;
+
+import domain.Video;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Armazenamento em memória dos vídeos com índices secundários por playlist
+ * e por estado de download.
+ *
+ * O mapa principal e os índices são alterados sob o mesmo lock de escrita,
+ * então uma consulta nunca enxerga um vídeo em um índice e não no outro.
+ * Buscas por playlist custam O(resultado); contagens e estatísticas custam O(1),
+ * pois os contadores são ajustados a cada inserção e remoção.
+ */
+final class VideoIndex {
+    private final Map<String, Video> byId = new HashMap<>();
+    private final Map<String, Map<String, Video>> byPlaylist = new HashMap<>();
+    private final Map<String, Map<String, Video>> pendingByPlaylist = new HashMap<>();
+    private final Map<String, VideoStats> statsByPlaylist = new HashMap<>();
+    private VideoStats globalStats = VideoStats.EMPTY;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Insere ou substitui um vídeo, atualizando os índices. Um vídeo substituído na
+     * mesma playlist mantém sua posição, para que a paginação seja estável.
+     * @return versão anterior do vídeo, ou null
+     */
+    Video put(Video video) {
+        lock.writeLock().lock();
+        try {
+            Video previous = byId.put(video.getId(), video);
+            if (previous != null) {
+                uncount(previous);
+                if (!previous.getPlaylistId().equals(video.getPlaylistId())) {
+                    unindex(previous);
+                }
+            }
+            count(video);
+            byPlaylist.computeIfAbsent(video.getPlaylistId(), k -> new LinkedHashMap<>()).put(video.getId(), video);
+            if (!video.isDownloaded()) {
+                pendingByPlaylist.computeIfAbsent(video.getPlaylistId(), k -> new LinkedHashMap<>()).put(video.getId(), video);
+            } else if (previous != null) {
+                removeFrom(pendingByPlaylist, previous);
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um vídeo e suas entradas nos índices.
+     * @return vídeo removido, ou null se não existia
+     */
+    Video remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Video removed = byId.remove(id);
+            if (removed != null) {
+                uncount(removed);
+                unindex(removed);
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Video get(String id) {
+        lock.readLock().lock();
+        try {
+            return byId.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return byId.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Video> findByPlaylistId(String playlistId) {
+        return snapshotOf(byPlaylist, playlistId);
+    }
+
+    /**
+     * Página dos vídeos da playlist, na ordem em que foram inseridos.
+     */
+    List<Video> findByPlaylistId(String playlistId, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<String, Video> bucket = byPlaylist.get(playlistId);
+            if (bucket == null) {
+                return new ArrayList<>();
+            }
+            return bucket.values().stream().skip(offset).limit(limit).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<Video> findNotDownloadedByPlaylistId(String playlistId) {
+        return snapshotOf(pendingByPlaylist, playlistId);
+    }
+
+    List<Video> findNotDownloaded() {
+        lock.readLock().lock();
+        try {
+            List<Video> pending = new ArrayList<>();
+            pendingByPlaylist.values().forEach(bucket -> pending.addAll(bucket.values()));
+            return pending;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int countByPlaylistId(String playlistId) {
+        return sizeOf(byPlaylist, playlistId);
+    }
+
+    VideoStats statsByPlaylistId(String playlistId) {
+        lock.readLock().lock();
+        try {
+            return statsByPlaylist.getOrDefault(playlistId, VideoStats.EMPTY);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    VideoStats globalStats() {
+        lock.readLock().lock();
+        try {
+            return globalStats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cópia de todos os vídeos, para serialização.
+     */
+    List<Video> values() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(byId.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void count(Video video) {
+        VideoStats delta = VideoStats.of(video);
+        statsByPlaylist.merge(video.getPlaylistId(), delta, VideoStats::plus);
+        globalStats = globalStats.plus(delta);
+    }
+
+    private void uncount(Video video) {
+        VideoStats delta = VideoStats.of(video);
+        VideoStats stats = statsByPlaylist.get(video.getPlaylistId()).minus(delta);
+        if (stats.total == 0) {
+            statsByPlaylist.remove(video.getPlaylistId());
+        } else {
+            statsByPlaylist.put(video.getPlaylistId(), stats);
+        }
+        globalStats = globalStats.minus(delta);
+    }
+
+    private void unindex(Video video) {
+        removeFrom(byPlaylist, video);
+        removeFrom(pendingByPlaylist, video);
+    }
+
+    private static void removeFrom(Map<String, Map<String, Video>> index, Video video) {
+        Map<String, Video> bucket = index.get(video.getPlaylistId());
+        if (bucket == null) {
+            return;
+        }
+        bucket.remove(video.getId());
+        if (bucket.isEmpty()) {
+            index.remove(video.getPlaylistId());
+        }
+    }
+
+    private List<Video> snapshotOf(Map<String, Map<String, Video>> index, String playlistId) {
+        lock.readLock().lock();
+        try {
+            Map<String, Video> bucket = index.get(playlistId);
+            return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int sizeOf(Map<String, Map<String, Video>> index, String playlistId) {
+        lock.readLock().lock();
+        try {
+            Map<String, Video> bucket = index.get(playlistId);
+            return bucket == null ? 0 : bucket.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
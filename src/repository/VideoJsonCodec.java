@@ -0,0 +1,78 @@
+package repository;
+
+import domain.FailureType;
+import domain.Video;
+import com.google.gson.JsonObject;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Conversão entre {@link Video} e o formato JSON usado pelos repositórios em arquivo.
+ * Compartilhado para que todos os formatos em disco leiam e escrevam os mesmos campos.
+ */
+final class VideoJsonCodec {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private VideoJsonCodec() {
+    }
+
+    static JsonObject serialize(Video video) {
+        JsonObject obj = new JsonObject();
+        obj.addProperty("id", video.getId());
+        obj.addProperty("title", video.getTitle());
+        obj.addProperty("url", video.getUrl());
+        obj.addProperty("playlistId", video.getPlaylistId());
+        obj.addProperty("downloaded", video.isDownloaded());
+
+        if (video.getPublishedAt() != null) {
+            obj.addProperty("publishedAt", video.getPublishedAt().format(FORMATTER));
+        }
+
+        if (video.getDownloadedAt() != null) {
+            obj.addProperty("downloadedAt", video.getDownloadedAt().format(FORMATTER));
+        }
+
+        if (video.getFailureType() != null) {
+            obj.addProperty("failureType", video.getFailureType().name());
+            obj.addProperty("failureCount", video.getFailureCount());
+            if (video.getLastError() != null) {
+                obj.addProperty("lastError", video.getLastError());
+            }
+            if (video.getNextRetryAt() != null) {
+                obj.addProperty("nextRetryAt", video.getNextRetryAt().format(FORMATTER));
+            }
+        }
+
+        return obj;
+    }
+
+    static Video deserialize(JsonObject obj) {
+        Video.Builder builder = new Video.Builder()
+                .id(obj.get("id").getAsString())
+                .title(obj.get("title").getAsString())
+                .url(obj.get("url").getAsString())
+                .playlistId(obj.get("playlistId").getAsString())
+                .downloaded(obj.has("downloaded") && obj.get("downloaded").getAsBoolean());
+
+        if (obj.has("publishedAt")) {
+            builder.publishedAt(LocalDateTime.parse(obj.get("publishedAt").getAsString(), FORMATTER));
+        }
+
+        if (obj.has("downloadedAt")) {
+            builder.downloadedAt(LocalDateTime.parse(obj.get("downloadedAt").getAsString(), FORMATTER));
+        }
+
+        if (obj.has("failureType")) {
+            builder.failureType(FailureType.valueOf(obj.get("failureType").getAsString()))
+                    .failureCount(obj.has("failureCount") ? obj.get("failureCount").getAsInt() : 1);
+            if (obj.has("lastError")) {
+                builder.lastError(obj.get("lastError").getAsString());
+            }
+            if (obj.has("nextRetryAt")) {
+                builder.nextRetryAt(LocalDateTime.parse(obj.get("nextRetryAt").getAsString(), FORMATTER));
+            }
+        }
+
+        return builder.build();
+    }
+}
@@ -1,6 +1,7 @@
 package repository;
 
 import domain.Video;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,11 @@ public interface VideoRepository {
      */
     void save(Video video);
 
+    /**
+     * Salva ou atualiza vários vídeos com uma única gravação em disco.
+     */
+    void saveAll(Collection<Video> videos);
+
     /**
      * Busca um vídeo por ID.
      */
@@ -24,11 +30,24 @@ public interface VideoRepository {
      */
     List<Video> findByPlaylistId(String playlistId);
 
+    /**
+     * Lista uma página dos vídeos de uma playlist, em ordem estável entre chamadas.
+     * @param offset posição do primeiro vídeo (a partir de 0)
+     * @param limit quantidade máxima de vídeos
+     */
+    List<Video> findByPlaylistId(String playlistId, int offset, int limit);
+
     /**
      * Lista vídeos não baixados de uma playlist.
      */
     List<Video> findNotDownloadedByPlaylistId(String playlistId);
 
+    /**
+     * Lista os vídeos não baixados de todas as playlists: a fila de downloads
+     * pendentes, inclusive os que aguardam nova tentativa.
+     */
+    List<Video> findNotDownloaded();
+
     /**
      * Verifica se um vídeo existe.
      */
@@ -39,8 +58,23 @@ public interface VideoRepository {
      */
     void delete(String id);
 
+    /**
+     * Remove vários vídeos por ID com uma única gravação em disco.
+     */
+    void deleteAll(Collection<String> ids);
+
     /**
      * Conta vídeos de uma playlist.
      */
     int countByPlaylistId(String playlistId);
+
+    /**
+     * Contadores dos vídeos de uma playlist, mantidos a cada alteração.
+     */
+    VideoStats statsByPlaylistId(String playlistId);
+
+    /**
+     * Contadores somados dos vídeos de todas as playlists.
+     */
+    VideoStats globalStats();
 }
@@ -0,0 +1,49 @@
+package repository;
+
+import domain.Video;
+
+/**
+ * Contadores de vídeos de uma playlist ou de todas elas. Os repositórios os mantêm
+ * atualizados a cada alteração, então consultá-los não percorre os vídeos.
+ */
+public final class VideoStats {
+    public static final VideoStats EMPTY = new VideoStats(0, 0, 0, 0);
+
+    public final int total;
+    public final int downloaded;
+    /** Não baixados com falha registrada, inclusive os indisponíveis. */
+    public final int failed;
+    /** Marcados como indisponíveis, que não serão tentados de novo. */
+    public final int unavailable;
+
+    public VideoStats(int total, int downloaded, int failed, int unavailable) {
+        this.total = total;
+        this.downloaded = downloaded;
+        this.failed = failed;
+        this.unavailable = unavailable;
+    }
+
+    /**
+     * Contribuição de um único vídeo para os contadores.
+     */
+    static VideoStats of(Video video) {
+        return new VideoStats(1,
+                video.isDownloaded() ? 1 : 0,
+                !video.isDownloaded() && video.getFailureType() != null ? 1 : 0,
+                video.hasPermanentFailure() ? 1 : 0);
+    }
+
+    public int pending() {
+        return total - downloaded;
+    }
+
+    VideoStats plus(VideoStats other) {
+        return new VideoStats(total + other.total, downloaded + other.downloaded,
+                failed + other.failed, unavailable + other.unavailable);
+    }
+
+    VideoStats minus(VideoStats other) {
+        return new VideoStats(total - other.total, downloaded - other.downloaded,
+                failed - other.failed, unavailable - other.unavailable);
+    }
+}
@@ -0,0 +1,105 @@
+package repository;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Agrupa gravações em disco de um repositório (write-behind).
+ *
+ * Cada alteração apenas marca o repositório como sujo; uma thread em segundo plano
+ * executa a gravação no máximo uma vez a cada {@code delayMillis}. Com atraso zero
+ * a gravação acontece imediatamente na thread chamadora (write-through).
+ *
+ * Uma gravação que falha deixa o repositório sujo: em segundo plano ela é reagendada;
+ * em write-through é repetida na próxima alteração.
+ */
+final class WriteBehindFlusher {
+    private final BooleanSupplier writer;
+    private final long delayMillis;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ScheduledThreadPoolExecutor executor;
+    private volatile boolean closed;
+
+    /**
+     * @param writer grava o estado atual; retorna false se a gravação falhou
+     */
+    WriteBehindFlusher(String name, long delayMillis, BooleanSupplier writer) {
+        this.writer = writer;
+        this.delayMillis = delayMillis;
+        if (delayMillis > 0) {
+            this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Registra que há alterações pendentes de gravação.
+     */
+    void markDirty() {
+        dirty.set(true);
+        if (executor == null || closed) {
+            flush();
+            return;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.schedule(() -> {
+                    scheduled.set(false);
+                    flush();
+                }, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Encerrado entre a checagem e o agendamento
+                scheduled.set(false);
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Grava imediatamente se houver alterações pendentes.
+     * @return false se a gravação falhou; as alterações continuam pendentes
+     */
+    boolean flush() {
+        if (!dirty.getAndSet(false) || writer.getAsBoolean()) {
+            return true;
+        }
+        dirty.set(true);
+        if (executor != null && !closed) {
+            schedule();
+        }
+        return false;
+    }
+
+    /**
+     * Grava o que estiver pendente e encerra a thread de gravação.
+     */
+    void close() {
+        closed = true;
+        if (executor != null) {
+            // Não interrompe uma gravação em andamento para não truncar o arquivo
+            executor.shutdown();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!flush()) {
+            System.err.println("⚠ Alterações não gravadas ao encerrar");
+        }
+    }
+}
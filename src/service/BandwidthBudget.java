@@ -0,0 +1,82 @@
+package service;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Divide o limite de banda entre todos os processos de download em execução, de
+ * qualquer sincronização.
+ *
+ * Cada processo reserva uma parcela fixa ({@code limite / download.concurrency}), já que
+ * o {@code --limit-rate} do yt-dlp não muda depois que o processo começa. Quando a soma
+ * das parcelas chegaria a passar do limite, o próximo processo espera um dos atuais
+ * terminar. Processos iniciados sem limite continuam sem limite até terminar; enquanto
+ * houver algum, nenhum processo novo começa sob limite.
+ */
+final class BandwidthBudget {
+    // Reavalia o limite mesmo sem liberações, para perceber a troca de janela de horário
+    private static final long RECHECK_MILLIS = 10_000;
+
+    private final IntSupplier limitKbps;
+    private final IntSupplier concurrency;
+    private int reservedKbps;
+    private int unlimited;
+
+    /**
+     * @param limitKbps limite total no momento; 0 é sem limite
+     * @param concurrency quantidade de downloads simultâneos configurada
+     */
+    BandwidthBudget(IntSupplier limitKbps, IntSupplier concurrency) {
+        this.limitKbps = limitKbps;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Parcela do limite atual para um processo, sem reservar.
+     * @return KB/s; 0 sem limite
+     */
+    int share() {
+        return shareOf(limitKbps.getAsInt());
+    }
+
+    /**
+     * Reserva banda para um processo de download, esperando se o limite estiver esgotado.
+     * Deve ser seguido de {@link #release} com o valor retornado.
+     * @return KB/s reservados para o processo; 0 sem limite
+     */
+    synchronized int acquire() throws InterruptedException {
+        while (true) {
+            int limit = limitKbps.getAsInt();
+            if (limit <= 0) {
+                unlimited++;
+                return 0;
+            }
+            int share = shareOf(limit);
+            // O primeiro processo sempre começa, mesmo com limite menor que a parcela
+            if (unlimited == 0 && (reservedKbps == 0 || reservedKbps + share <= limit)) {
+                reservedKbps += share;
+                return share;
+            }
+            wait(RECHECK_MILLIS);
+        }
+    }
+
+    synchronized void release(int kbps) {
+        if (kbps > 0) {
+            reservedKbps -= kbps;
+        } else {
+            unlimited--;
+        }
+        notifyAll();
+    }
+
+    /**
+     * @return true se há limite de banda no momento
+     */
+    boolean isLimited() {
+        return limitKbps.getAsInt() > 0;
+    }
+
+    private int shareOf(int limit) {
+        return limit > 0 ? Math.max(1, limit / Math.max(1, concurrency.getAsInt())) : 0;
+    }
+}
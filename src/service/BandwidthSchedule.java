@@ -0,0 +1,104 @@
+package service;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Limite global de banda por horário do dia.
+ *
+ * Formato: janelas separadas por vírgula, cada uma {@code HH:mm-HH:mm=KBps}, por exemplo
+ * {@code 08:00-18:00=512, 18:00-08:00=0}. Janelas podem atravessar a meia-noite; a primeira
+ * que contém o horário vale. Fora de qualquer janela vale o limite padrão. 0 é sem limite.
+ */
+final class BandwidthSchedule {
+    // Configuração de origem, para saber se a agenda ainda vale
+    private final String spec;
+    private final int configuredKbps;
+    private final List<Window> windows;
+    private final int defaultKbps;
+
+    private BandwidthSchedule(String spec, int configuredKbps, List<Window> windows) {
+        this.spec = spec;
+        this.configuredKbps = configuredKbps;
+        this.windows = windows;
+        this.defaultKbps = Math.max(0, configuredKbps);
+    }
+
+    /**
+     * Janelas inválidas são ignoradas com um aviso.
+     */
+    static BandwidthSchedule parse(String spec, int defaultKbps) {
+        List<Window> windows = new ArrayList<>();
+        if (spec != null) {
+            for (String entry : spec.split(",")) {
+                entry = entry.trim();
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                try {
+                    windows.add(Window.parse(entry));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    System.err.println("Janela de banda inválida ignorada: " + entry);
+                }
+            }
+        }
+        return new BandwidthSchedule(spec, defaultKbps, windows);
+    }
+
+    /**
+     * @return true se a agenda foi interpretada a partir desta configuração
+     */
+    boolean isFor(String spec, int defaultKbps) {
+        return Objects.equals(this.spec, spec) && configuredKbps == defaultKbps;
+    }
+
+    /**
+     * @return limite total em KB/s no horário; 0 se não houver limite
+     */
+    int limitAt(LocalTime time) {
+        for (Window window : windows) {
+            if (window.contains(time)) {
+                return window.kbps;
+            }
+        }
+        return defaultKbps;
+    }
+
+    private static class Window {
+        final LocalTime start;
+        final LocalTime end;
+        final int kbps;
+
+        Window(LocalTime start, LocalTime end, int kbps) {
+            this.start = start;
+            this.end = end;
+            this.kbps = kbps;
+        }
+
+        static Window parse(String entry) {
+            int equals = entry.indexOf('=');
+            int dash = entry.indexOf('-');
+            if (equals < 0 || dash < 0 || dash > equals) {
+                throw new IllegalArgumentException(entry);
+            }
+            LocalTime start = LocalTime.parse(entry.substring(0, dash).trim());
+            LocalTime end = LocalTime.parse(entry.substring(dash + 1, equals).trim());
+            int kbps = Integer.parseInt(entry.substring(equals + 1).trim());
+            if (kbps < 0) {
+                throw new IllegalArgumentException(entry);
+            }
+            return new Window(start, end, kbps);
+        }
+
+        boolean contains(LocalTime time) {
+            if (start.isBefore(end)) {
+                return !time.isBefore(start) && time.isBefore(end);
+            }
+            // Atravessa a meia-noite (ou cobre o dia todo quando início == fim)
+            return !time.isBefore(start) || time.isBefore(end);
+        }
+    }
+}
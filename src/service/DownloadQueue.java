@@ -0,0 +1,99 @@
+package service;
+
+import domain.Video;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de download que entrega aos workers o download de maior prioridade na fila,
+ * em vez da ordem de chegada.
+ *
+ * A prioridade vem, nesta ordem, da prioridade da playlist (maior primeiro), do estado
+ * de nova tentativa (vídeos que nunca falharam antes dos que já falharam, e menos falhas
+ * antes de mais) e da data de publicação (mais recentes primeiro). Empates seguem a ordem
+ * de envio.
+ */
+final class DownloadQueue extends ThreadPoolExecutor {
+    /**
+     * Ordem dos vídeos de uma mesma playlist.
+     */
+    static final Comparator<Video> VIDEO_ORDER = Comparator
+            .comparingInt(Video::getFailureCount)
+            .thenComparing(Video::getPublishedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Os workers já começam aguardando a fila: criados sob demanda, os primeiros
+     * {@code workers} downloads iriam direto para uma thread nova, sem passar pela prioridade.
+     */
+    DownloadQueue(int workers, ThreadFactory threadFactory) {
+        super(workers, workers, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), threadFactory);
+        prestartAllCoreThreads();
+    }
+
+    /**
+     * Agenda o download de um grupo de vídeos já ordenado por {@link #VIDEO_ORDER};
+     * a prioridade do grupo é a do seu primeiro vídeo.
+     */
+    Future<Integer> submit(int playlistPriority, List<Video> chunk, Callable<Integer> download) {
+        Video first = chunk.get(0);
+        Entry<Integer> entry = new Entry<>(download, playlistPriority, first.getFailureCount(),
+                first.getPublishedAt(), sequence.getAndIncrement());
+        execute(entry);
+        return entry;
+    }
+
+    /**
+     * Tarefas enviadas sem prioridade vão para o fim da fila.
+     */
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new Entry<>(callable, Integer.MIN_VALUE, Integer.MAX_VALUE, null, sequence.getAndIncrement());
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return newTaskFor(() -> {
+            runnable.run();
+            return value;
+        });
+    }
+
+    private static final class Entry<T> extends FutureTask<T> implements Comparable<Entry<?>> {
+        private static final Comparator<Entry<?>> ORDER = Comparator
+                .comparingInt((Entry<?> entry) -> entry.playlistPriority).reversed()
+                .thenComparingInt(entry -> entry.failureCount)
+                .thenComparing(entry -> entry.publishedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparingLong(entry -> entry.sequence);
+
+        final int playlistPriority;
+        final int failureCount;
+        final LocalDateTime publishedAt;
+        final long sequence;
+
+        Entry(Callable<T> callable, int playlistPriority, int failureCount, LocalDateTime publishedAt, long sequence) {
+            super(callable);
+            this.playlistPriority = playlistPriority;
+            this.failureCount = failureCount;
+            this.publishedAt = publishedAt;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry<?> other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package service;
+
+import domain.FailureType;
+import util.Config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Calcula quando um download que falhou pode ser tentado de novo.
+ *
+ * A espera parte de {@code retry.base.minutes} e dobra a cada falha consecutiva, até
+ * {@code retry.max.hours}; limites de requisição esperam {@link #RATE_LIMIT_FACTOR} vezes mais.
+ * Metade da espera é sorteada (jitter) para que vídeos que falharam juntos não voltem
+ * todos na mesma sincronização.
+ */
+final class RetryPolicy {
+    static final int RATE_LIMIT_FACTOR = 4;
+    // 2^20 vezes a espera base já passa de qualquer limite razoável
+    private static final int MAX_EXPONENT = 20;
+
+    private final Config config;
+    private final DoubleSupplier random;
+
+    RetryPolicy(Config config) {
+        this(config, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * @param random fonte de valores em [0, 1) para o jitter
+     */
+    RetryPolicy(Config config, DoubleSupplier random) {
+        this.config = config;
+        this.random = random;
+    }
+
+    /**
+     * @param failureCount falhas consecutivas, contando a atual
+     * @return momento da próxima tentativa; null para falhas permanentes
+     */
+    LocalDateTime nextRetryAt(FailureType type, int failureCount, LocalDateTime now) {
+        if (type == FailureType.PERMANENT) {
+            return null;
+        }
+        return now.plus(delay(type, failureCount));
+    }
+
+    Duration delay(FailureType type, int failureCount) {
+        long baseMillis = Duration.ofMinutes(config.getRetryBaseMinutes()).toMillis();
+        if (type == FailureType.RATE_LIMITED) {
+            baseMillis *= RATE_LIMIT_FACTOR;
+        }
+        long maxMillis = Duration.ofHours(config.getRetryMaxHours()).toMillis();
+        int exponent = Math.min(Math.max(0, failureCount - 1), MAX_EXPONENT);
+        long delayMillis = Math.min(maxMillis, baseMillis << exponent);
+
+        long half = delayMillis / 2;
+        return Duration.ofMillis(half + (long) (random.getAsDouble() * (delayMillis - half)));
+    }
+}
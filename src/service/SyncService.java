@@ -2,31 +2,102 @@ package service;
 
 import adapter.AudioDownloader;
 import adapter.PlaylistFetcher;
+import domain.FailureType;
 import domain.Playlist;
 import domain.Video;
 import repository.PlaylistRepository;
 import repository.VideoRepository;
+import repository.VideoStats;
 import util.Config;
 
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * Serviço responsável pela sincronização de playlists.
  * Segue o princípio de Single Responsibility (SOLID).
  */
 public class SyncService {
+    private static final int MAX_INCREMENTAL_WINDOWS = 10;
+    private static final int SAVE_BATCH_SIZE = 20;
+    static final String CANCELLED = "Sincronização cancelada";
+
     private final PlaylistRepository playlistRepository;
     private final VideoRepository videoRepository;
     private final PlaylistFetcher playlistFetcher;
     private final AudioDownloader audioDownloader;
     private final Config config;
-    private SyncProgressListener progressListener;
+    private final RetryPolicy retryPolicy;
+    // Compartilhado por todas as sincronizações, inclusive a manual e a automática ao mesmo tempo
+    private final BandwidthBudget bandwidth;
+    // Última agenda lida da configuração; refeita só quando agenda ou limite mudam
+    private BandwidthSchedule bandwidthSchedule;
+    private volatile SyncProgressListener progressListener;
+
+    // Threads executando uma sincronização e pools criados por elas, para o cancelamento
+    private final Set<Thread> syncThreads = new HashSet<>();
+    // Threads interrompidas por cancelSync, cuja interrupção endSync deve limpar
+    private final Set<Thread> cancelInterrupted = new HashSet<>();
+    private final Set<ExecutorService> activePools = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelRequested;
 
+    /**
+     * Recebe eventos das threads de busca e de download, inclusive ao mesmo tempo;
+     * implementações devem ser thread-safe e retornar rápido.
+     */
     public interface SyncProgressListener {
         void onPlaylistFetchStart(String playlistTitle);
-        void onDownloadStart(String videoId, String videoTitle, int current, int total);
+
+        /**
+         * @param worker nome da thread de download que baixa o vídeo
+         */
+        void onDownloadStart(String worker, String videoId, String videoTitle, int current, int total);
         void onDownloadComplete(String videoId, String videoTitle, String errorMessage);
+
+        /**
+         * Percentual baixado de um vídeo em andamento, de 0 a 100. Chamado com frequência.
+         */
+        default void onDownloadProgress(String videoId, double percent) {
+        }
+
+        /**
+         * Vídeos novos de uma playlist foram gravados.
+         */
+        default void onVideosAdded(String playlistId, List<Video> videos) {
+        }
+
+        /**
+         * Um vídeo foi gravado com novo estado (baixado ou com falha).
+         */
+        default void onVideoUpdated(Video video) {
+        }
+
+        /**
+         * Uma playlist foi gravada com novo estado de sincronização.
+         */
+        default void onPlaylistUpdated(Playlist playlist) {
+        }
     }
 
     public void setProgressListener(SyncProgressListener listener) {
@@ -44,10 +115,16 @@ public class SyncService {
         this.playlistFetcher = playlistFetcher;
         this.audioDownloader = audioDownloader;
         this.config = config;
+        this.retryPolicy = new RetryPolicy(config);
+        this.bandwidth = new BandwidthBudget(this::bandwidthLimitNow, config::getDownloadConcurrency);
     }
 
     /**
      * Adiciona uma nova playlist ao sistema.
+     * Informações e a primeira página de vídeos vêm de uma única chamada ao
+     * {@link PlaylistFetcher}; os vídeos são gravados em lote e ficam pendentes, então
+     * a primeira sincronização já começa baixando. Se a playlist inteira coube na
+     * página, ela é registrada como listada e a primeira sincronização é incremental.
      */
     public Playlist addPlaylist(String playlistUrl) {
         String playlistId = playlistFetcher.extractPlaylistId(playlistUrl);
@@ -58,7 +135,8 @@ public class SyncService {
             return existing.get();
         }
 
-        PlaylistFetcher.PlaylistInfo info = playlistFetcher.fetchPlaylistInfo(playlistUrl);
+        int pageSize = Math.max(1, config.getIncrementalFetchWindow());
+        PlaylistFetcher.PlaylistInfo info = playlistFetcher.fetchPlaylistInfo(playlistUrl, pageSize);
         String type = playlistFetcher.isChannelUrl(playlistUrl) ? Playlist.TYPE_CHANNEL : Playlist.TYPE_PLAYLIST;
 
         Playlist playlist = new Playlist.Builder()
@@ -69,13 +147,70 @@ public class SyncService {
                 .type(type)
                 .build();
 
+        List<Video> listed = info.getVideos();
+        if (!listed.isEmpty() && listed.size() < pageSize) {
+            String cursor = playlist.isChannel() ? listed.get(0).getId() : listed.get(listed.size() - 1).getId();
+            playlist = playlist.updateSyncState(listed.size(), cursor, true);
+        }
+        List<Video> fresh = listed.stream()
+                .filter(video -> !videoRepository.exists(video.getId()))
+                .toList();
+
         playlistRepository.save(playlist);
+        videoRepository.saveAll(fresh);
         String addedLabel = playlist.isChannel() ? "Canal adicionado" : "Playlist adicionada";
-        System.out.println("✓ " + addedLabel + ": " + playlist.getTitle());
+        System.out.println("✓ " + addedLabel + ": " + playlist.getTitle()
+                + (fresh.isEmpty() ? "" : " (" + fresh.size() + " vídeos listados)"));
 
         return playlist;
     }
 
+    /**
+     * Adiciona várias playlists, buscando até {@code fetch.concurrency} delas em paralelo.
+     * URLs que falharem são registradas no log e ignoradas.
+     * @return playlists adicionadas ou já existentes, na ordem das URLs
+     */
+    public List<Playlist> addPlaylists(List<String> playlistUrls) {
+        // A mesma playlist em duas URLs seria buscada e gravada duas vezes em paralelo
+        Map<String, String> urlsById = new LinkedHashMap<>();
+        for (String url : playlistUrls) {
+            urlsById.putIfAbsent(playlistFetcher.extractPlaylistId(url), url);
+        }
+        if (urlsById.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int workers = Math.min(Math.max(1, config.getFetchConcurrency()), urlsById.size());
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "PlaylistAddWorker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Playlist> added = new ArrayList<>();
+        try {
+            Map<String, Future<Playlist>> pending = new LinkedHashMap<>();
+            for (String url : urlsById.values()) {
+                pending.put(url, pool.submit(() -> addPlaylist(url)));
+            }
+            for (Map.Entry<String, Future<Playlist>> entry : pending.entrySet()) {
+                try {
+                    added.add(entry.getValue().get());
+                } catch (ExecutionException e) {
+                    System.err.println("✗ Erro ao adicionar " + entry.getKey() + ": " + e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println("✓ " + added.size() + " de " + urlsById.size() + " playlists adicionadas");
+        return added;
+    }
+
     /**
      * Remove uma playlist do sistema.
      */
@@ -86,10 +221,10 @@ public class SyncService {
             return;
         }
 
-        List<Video> videos = videoRepository.findByPlaylistId(playlistId);
-        for (Video video : videos) {
-            videoRepository.delete(video.getId());
-        }
+        List<String> videoIds = videoRepository.findByPlaylistId(playlistId).stream()
+                .map(Video::getId)
+                .toList();
+        videoRepository.deleteAll(videoIds);
 
         playlistRepository.delete(playlistId);
         System.out.println("✓ Playlist removida: " + playlist.get().getTitle());
@@ -106,75 +241,671 @@ public class SyncService {
 
         Playlist playlist = playlistOpt.get();
         System.out.println("\n=== Sincronizando: " + playlist.getTitle() + " ===");
+        printBandwidthLimit();
+
+        beginSync();
+        DownloadQueue downloadPool = newDownloadPool();
+        try {
+            PlaylistSync sync = prepareSync(playlist, downloadPool,
+                    videoRepository.findNotDownloadedByPlaylistId(playlistId));
+            return finishSync(fetch(sync));
+        } finally {
+            release(downloadPool);
+            endSync();
+        }
+    }
 
-        if (progressListener != null) progressListener.onPlaylistFetchStart(playlist.getTitle());
-        List<Video> fetchedVideos = playlistFetcher.fetchVideos(playlist.getUrl());
-        System.out.println("Encontrados " + fetchedVideos.size() + " vídeos na playlist");
+    /**
+     * Cancela as sincronizações em andamento: downloads ainda na fila são descartados,
+     * buscas e downloads em execução são interrompidos (encerrando os processos do
+     * yt-dlp) e o estado das playlists não é gravado. Vídeos já listados continuam
+     * pendentes e são baixados na próxima sincronização.
+     * @return false se não havia sincronização em andamento
+     */
+    public boolean cancelSync() {
+        synchronized (syncThreads) {
+            if (syncThreads.isEmpty()) {
+                return false;
+            }
+            cancelRequested = true;
+            System.out.println("Cancelando sincronização...");
+            for (ExecutorService pool : activePools) {
+                for (Runnable queued : pool.shutdownNow()) {
+                    if (queued instanceof Future<?> future) {
+                        future.cancel(false);
+                    }
+                }
+            }
+            for (Thread thread : syncThreads) {
+                thread.interrupt();
+                cancelInterrupted.add(thread);
+            }
+            return true;
+        }
+    }
 
-        int newVideos = 0;
-        int downloaded = 0;
+    public boolean isSyncRunning() {
+        synchronized (syncThreads) {
+            return !syncThreads.isEmpty();
+        }
+    }
 
-        for (Video video : fetchedVideos) {
-            if (!videoRepository.exists(video.getId())) {
-                videoRepository.save(video);
-                newVideos++;
-                System.out.println("  + Novo vídeo: " + video.getTitle());
+    private void beginSync() {
+        synchronized (syncThreads) {
+            // Um cancelamento vale para as sincronizações que estavam rodando, não para as próximas
+            if (syncThreads.isEmpty()) {
+                cancelRequested = false;
             }
+            syncThreads.add(Thread.currentThread());
         }
+    }
 
-        List<Video> toDownload = videoRepository.findNotDownloadedByPlaylistId(playlistId);
-        System.out.println("\n" + toDownload.size() + " vídeos para baixar");
+    private void endSync() {
+        boolean interruptedByCancel;
+        synchronized (syncThreads) {
+            syncThreads.remove(Thread.currentThread());
+            interruptedByCancel = cancelInterrupted.remove(Thread.currentThread());
+        }
+        if (interruptedByCancel) {
+            // Limpa só a interrupção feita por cancelSync; quem chamou segue normalmente
+            Thread.interrupted();
+        }
+    }
 
-        int total = toDownload.size();
-        int current = 0;
-        for (Video video : toDownload) {
-            current++;
-            if (progressListener != null) progressListener.onDownloadStart(video.getId(), video.getTitle(), current, total);
-            String downloadDirectory = config.getDownloadDirectory();
-            String baseDir = playlist.isChannel()
-                    ? downloadDirectory + "/channels"
-                    : downloadDirectory;
-            String error = audioDownloader.download(video, baseDir);
-            if (progressListener != null) progressListener.onDownloadComplete(video.getId(), video.getTitle(), error);
-            if (error == null) {
-                Video updatedVideo = video.markAsDownloaded();
-                videoRepository.save(updatedVideo);
-                downloaded++;
+    /**
+     * Enfileira os downloads já pendentes da playlist, que começam antes da listagem.
+     * @param notDownloaded vídeos da playlist ainda não baixados
+     */
+    private PlaylistSync prepareSync(Playlist playlist, DownloadQueue downloadPool, List<Video> notDownloaded) {
+        PlaylistSync sync = new PlaylistSync(playlist, downloadPool);
+
+        List<Video> pending = new ArrayList<>();
+        int waiting = 0;
+        int permanent = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Video video : notDownloaded) {
+            if (video.isDownloadDue(now)) {
+                pending.add(video);
+            } else if (video.hasPermanentFailure()) {
+                permanent++;
+            } else {
+                waiting++;
             }
         }
+        if (!pending.isEmpty()) {
+            System.out.println(pending.size() + " vídeos pendentes para baixar em " + playlist.getTitle());
+        }
+        if (waiting > 0 || permanent > 0) {
+            System.out.println(playlist.getTitle() + ": " + waiting + " vídeos aguardando nova tentativa, "
+                    + permanent + " indisponíveis");
+        }
+        sync.submitAll(pending);
+        return sync;
+    }
+
+    /**
+     * Lista a playlist. Vídeos novos são gravados em lotes e enviados ao pool de download
+     * enquanto a listagem ainda está rodando. Pode ser chamado por várias threads ao mesmo tempo.
+     */
+    private PlaylistSync fetch(PlaylistSync sync) {
+        Playlist playlist = sync.playlist;
+        try {
+            sync.fetchResult = fetchVideos(playlist, sync);
+        } catch (RuntimeException e) {
+            System.err.println("Erro ao buscar " + playlist.getTitle() + ": " + e.getMessage());
+            sync.error = e.getMessage();
+        }
+        sync.flush();
+        return sync;
+    }
 
-        Playlist updatedPlaylist = playlist.updateSyncTime(fetchedVideos.size());
+    /**
+     * Aguarda os downloads da playlist e grava o novo estado de sincronização.
+     */
+    private SyncResult finishSync(PlaylistSync sync) {
+        int downloaded = sync.awaitDownloads();
+        if (cancelRequested) {
+            // A listagem pode ter sido cortada; o estado anterior continua valendo
+            System.out.println("\n✗ Sincronização cancelada: " + sync.playlist.getTitle());
+            return new SyncResult(sync.newVideos, downloaded, CANCELLED);
+        }
+        if (sync.error != null) {
+            return new SyncResult(sync.newVideos, downloaded, sync.error);
+        }
+
+        FetchResult fetched = sync.fetchResult;
+        Playlist updatedPlaylist = sync.playlist.updateSyncState(fetched.totalCount, fetched.cursor, fetched.full);
         playlistRepository.save(updatedPlaylist);
+        notifyPlaylistUpdated(updatedPlaylist);
+
+        System.out.println("\n✓ Sincronização concluída: " + sync.playlist.getTitle());
+        return new SyncResult(sync.newVideos, downloaded, "Sucesso");
+    }
+
+    /**
+     * Busca os vídeos de uma playlist via {@link PlaylistFetcher}, entregando cada um a
+     * {@code sink} assim que é listado.
+     * Usa a busca incremental a partir do cursor da playlist quando possível e
+     * recorre à lista completa no primeiro sync, quando o cursor não é encontrado
+     * ou quando passou o intervalo de reconciliação.
+     */
+    private FetchResult fetchVideos(Playlist playlist, Consumer<Video> sink) {
+        notifyPlaylistFetchStart(playlist);
+
+        if (!needsFullFetch(playlist)) {
+            List<Video> fresh = new ArrayList<>();
+            FetchResult incremental = playlist.isChannel()
+                    ? fetchHead(playlist, fresh)
+                    : fetchTail(playlist, fresh);
+            if (incremental != null) {
+                System.out.println("Encontrados " + fresh.size() + " vídeos além do cursor em "
+                        + playlist.getTitle() + " (busca incremental)");
+                fresh.forEach(sink);
+                return incremental;
+            }
+            System.out.println("Cursor não encontrado em " + playlist.getTitle() + "; buscando lista completa");
+        }
+
+        List<String> listedIds = new ArrayList<>();
+        playlistFetcher.fetchVideos(playlist.getUrl(), video -> {
+            listedIds.add(video.getId());
+            sink.accept(video);
+        });
+        System.out.println("Encontrados " + listedIds.size() + " vídeos em " + playlist.getTitle());
+
+        String cursor = null;
+        if (!listedIds.isEmpty()) {
+            cursor = playlist.isChannel() ? listedIds.get(0) : listedIds.get(listedIds.size() - 1);
+        }
+        return new FetchResult(listedIds.size(), cursor, true);
+    }
+
+    private boolean needsFullFetch(Playlist playlist) {
+        if (!config.getIncrementalFetchEnabled()
+                || playlist.getSyncCursor() == null
+                || playlist.getLastFullSyncAt() == null) {
+            return true;
+        }
+        LocalDateTime reconcileAt = playlist.getLastFullSyncAt().plusHours(config.getFullReconcileHours());
+        return !reconcileAt.isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Canais listam os envios mais recentes primeiro: busca janelas a partir do topo
+     * até reencontrar o cursor. Os vídeos acima do cursor são adicionados a {@code fresh}.
+     * @return null se o cursor não aparecer nas primeiras janelas
+     */
+    private FetchResult fetchHead(Playlist playlist, List<Video> fresh) {
+        int window = config.getIncrementalFetchWindow();
+        String cursor = playlist.getSyncCursor();
+
+        for (int page = 0; page < MAX_INCREMENTAL_WINDOWS; page++) {
+            int start = page * window + 1;
+            List<Video> videos = playlistFetcher.fetchVideos(playlist.getUrl(), start, start + window - 1);
+            for (Video video : videos) {
+                if (video.getId().equals(cursor)) {
+                    String newCursor = fresh.isEmpty() ? cursor : fresh.get(0).getId();
+                    return new FetchResult(playlist.getVideoCount() + fresh.size(), newCursor, false);
+                }
+                fresh.add(video);
+            }
+            if (videos.size() < window) {
+                break;
+            }
+        }
+        fresh.clear();
+        return null;
+    }
+
+    /**
+     * Playlists recebem itens no final: busca a partir da última posição conhecida,
+     * que deve continuar sendo o vídeo do cursor. Os itens seguintes são adicionados a {@code fresh}.
+     * @return null se a playlist foi reordenada ou teve itens removidos
+     */
+    private FetchResult fetchTail(Playlist playlist, List<Video> fresh) {
+        int lastKnown = playlist.getVideoCount();
+        if (lastKnown <= 0) {
+            return null;
+        }
+
+        List<Video> videos = playlistFetcher.fetchVideos(playlist.getUrl(), lastKnown, 0);
+        if (videos.isEmpty() || !videos.get(0).getId().equals(playlist.getSyncCursor())) {
+            return null;
+        }
+
+        fresh.addAll(videos.subList(1, videos.size()));
+        String newCursor = videos.get(videos.size() - 1).getId();
+        return new FetchResult(lastKnown + fresh.size(), newCursor, false);
+    }
+
+    /**
+     * Pool limitado de workers de download, servido por prioridade. O tamanho vem de
+     * {@code download.concurrency} na configuração; as threads são todas criadas junto
+     * com o pool.
+     */
+    private DownloadQueue newDownloadPool() {
+        int workers = Math.max(1, config.getDownloadConcurrency());
+        AtomicInteger threadCounter = new AtomicInteger();
+        DownloadQueue pool = new DownloadQueue(workers, r -> {
+            Thread thread = new Thread(r, "DownloadWorker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        activePools.add(pool);
+        return pool;
+    }
+
+    private void release(ExecutorService pool) {
+        activePools.remove(pool);
+        pool.shutdown();
+    }
+
+    /**
+     * Os callbacks são chamados direto das threads de busca e download, sem lock: um
+     * listener lento não segura os workers. O listener é lido uma vez por chamada.
+     */
+    private void notifyPlaylistFetchStart(Playlist playlist) {
+        SyncProgressListener listener = progressListener;
+        if (listener != null) listener.onPlaylistFetchStart(playlist.getTitle());
+    }
+
+    private void notifyDownloadStart(String worker, Video video, int current, int total) {
+        SyncProgressListener listener = progressListener;
+        if (listener != null) {
+            listener.onDownloadStart(worker, video.getId(), video.getTitle(), current, total);
+        }
+    }
+
+    private void notifyDownloadProgress(Video video, double percent) {
+        SyncProgressListener listener = progressListener;
+        if (listener != null) listener.onDownloadProgress(video.getId(), percent);
+    }
+
+    private void notifyDownloadComplete(Video video, String error) {
+        SyncProgressListener listener = progressListener;
+        if (listener != null) listener.onDownloadComplete(video.getId(), video.getTitle(), error);
+    }
+
+    private void notifyVideosAdded(String playlistId, List<Video> videos) {
+        SyncProgressListener listener = progressListener;
+        if (listener != null) listener.onVideosAdded(playlistId, videos);
+    }
+
+    private void notifyVideoUpdated(Video video) {
+        SyncProgressListener listener = progressListener;
+        if (listener != null) listener.onVideoUpdated(video);
+    }
 
-        System.out.println("\n✓ Sincronização concluída");
-        return new SyncResult(newVideos, downloaded, "Sucesso");
+    private void notifyPlaylistUpdated(Playlist playlist) {
+        SyncProgressListener listener = progressListener;
+        if (listener != null) listener.onPlaylistUpdated(playlist);
     }
 
     /**
      * Sincroniza todas as playlists.
+     * Com {@code fetch.concurrency} maior que 1 os metadados das playlists são
+     * buscados em paralelo. Todas as playlists compartilham o mesmo pool de download.
+     * Os downloads pendentes de todas as playlists, inclusive os de uma sincronização
+     * interrompida, são enfileirados por prioridade antes de qualquer listagem.
+     * @return resumo agregado da execução
      */
-    public void syncAllPlaylists() {
+    public SyncSummary syncAllPlaylists() {
         List<Playlist> playlists = playlistRepository.findAll();
+        SyncSummary summary = new SyncSummary();
 
         if (playlists.isEmpty()) {
             System.out.println("Nenhuma playlist cadastrada");
-            return;
+            return summary;
         }
 
-        System.out.println("=== Sincronizando " + playlists.size() + " playlists ===\n");
+        System.out.println("=== Sincronizando " + playlists.size() + " playlists ===");
+        printBandwidthLimit();
+        System.out.println();
 
-        int totalNew = 0;
-        int totalDownloaded = 0;
+        beginSync();
+        DownloadQueue downloadPool = newDownloadPool();
+        try {
+            Map<String, List<Video>> notDownloaded = new HashMap<>();
+            for (Video video : videoRepository.findNotDownloaded()) {
+                notDownloaded.computeIfAbsent(video.getPlaylistId(), k -> new ArrayList<>()).add(video);
+            }
+            // Playlists de maior prioridade são enfileiradas e listadas primeiro
+            List<PlaylistSync> syncs = new ArrayList<>();
+            List<Playlist> byPriority = new ArrayList<>(playlists);
+            byPriority.sort(Comparator.comparingInt(Playlist::getPriority).reversed());
+            for (Playlist playlist : byPriority) {
+                syncs.add(prepareSync(playlist, downloadPool, notDownloaded.getOrDefault(playlist.getId(), List.of())));
+            }
 
-        for (Playlist playlist : playlists) {
-            SyncResult result = syncPlaylist(playlist.getId());
-            totalNew += result.newVideos;
-            totalDownloaded += result.downloaded;
+            int fetchConcurrency = Math.min(config.getFetchConcurrency(), playlists.size());
+            if (fetchConcurrency > 1) {
+                syncConcurrently(syncs, fetchConcurrency, summary);
+            } else {
+                for (PlaylistSync sync : syncs) {
+                    if (cancelRequested) {
+                        break;
+                    }
+                    System.out.println("\n=== Sincronizando: " + sync.playlist.getTitle() + " ===");
+                    summary.add(sync.playlist.getId(), finishSync(fetch(sync)));
+                }
+            }
+            summary.cancelled = cancelRequested;
+        } finally {
+            release(downloadPool);
+            endSync();
         }
 
         System.out.println("\n=== RESUMO ===");
-        System.out.println("Novos vídeos: " + totalNew);
-        System.out.println("Downloads: " + totalDownloaded);
+        if (summary.isCancelled()) {
+            System.out.println(CANCELLED);
+        }
+        System.out.println("Playlists: " + summary.getPlaylistsSynced() + " (falhas: " + summary.getFailures().size() + ")");
+        System.out.println("Novos vídeos: " + summary.getNewVideos());
+        System.out.println("Downloads: " + summary.getDownloaded());
+        return summary;
+    }
+
+    private void syncConcurrently(List<PlaylistSync> syncs, int fetchConcurrency, SyncSummary summary) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService fetchPool = Executors.newFixedThreadPool(fetchConcurrency, r -> {
+            Thread thread = new Thread(r, "PlaylistFetchWorker-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        activePools.add(fetchPool);
+        CompletionService<PlaylistSync> completion = new ExecutorCompletionService<>(fetchPool);
+
+        try {
+            for (PlaylistSync sync : syncs) {
+                completion.submit(() -> fetch(sync));
+            }
+
+            // Finaliza cada playlist na ordem em que a listagem termina
+            for (int i = 0; i < syncs.size() && !cancelRequested; i++) {
+                Future<PlaylistSync> done = completion.take();
+                if (cancelRequested) {
+                    // Listagens ainda na fila foram descartadas por cancelSync e nunca terminam
+                    break;
+                }
+                PlaylistSync sync;
+                try {
+                    sync = done.get();
+                } catch (CancellationException e) {
+                    continue;
+                }
+                try {
+                    summary.add(sync.playlist.getId(), finishSync(sync));
+                } catch (RuntimeException e) {
+                    System.err.println("Erro ao sincronizar " + sync.playlist.getTitle() + ": " + e.getMessage());
+                    summary.add(sync.playlist.getId(), new SyncResult(0, 0, e.getMessage()));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Erro na sincronização: " + e.getCause().getMessage());
+        } finally {
+            activePools.remove(fetchPool);
+            fetchPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Sincronização de uma playlist em andamento. Recebe os vídeos listados,
+     * grava os novos em lotes de {@link #SAVE_BATCH_SIZE} e agenda seus downloads.
+     * A listagem chama {@link #accept} de uma única thread.
+     */
+    private class PlaylistSync implements Consumer<Video> {
+        final Playlist playlist;
+        final String baseDir;
+        private final DownloadQueue downloadPool;
+        private final Set<String> seen = new HashSet<>();
+        private final List<Video> batch = new ArrayList<>();
+        private final List<Future<Integer>> downloads = new ArrayList<>();
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger submitted = new AtomicInteger();
+        FetchResult fetchResult;
+        String error;
+        int newVideos;
+
+        PlaylistSync(Playlist playlist, DownloadQueue downloadPool) {
+            this.playlist = playlist;
+            this.downloadPool = downloadPool;
+            String downloadDirectory = config.getDownloadDirectory();
+            this.baseDir = playlist.isChannel()
+                    ? downloadDirectory + "/channels"
+                    : downloadDirectory;
+        }
+
+        @Override
+        public void accept(Video video) {
+            if (cancelRequested) {
+                // Interrompe a listagem; o processo do yt-dlp é encerrado por quem a executa
+                throw new CancellationException(CANCELLED);
+            }
+            if (!seen.add(video.getId()) || videoRepository.exists(video.getId())) {
+                return;
+            }
+            System.out.println("  + Novo vídeo: " + video.getTitle());
+            batch.add(video);
+            newVideos++;
+            // O primeiro vídeo vai direto para o pool, para o download começar sem esperar o lote
+            if (batch.size() >= SAVE_BATCH_SIZE || downloads.isEmpty()) {
+                flush();
+            }
+        }
+
+        /**
+         * Grava o lote atual de vídeos novos e agenda seus downloads.
+         */
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Video> saved = List.copyOf(batch);
+            videoRepository.saveAll(saved);
+            notifyVideosAdded(playlist.getId(), saved);
+            submitAll(batch);
+            batch.clear();
+        }
+
+        /**
+         * Agenda os downloads em grupos de {@code download.batch.size} vídeos, em ordem
+         * de prioridade; cada grupo roda em um único processo do downloader.
+         */
+        void submitAll(List<Video> batchVideos) {
+            List<Video> videos = new ArrayList<>(batchVideos);
+            videos.sort(DownloadQueue.VIDEO_ORDER);
+            int batchSize = Math.max(1, config.getDownloadBatchSize());
+            for (int i = 0; i < videos.size() && !cancelRequested; i += batchSize) {
+                List<Video> chunk = List.copyOf(videos.subList(i, Math.min(i + batchSize, videos.size())));
+                submitted.addAndGet(chunk.size());
+                try {
+                    downloads.add(downloadPool.submit(playlist.getPriority(), chunk, () -> chunk.size() == 1
+                            ? downloadOne(chunk.get(0))
+                            : downloadChunk(chunk)));
+                } catch (RejectedExecutionException e) {
+                    // Pool encerrado por um cancelamento
+                    return;
+                }
+            }
+        }
+
+        private int downloadOne(Video video) {
+            int rateLimit;
+            try {
+                rateLimit = bandwidth.acquire();
+            } catch (InterruptedException e) {
+                // Cancelado enquanto esperava banda: o vídeo continua pendente
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+            String downloadError;
+            try {
+                notifyDownloadStart(Thread.currentThread().getName(), video, started.incrementAndGet(), submitted.get());
+                downloadError = audioDownloader.download(video, baseDir, rateLimit,
+                        SyncService.this::notifyDownloadProgress);
+            } finally {
+                bandwidth.release(rateLimit);
+            }
+            return onDownloaded(video, downloadError);
+        }
+
+        private int downloadChunk(List<Video> chunk) {
+            if (bandwidth.isLimited()) {
+                // Sob limite, cada vídeo reserva sua parcela: um lote longo manteria a
+                // parcela do momento em que começou
+                int downloaded = 0;
+                for (Video video : chunk) {
+                    if (cancelRequested || Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    downloaded += downloadOne(video);
+                }
+                return downloaded;
+            }
+
+            int rateLimit;
+            try {
+                rateLimit = bandwidth.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+            // Os eventos do lote chegam pelas threads de leitura do processo, não pelo worker
+            String worker = Thread.currentThread().getName();
+            AtomicInteger downloaded = new AtomicInteger();
+            try {
+                audioDownloader.downloadBatch(chunk, baseDir, rateLimit, new AudioDownloader.BatchListener() {
+                    @Override
+                    public void onStart(Video video) {
+                        notifyDownloadStart(worker, video, started.incrementAndGet(), submitted.get());
+                    }
+
+                    @Override
+                    public void onProgress(Video video, double percent) {
+                        notifyDownloadProgress(video, percent);
+                    }
+
+                    @Override
+                    public void onComplete(Video video, String errorMessage) {
+                        downloaded.addAndGet(onDownloaded(video, errorMessage));
+                    }
+                });
+            } finally {
+                bandwidth.release(rateLimit);
+            }
+            return downloaded.get();
+        }
+
+        private int onDownloaded(Video video, String downloadError) {
+            if (downloadError == null) {
+                Video downloaded = video.markAsDownloaded();
+                videoRepository.save(downloaded);
+                notifyVideoUpdated(downloaded);
+            } else if (!cancelRequested) {
+                notifyVideoUpdated(recordFailure(video, downloadError));
+            }
+            notifyDownloadComplete(video, downloadError);
+            return downloadError == null ? 1 : 0;
+        }
+
+        /**
+         * @return quantidade de vídeos baixados com sucesso
+         */
+        int awaitDownloads() {
+            int downloaded = 0;
+            try {
+                for (Future<Integer> download : downloads) {
+                    try {
+                        downloaded += download.get();
+                    } catch (ExecutionException e) {
+                        System.err.println("Erro no download: " + e.getCause().getMessage());
+                    } catch (CancellationException e) {
+                        // Descartado da fila por um cancelamento
+                    }
+                }
+            } catch (InterruptedException e) {
+                downloads.forEach(download -> download.cancel(true));
+                Thread.currentThread().interrupt();
+            }
+            return downloaded;
+        }
+    }
+
+    private void printBandwidthLimit() {
+        int perDownload = bandwidth.share();
+        if (perDownload > 0) {
+            System.out.println("Limite de banda: " + bandwidthLimitNow() + " KB/s no total, "
+                    + perDownload + " KB/s por download");
+        }
+    }
+
+    /**
+     * Limite total de banda no horário atual. A agenda é interpretada uma vez por
+     * configuração, e não a cada consulta, para que janelas inválidas sejam avisadas uma vez.
+     * @return KB/s; 0 sem limite
+     */
+    private synchronized int bandwidthLimitNow() {
+        String spec = config.getBandwidthSchedule();
+        int defaultKbps = config.getBandwidthLimitKbps();
+        if (bandwidthSchedule == null || !bandwidthSchedule.isFor(spec, defaultKbps)) {
+            bandwidthSchedule = BandwidthSchedule.parse(spec, defaultKbps);
+        }
+        return bandwidthSchedule.limitAt(LocalTime.now());
+    }
+
+    /**
+     * Classifica a falha e agenda a próxima tentativa do vídeo.
+     * @return vídeo gravado com o estado de falha
+     */
+    private Video recordFailure(Video video, String error) {
+        FailureType type = audioDownloader.classifyFailure(error);
+        LocalDateTime nextRetryAt = retryPolicy.nextRetryAt(type, video.getFailureCount() + 1, LocalDateTime.now());
+        Video failed = video.markAsFailed(type, error, nextRetryAt);
+        videoRepository.save(failed);
+        if (type == FailureType.PERMANENT) {
+            System.out.println("  ✗ Indisponível, não será tentado de novo: " + video.getTitle());
+        } else {
+            System.out.println("  ↻ Nova tentativa de " + video.getTitle() + " após "
+                    + nextRetryAt.withNano(0).toString().replace('T', ' '));
+        }
+        return failed;
+    }
+
+    /**
+     * Libera para download imediato os vídeos com falha de uma playlist, inclusive
+     * os marcados como indisponíveis.
+     * @param playlistId playlist alvo; null para todas
+     * @return quantidade de vídeos liberados
+     */
+    public int resetFailures(String playlistId) {
+        List<String> playlistIds = playlistId != null
+                ? List.of(playlistId)
+                : playlistRepository.findAll().stream().map(Playlist::getId).toList();
+
+        List<Video> reset = new ArrayList<>();
+        for (String id : playlistIds) {
+            for (Video video : videoRepository.findNotDownloadedByPlaylistId(id)) {
+                if (video.getFailureType() != null) {
+                    reset.add(video.clearFailure());
+                }
+            }
+        }
+        videoRepository.saveAll(reset);
+        System.out.println("✓ " + reset.size() + " vídeos com falha liberados para nova tentativa");
+        return reset.size();
+    }
+
+    /**
+     * Define a prioridade dos downloads de uma playlist; maior é baixada antes.
+     * @return playlist atualizada, ou vazio se não existir
+     */
+    public Optional<Playlist> setPlaylistPriority(String playlistId, int priority) {
+        Optional<Playlist> updated = playlistRepository.findById(playlistId)
+                .map(playlist -> playlist.withPriority(priority));
+        updated.ifPresent(playlistRepository::save);
+        return updated;
     }
 
     /**
@@ -184,6 +915,13 @@ public class SyncService {
         return videoRepository.findByPlaylistId(playlistId);
     }
 
+    /**
+     * Retorna uma página dos vídeos de uma playlist, em ordem estável.
+     */
+    public List<Video> getPlaylistVideos(String playlistId, int offset, int limit) {
+        return videoRepository.findByPlaylistId(playlistId, offset, limit);
+    }
+
     /**
      * Lista todas as playlists cadastradas.
      */
@@ -192,20 +930,21 @@ public class SyncService {
     }
 
     /**
-     * Obtém estatísticas de uma playlist.
+     * Obtém estatísticas de uma playlist, a partir dos contadores mantidos pelo
+     * repositório; não percorre os vídeos.
      */
     public PlaylistStats getPlaylistStats(String playlistId) {
-        Optional<Playlist> playlist = playlistRepository.findById(playlistId);
-        if (playlist.isEmpty()) {
+        if (playlistRepository.findById(playlistId).isEmpty()) {
             return new PlaylistStats(0, 0, 0);
         }
+        return PlaylistStats.of(videoRepository.statsByPlaylistId(playlistId));
+    }
 
-        List<Video> videos = videoRepository.findByPlaylistId(playlistId);
-        int total = videos.size();
-        int downloaded = (int) videos.stream().filter(Video::isDownloaded).count();
-        int pending = total - downloaded;
-
-        return new PlaylistStats(total, downloaded, pending);
+    /**
+     * Obtém as estatísticas somadas de todas as playlists, em tempo constante.
+     */
+    public PlaylistStats getGlobalStats() {
+        return PlaylistStats.of(videoRepository.globalStats());
     }
 
     public static class SyncResult {
@@ -218,17 +957,100 @@ public class SyncService {
             this.downloaded = downloaded;
             this.message = message;
         }
+
+        /**
+         * @return true se a sincronização foi interrompida por {@link #cancelSync()}
+         */
+        public boolean isCancelled() {
+            return CANCELLED.equals(message);
+        }
+    }
+
+    /**
+     * Resultado agregado de uma sincronização de várias playlists.
+     */
+    public static class SyncSummary {
+        private final Map<String, SyncResult> results = new LinkedHashMap<>();
+        private final List<String> failures = new ArrayList<>();
+        private int newVideos;
+        private int downloaded;
+        private boolean cancelled;
+
+        void add(String playlistId, SyncResult result) {
+            results.put(playlistId, result);
+            newVideos += result.newVideos;
+            downloaded += result.downloaded;
+            if (!"Sucesso".equals(result.message)) {
+                failures.add(playlistId);
+            }
+        }
+
+        public int getPlaylistsSynced() {
+            return results.size();
+        }
+
+        public int getNewVideos() {
+            return newVideos;
+        }
+
+        public int getDownloaded() {
+            return downloaded;
+        }
+
+        /**
+         * @return true se a execução foi interrompida por {@link #cancelSync()}
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public List<String> getFailures() {
+            return Collections.unmodifiableList(failures);
+        }
+
+        public Map<String, SyncResult> getResults() {
+            return Collections.unmodifiableMap(results);
+        }
+    }
+
+    /**
+     * Estado de sincronização resultante de uma busca.
+     */
+    private static class FetchResult {
+        final int totalCount;
+        final String cursor;
+        final boolean full;
+
+        FetchResult(int totalCount, String cursor, boolean full) {
+            this.totalCount = totalCount;
+            this.cursor = cursor;
+            this.full = full;
+        }
     }
 
     public static class PlaylistStats {
         public final int totalVideos;
         public final int downloaded;
         public final int pending;
+        /** Pendentes com falha registrada, inclusive os indisponíveis. */
+        public final int failed;
+        /** Pendentes marcados como indisponíveis, que não serão tentados de novo. */
+        public final int unavailable;
 
         public PlaylistStats(int totalVideos, int downloaded, int pending) {
+            this(totalVideos, downloaded, pending, 0, 0);
+        }
+
+        public PlaylistStats(int totalVideos, int downloaded, int pending, int failed, int unavailable) {
             this.totalVideos = totalVideos;
             this.downloaded = downloaded;
             this.pending = pending;
+            this.failed = failed;
+            this.unavailable = unavailable;
+        }
+
+        static PlaylistStats of(VideoStats stats) {
+            return new PlaylistStats(stats.total, stats.downloaded, stats.pending(), stats.failed, stats.unavailable);
         }
     }
 }
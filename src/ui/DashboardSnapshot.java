@@ -0,0 +1,50 @@
+package ui;
+
+import application.Application;
+import domain.Playlist;
+import service.SyncService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estado do painel principal: playlists, estatísticas de cada uma e totais.
+ *
+ * É montado fora da EDT, onde as consultas ao repositório podem demorar, e entregue
+ * pronto à EDT, que só aplica os valores nos componentes. Imutável.
+ */
+final class DashboardSnapshot {
+
+    static final class PlaylistView {
+        final Playlist playlist;
+        final SyncService.PlaylistStats stats;
+
+        PlaylistView(Playlist playlist, SyncService.PlaylistStats stats) {
+            this.playlist = playlist;
+            this.stats = stats;
+        }
+    }
+
+    final List<PlaylistView> playlists;
+    final int totalVideos;
+    final int totalDownloaded;
+
+    private DashboardSnapshot(List<PlaylistView> playlists, int totalVideos, int totalDownloaded) {
+        this.playlists = Collections.unmodifiableList(playlists);
+        this.totalVideos = totalVideos;
+        this.totalDownloaded = totalDownloaded;
+    }
+
+    /**
+     * Consulta os repositórios; não deve ser chamado na EDT.
+     */
+    static DashboardSnapshot build(Application app) {
+        List<PlaylistView> views = new ArrayList<>();
+        for (Playlist playlist : app.getPlaylists()) {
+            views.add(new PlaylistView(playlist, app.getPlaylistStats(playlist.getId())));
+        }
+        SyncService.PlaylistStats total = app.getGlobalStats();
+        return new DashboardSnapshot(views, total.totalVideos, total.downloaded);
+    }
+}
@@ -0,0 +1,74 @@
+package ui;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detecta travamentos da EDT: posta periodicamente uma tarefa vazia na fila de eventos e
+ * registra no log quando ela demora mais que {@link #STALL_THRESHOLD_MS} para rodar,
+ * com o ponto em que a EDT estava parada.
+ */
+final class EdtWatchdog {
+    static final long STALL_THRESHOLD_MS = 100;
+    private static final long CHECK_INTERVAL_MS = 50;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "EdtWatchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Instante (nanoTime) em que a tarefa pendente foi postada; 0 se nenhuma. */
+    private volatile long postedAt;
+    private volatile boolean reported;
+    private volatile Thread edt;
+
+    void start() {
+        timer.scheduleWithFixedDelay(this::check, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        timer.shutdownNow();
+    }
+
+    private void check() {
+        long posted = postedAt;
+        if (posted == 0) {
+            reported = false;
+            postedAt = System.nanoTime();
+            SwingUtilities.invokeLater(this::heartbeat);
+            return;
+        }
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - posted);
+        if (waitedMs > STALL_THRESHOLD_MS && !reported) {
+            reported = true;
+            System.err.println("⚠ EDT travada há " + waitedMs + " ms em " + whereIsEdt());
+        }
+    }
+
+    private void heartbeat() {
+        edt = Thread.currentThread();
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - postedAt);
+        if (reported) {
+            System.err.println("⚠ EDT travou por " + waitedMs + " ms");
+        }
+        postedAt = 0;
+    }
+
+    private String whereIsEdt() {
+        Thread thread = edt;
+        if (thread == null) {
+            return "(desconhecido)";
+        }
+        StackTraceElement[] stack = thread.getStackTrace();
+        for (StackTraceElement frame : stack) {
+            if (!frame.getClassName().startsWith("java.") && !frame.getClassName().startsWith("javax.")
+                    && !frame.getClassName().startsWith("sun.") && !frame.getClassName().startsWith("jdk.")) {
+                return frame.toString();
+            }
+        }
+        return stack.length > 0 ? stack[0].toString() : "(desconhecido)";
+    }
+}
@@ -1,6 +1,8 @@
 package ui;
 
+import adapter.RateLimiter;
 import application.Application;
+import application.SyncProgress;
 import domain.Playlist;
 import domain.Video;
 import service.SyncService;
@@ -8,16 +10,25 @@ import service.SyncService;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class MainWindow extends JFrame {
+    private static final int VIDEO_ROW_HEIGHT = 36;
+    private static final int MAX_VISIBLE_ROWS = 12;
 
     private final Application app;
     private JButton syncButton;
     private JButton autoSyncButton;
-    private Timer updateTimer;
 
     // Stat card value labels
     private JLabel playlistsCountLabel;
@@ -25,22 +36,41 @@ public class MainWindow extends JFrame {
     private JLabel downloadedCountLabel;
     private JLabel pendingCountLabel;
     private JLabel autoSyncStatusLabel;
+    private JLabel rateLimitLabel;
 
     // Collapsable playlists panel
     private JPanel playlistsContainer;
     private JScrollPane playlistsScrollPane;
     private final Map<String, Boolean> expandedState = new HashMap<>();
+    private final Map<String, PlaylistCard> cards = new LinkedHashMap<>();
+    // Cards na ordem em que estão no container; null antes da primeira montagem
+    private List<PlaylistCard> shownCards;
+    private final VideoCellRenderer videoRenderer = new VideoCellRenderer();
+    // Progresso exibido e percentual inteiro de cada linha desenhada como "Baixando"
+    private SyncProgress.Snapshot progress;
+    private final Map<String, Integer> shownDownloads = new HashMap<>();
+
+    // Consultas ao repositório rodam aqui, nunca na EDT
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DashboardWorker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final Set<String> staleRows = new HashSet<>();
+    private boolean allRowsStale;
 
     // Sync progress
     private JPanel syncProgressPanel;
     private JProgressBar syncProgressBar;
+    private JButton cancelSyncButton;
     private JLabel syncProgressLabel;
 
     public MainWindow(Application app) {
         this.app = app;
+        this.progress = app.getSyncProgress();
         initUI();
         setupListeners();
-        startUpdateTimer();
         updateUI();
     }
 
@@ -171,188 +201,292 @@ public class MainWindow extends JFrame {
         return section;
     }
 
-    private JPanel buildCollapsableCard(Playlist playlist, SyncService.PlaylistStats stats, List<Video> videos) {
-        boolean expanded = expandedState.getOrDefault(playlist.getId(), false);
+    /**
+     * Card de uma playlist. Cabeçalho e linhas de vídeo são atualizados no lugar pelos
+     * eventos da aplicação. A lista de vídeos só existe enquanto o card está expandido e
+     * é virtualizada: apenas as linhas visíveis são buscadas e desenhadas.
+     */
+    private class PlaylistCard {
+        final String playlistId;
+        final JPanel panel;
+        private final JLabel titleLabel = new JLabel();
+        private final JLabel statsLabel = new JLabel();
+        private final JButton toggleBtn = new JButton();
+        private final JButton retryBtn = MaterialTheme.textButton("Repetir falhas");
+        private final JPanel body;
+        private VideoListModel model;
+        private JList<Video> list;
+        private Playlist playlist;
+        SyncService.PlaylistStats stats;
+
+        PlaylistCard(DashboardSnapshot.PlaylistView view) {
+            this.playlistId = view.playlist.getId();
+
+            panel = new JPanel() {
+                @Override
+                public Dimension getMaximumSize() {
+                    return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+                }
+            };
+            panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+            panel.setBackground(MaterialTheme.SURFACE_CONTAINER);
+            panel.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, MaterialTheme.OUTLINE_VARIANT));
+            panel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            // --- Header ---
+            JPanel header = new JPanel(new BorderLayout(8, 0));
+            header.setBackground(MaterialTheme.SURFACE_CONTAINER);
+            header.setBorder(new EmptyBorder(12, 14, 12, 14));
+            header.setAlignmentX(Component.LEFT_ALIGNMENT);
+            header.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+            toggleBtn.setFont(MaterialTheme.labelMedium());
+            toggleBtn.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
+            toggleBtn.setBorderPainted(false);
+            toggleBtn.setContentAreaFilled(false);
+            toggleBtn.setFocusPainted(false);
+            toggleBtn.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+            toggleBtn.setPreferredSize(new Dimension(28, 28));
+
+            titleLabel.setFont(MaterialTheme.bodyMedium().deriveFont(Font.BOLD));
+            titleLabel.setForeground(MaterialTheme.ON_SURFACE);
+            statsLabel.setFont(MaterialTheme.labelMedium());
+            statsLabel.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
+
+            JPanel titlePanel = new JPanel();
+            titlePanel.setLayout(new BoxLayout(titlePanel, BoxLayout.Y_AXIS));
+            titlePanel.setOpaque(false);
+            titlePanel.add(titleLabel);
+            titlePanel.add(Box.createVerticalStrut(3));
+            titlePanel.add(statsLabel);
+
+            // Action buttons
+            JPanel actionPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+            actionPanel.setOpaque(false);
+
+            JButton syncBtn = MaterialTheme.filledTonalButton("Sincronizar");
+            syncBtn.setFont(MaterialTheme.labelMedium());
+            syncBtn.addActionListener(e -> syncPlaylist(playlistId));
+
+            JButton removeBtn = MaterialTheme.outlinedButton("Remover");
+            removeBtn.setFont(MaterialTheme.labelMedium());
+            removeBtn.addActionListener(e -> removePlaylist(playlistId, this.playlist.getTitle()));
+
+            retryBtn.setFont(MaterialTheme.labelMedium());
+            retryBtn.setToolTipText("Tenta de novo os videos marcados como indisponiveis");
+            retryBtn.addActionListener(e -> worker.execute(() -> app.resetFailedVideos(playlistId)));
+            actionPanel.add(retryBtn);
+            actionPanel.add(syncBtn);
+            actionPanel.add(removeBtn);
+
+            header.add(toggleBtn, BorderLayout.WEST);
+            header.add(titlePanel, BorderLayout.CENTER);
+            header.add(actionPanel, BorderLayout.EAST);
+
+            // --- Body (video list) ---
+            body = new JPanel() {
+                @Override
+                public Dimension getMaximumSize() {
+                    return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+                }
+            };
+            body.setLayout(new BoxLayout(body, BoxLayout.Y_AXIS));
+            body.setOpaque(false);
+            body.setBorder(BorderFactory.createMatteBorder(1, 0, 0, 0, MaterialTheme.OUTLINE_VARIANT));
+            body.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            toggleBtn.addActionListener(e -> setExpanded(!body.isVisible()));
+
+            panel.add(header);
+            panel.add(body);
+
+            update(view);
+            setExpanded(expandedState.getOrDefault(playlistId, false));
+        }
+
+        /**
+         * Atualiza o cabeçalho com a playlist e as estatísticas do snapshot.
+         */
+        void update(DashboardSnapshot.PlaylistView view) {
+            this.stats = view.stats;
+            update(view.playlist);
+        }
+
+        void update(Playlist playlist) {
+            this.playlist = playlist;
+            String lastSync = playlist.getLastSyncedAt() != null
+                    ? playlist.getLastSyncedAt().toString().substring(0, 19).replace("T", " ")
+                    : "Nunca";
+            titleLabel.setText(playlist.getTitle());
+            statsLabel.setText(stats.totalVideos + " videos  |  " + stats.downloaded + " baixados  |  " +
+                    stats.pending + " pendentes  |  Ultima sinc: " + lastSync);
+            retryBtn.setVisible(stats.unavailable > 0);
+        }
+
+        void setExpanded(boolean expanded) {
+            expandedState.put(playlistId, expanded);
+            toggleBtn.setText(expanded ? "▼" : "▶");
+            if (expanded && model == null) {
+                model = new VideoListModel((offset, limit) -> app.getVideosPage(playlistId, offset, limit),
+                        worker, stats.totalVideos);
+                list = new JList<>(model);
+                list.setCellRenderer(videoRenderer);
+                list.setFixedCellHeight(VIDEO_ROW_HEIGHT);
+                list.setFocusable(false);
+                list.setOpaque(false);
+                layoutBody();
+            } else if (!expanded && model != null) {
+                // Libera a lista e suas páginas; são recriadas ao expandir de novo
+                model = null;
+                list = null;
+                body.removeAll();
+            }
+            body.setVisible(expanded);
+            panel.revalidate();
+            panel.repaint();
+        }
 
-        JPanel outer = new JPanel() {
-            @Override
-            public Dimension getMaximumSize() {
-                return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+        /**
+         * Mostra a lista com no máximo {@link #MAX_VISIBLE_ROWS} linhas de altura, ou o
+         * aviso de playlist vazia.
+         */
+        private void layoutBody() {
+            body.removeAll();
+            if (model.getSize() == 0) {
+                JLabel emptyLabel = new JLabel("  Nenhum video cadastrado nesta playlist.");
+                emptyLabel.setFont(MaterialTheme.bodyMedium());
+                emptyLabel.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
+                emptyLabel.setBorder(new EmptyBorder(12, 14, 12, 14));
+                emptyLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+                body.add(emptyLabel);
+            } else {
+                list.setVisibleRowCount(Math.min(model.getSize(), MAX_VISIBLE_ROWS));
+                JScrollPane scroll = new JScrollPane(list);
+                scroll.setBorder(BorderFactory.createEmptyBorder());
+                scroll.setOpaque(false);
+                scroll.getViewport().setOpaque(false);
+                scroll.getVerticalScrollBar().setUnitIncrement(VIDEO_ROW_HEIGHT);
+                scroll.setAlignmentX(Component.LEFT_ALIGNMENT);
+                body.add(scroll);
             }
-        };
-        outer.setLayout(new BoxLayout(outer, BoxLayout.Y_AXIS));
-        outer.setBackground(MaterialTheme.SURFACE_CONTAINER);
-        outer.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, MaterialTheme.OUTLINE_VARIANT));
-        outer.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-        // --- Header ---
-        JPanel header = new JPanel(new BorderLayout(8, 0));
-        header.setBackground(MaterialTheme.SURFACE_CONTAINER);
-        header.setBorder(new EmptyBorder(12, 14, 12, 14));
-        header.setAlignmentX(Component.LEFT_ALIGNMENT);
-        header.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
-
-        JButton toggleBtn = new JButton(expanded ? "▼" : "▶");
-        toggleBtn.setFont(MaterialTheme.labelMedium());
-        toggleBtn.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
-        toggleBtn.setBorderPainted(false);
-        toggleBtn.setContentAreaFilled(false);
-        toggleBtn.setFocusPainted(false);
-        toggleBtn.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-        toggleBtn.setPreferredSize(new Dimension(28, 28));
-
-        JLabel titleLabel = new JLabel(playlist.getTitle());
-        titleLabel.setFont(MaterialTheme.bodyMedium().deriveFont(Font.BOLD));
-        titleLabel.setForeground(MaterialTheme.ON_SURFACE);
-
-        String lastSync = playlist.getLastSyncedAt() != null
-                ? playlist.getLastSyncedAt().toString().substring(0, 19).replace("T", " ")
-                : "Nunca";
-        JLabel statsLabel = new JLabel(
-                stats.totalVideos + " videos  |  " + stats.downloaded + " baixados  |  " +
-                stats.pending + " pendentes  |  Ultima sinc: " + lastSync);
-        statsLabel.setFont(MaterialTheme.labelMedium());
-        statsLabel.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
-
-        JPanel titlePanel = new JPanel();
-        titlePanel.setLayout(new BoxLayout(titlePanel, BoxLayout.Y_AXIS));
-        titlePanel.setOpaque(false);
-        titlePanel.add(titleLabel);
-        titlePanel.add(Box.createVerticalStrut(3));
-        titlePanel.add(statsLabel);
-
-        // Action buttons
-        JPanel actionPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
-        actionPanel.setOpaque(false);
-
-        JButton syncBtn = MaterialTheme.filledTonalButton("Sincronizar");
-        syncBtn.setFont(MaterialTheme.labelMedium());
-        syncBtn.addActionListener(e -> syncPlaylist(playlist.getId()));
-
-        JButton removeBtn = MaterialTheme.outlinedButton("Remover");
-        removeBtn.setFont(MaterialTheme.labelMedium());
-        removeBtn.addActionListener(e -> removePlaylist(playlist.getId(), playlist.getTitle()));
-
-        actionPanel.add(syncBtn);
-        actionPanel.add(removeBtn);
-
-        header.add(toggleBtn, BorderLayout.WEST);
-        header.add(titlePanel, BorderLayout.CENTER);
-        header.add(actionPanel, BorderLayout.EAST);
-
-        // --- Body (video list) ---
-        JPanel body = new JPanel() {
-            @Override
-            public Dimension getMaximumSize() {
-                return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+            body.revalidate();
+            body.repaint();
+        }
+
+        /**
+         * Recarrega a lista após inclusão ou remoção de vídeos.
+         */
+        void reloadRows() {
+            if (model == null) {
+                return;
             }
-        };
-        body.setLayout(new BoxLayout(body, BoxLayout.Y_AXIS));
-        body.setOpaque(false);
-        body.setBorder(BorderFactory.createMatteBorder(1, 0, 0, 0, MaterialTheme.OUTLINE_VARIANT));
-        body.setAlignmentX(Component.LEFT_ALIGNMENT);
-        body.setVisible(expanded);
-
-        if (videos.isEmpty()) {
-            JLabel emptyLabel = new JLabel("  Nenhum video cadastrado nesta playlist.");
-            emptyLabel.setFont(MaterialTheme.bodyMedium());
-            emptyLabel.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
-            emptyLabel.setBorder(new EmptyBorder(12, 14, 12, 14));
-            emptyLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
-            body.add(emptyLabel);
-        } else {
-            for (Video video : videos) {
-                body.add(buildVideoRow(video));
+            int before = model.getSize();
+            model.reload(stats.totalVideos);
+            int after = model.getSize();
+            if (before == 0 || after == 0 || Math.min(after, MAX_VISIBLE_ROWS) != Math.min(before, MAX_VISIBLE_ROWS)) {
+                layoutBody();
             }
         }
 
-        // Toggle action
-        toggleBtn.addActionListener(e -> {
-            boolean nowExpanded = !body.isVisible();
-            expandedState.put(playlist.getId(), nowExpanded);
-            body.setVisible(nowExpanded);
-            toggleBtn.setText(nowExpanded ? "▼" : "▶");
-            outer.revalidate();
-            outer.repaint();
-            playlistsContainer.revalidate();
-            playlistsScrollPane.revalidate();
-            playlistsScrollPane.repaint();
-        });
-
-        outer.add(header);
-        outer.add(body);
-        return outer;
-    }
-
-    private JPanel buildVideoRow(Video video) {
-        JPanel row = new JPanel(new BorderLayout(10, 0)) {
-            @Override
-            public Dimension getMaximumSize() {
-                return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+        void updateVideo(Video video) {
+            if (model != null) {
+                model.update(video);
+            }
+        }
+
+        void refreshRow(String videoId) {
+            if (model != null) {
+                model.refresh(videoId);
             }
-        };
-        row.setOpaque(false);
-        row.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(
-                        MaterialTheme.OUTLINE_VARIANT.getRed(),
-                        MaterialTheme.OUTLINE_VARIANT.getGreen(),
-                        MaterialTheme.OUTLINE_VARIANT.getBlue(), 80)),
-                new EmptyBorder(8, 20, 8, 14)));
-        row.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-        boolean downloading = video.getId().equals(app.getDownloadingVideoId());
-        String errorMsg     = app.getVideoError(video.getId());
-        boolean downloaded  = video.isDownloaded();
-
-        String icon;
-        Color iconColor, titleColor, detailColor;
-        String detail;
-
-        if (downloading) {
-            icon        = "\u23F3";  // ⏳
-            iconColor   = MaterialTheme.PRIMARY;
-            titleColor  = MaterialTheme.ON_SURFACE;
-            detail      = "Baixando...";
-            detailColor = MaterialTheme.PRIMARY;
-        } else if (errorMsg != null) {
-            icon        = "\u2717";  // ✗
-            iconColor   = MaterialTheme.ON_ERROR_CONTAINER;
-            titleColor  = MaterialTheme.ON_SURFACE_VARIANT;
-            detail      = "Erro: " + errorMsg;
-            detailColor = MaterialTheme.ON_ERROR_CONTAINER;
-        } else if (downloaded) {
-            icon        = "\u2713";  // ✓
-            iconColor   = MaterialTheme.ON_SUCCESS_CONTAINER;
-            titleColor  = MaterialTheme.ON_SURFACE;
-            detail      = video.getDownloadedAt() != null
-                    ? video.getDownloadedAt().toString().substring(0, 10)
-                    : "Baixado";
-            detailColor = MaterialTheme.ON_SURFACE_VARIANT;
-        } else {
-            icon        = "\u25CB";  // ○
-            iconColor   = MaterialTheme.ON_SURFACE_VARIANT;
-            titleColor  = MaterialTheme.ON_SURFACE_VARIANT;
-            detail      = "Pendente";
-            detailColor = MaterialTheme.ON_SURFACE_VARIANT;
         }
+    }
 
-        JLabel statusIcon = new JLabel(icon);
-        statusIcon.setFont(MaterialTheme.bodyMedium());
-        statusIcon.setForeground(iconColor);
-        statusIcon.setPreferredSize(new Dimension(18, 18));
+    /**
+     * Desenha as linhas das listas de vídeos; um único componente serve todas as linhas.
+     */
+    private class VideoCellRenderer extends JPanel implements ListCellRenderer<Video> {
+        private final JLabel statusIcon = new JLabel();
+        private final JLabel titleLabel = new JLabel();
+        private final JLabel detailLabel = new JLabel();
+
+        VideoCellRenderer() {
+            super(new BorderLayout(10, 0));
+            setOpaque(false);
+            setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createMatteBorder(0, 0, 1, 0, new Color(
+                            MaterialTheme.OUTLINE_VARIANT.getRed(),
+                            MaterialTheme.OUTLINE_VARIANT.getGreen(),
+                            MaterialTheme.OUTLINE_VARIANT.getBlue(), 80)),
+                    new EmptyBorder(8, 20, 8, 14)));
+
+            statusIcon.setFont(MaterialTheme.bodyMedium());
+            statusIcon.setPreferredSize(new Dimension(18, 18));
+            titleLabel.setFont(MaterialTheme.bodyMedium());
+            detailLabel.setFont(MaterialTheme.labelMedium());
+
+            add(statusIcon, BorderLayout.WEST);
+            add(titleLabel, BorderLayout.CENTER);
+            add(detailLabel, BorderLayout.EAST);
+        }
 
-        JLabel titleLabel = new JLabel(video.getTitle());
-        titleLabel.setFont(MaterialTheme.bodyMedium());
-        titleLabel.setForeground(titleColor);
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Video> list, Video video,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            if (video == null) {
+                statusIcon.setText("");
+                titleLabel.setText("Carregando...");
+                titleLabel.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
+                detailLabel.setText("");
+                return this;
+            }
 
-        JLabel detailLabel = new JLabel(detail);
-        detailLabel.setFont(MaterialTheme.labelMedium());
-        detailLabel.setForeground(detailColor);
+            SyncProgress.Download downloading = progress.inFlight.get(video.getId());
+            String errorMsg     = app.getVideoError(video.getId());
+            if (errorMsg == null && !video.isDownloaded()) {
+                errorMsg = video.getLastError();
+            }
+            boolean downloaded  = video.isDownloaded();
+
+            String icon;
+            Color iconColor, titleColor, detailColor;
+            String detail;
+
+            if (downloading != null) {
+                icon        = "\u23F3";  // ⏳
+                iconColor   = MaterialTheme.PRIMARY;
+                titleColor  = MaterialTheme.ON_SURFACE;
+                detail      = downloading.percent > 0 ? "Baixando " + (int) downloading.percent + "%" : "Baixando...";
+                detailColor = MaterialTheme.PRIMARY;
+            } else if (errorMsg != null) {
+                icon        = "\u2717";  // ✗
+                iconColor   = MaterialTheme.ON_ERROR_CONTAINER;
+                titleColor  = MaterialTheme.ON_SURFACE_VARIANT;
+                detail      = (video.hasPermanentFailure() ? "Indisponivel: " : "Erro: ") + errorMsg;
+                detailColor = MaterialTheme.ON_ERROR_CONTAINER;
+            } else if (downloaded) {
+                icon        = "\u2713";  // ✓
+                iconColor   = MaterialTheme.ON_SUCCESS_CONTAINER;
+                titleColor  = MaterialTheme.ON_SURFACE;
+                detail      = video.getDownloadedAt() != null
+                        ? video.getDownloadedAt().toString().substring(0, 10)
+                        : "Baixado";
+                detailColor = MaterialTheme.ON_SURFACE_VARIANT;
+            } else {
+                icon        = "\u25CB";  // ○
+                iconColor   = MaterialTheme.ON_SURFACE_VARIANT;
+                titleColor  = MaterialTheme.ON_SURFACE_VARIANT;
+                detail      = "Pendente";
+                detailColor = MaterialTheme.ON_SURFACE_VARIANT;
+            }
 
-        row.add(statusIcon, BorderLayout.WEST);
-        row.add(titleLabel, BorderLayout.CENTER);
-        row.add(detailLabel, BorderLayout.EAST);
-        return row;
+            statusIcon.setText(icon);
+            statusIcon.setForeground(iconColor);
+            titleLabel.setText(video.getTitle());
+            titleLabel.setForeground(titleColor);
+            detailLabel.setText(detail);
+            detailLabel.setForeground(detailColor);
+            return this;
+        }
     }
 
     private JPanel createFooter() {
@@ -381,8 +515,16 @@ public class MainWindow extends JFrame {
         syncProgressBar.setBackground(MaterialTheme.PRIMARY_CONTAINER);
         syncProgressBar.setForeground(MaterialTheme.PRIMARY);
 
+        cancelSyncButton = MaterialTheme.textButton("Cancelar");
+        cancelSyncButton.addActionListener(e -> cancelSync());
+
+        JPanel east = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
+        east.setOpaque(false);
+        east.add(syncProgressBar);
+        east.add(cancelSyncButton);
+
         panel.add(syncProgressLabel, BorderLayout.CENTER);
-        panel.add(syncProgressBar, BorderLayout.EAST);
+        panel.add(east, BorderLayout.EAST);
         return panel;
     }
 
@@ -398,6 +540,12 @@ public class MainWindow extends JFrame {
         addButton.addActionListener(e -> addPlaylist());
         left.add(addButton);
 
+        rateLimitLabel = new JLabel();
+        rateLimitLabel.setFont(MaterialTheme.labelMedium());
+        rateLimitLabel.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
+        rateLimitLabel.setToolTipText("Execucoes do yt-dlp no ultimo minuto e limite atual");
+        left.add(rateLimitLabel);
+
         JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
         right.setOpaque(false);
 
@@ -420,22 +568,56 @@ public class MainWindow extends JFrame {
     }
 
     // -------------------------------------------------------------------------
-    // Listeners & timers
+    // Listeners
     // -------------------------------------------------------------------------
 
     private void setupListeners() {
-        app.addPropertyChangeListener(evt -> SwingUtilities.invokeLater(() -> {
-            updateUI();
-            String prop = evt.getPropertyName();
-            if ("syncProgress".equals(prop) || "syncInProgress".equals(prop)) {
-                updateSyncProgress();
-            }
-        }));
+        app.addPropertyChangeListener(evt -> SwingUtilities.invokeLater(() -> onAppEvent(evt)));
     }
 
-    private void startUpdateTimer() {
-        updateTimer = new Timer(3000, e -> updateUI());
-        updateTimer.start();
+    /**
+     * Aplica um evento da aplicação atualizando só o que ele afeta: a linha do vídeo,
+     * o cabeçalho do card e os totais. Alterações em lote recarregam os cards.
+     */
+    private void onAppEvent(PropertyChangeEvent evt) {
+        switch (evt.getPropertyName()) {
+            case "videosAdded" -> {
+                staleRows.add((String) evt.getOldValue());
+                requestRefresh();
+            }
+            case "videoUpdated" -> {
+                Video video = (Video) evt.getNewValue();
+                PlaylistCard card = cards.get(video.getPlaylistId());
+                if (card != null) {
+                    card.updateVideo(video);
+                }
+                requestRefresh();
+            }
+            case "playlistUpdated" -> {
+                Playlist playlist = (Playlist) evt.getNewValue();
+                PlaylistCard card = cards.get(playlist.getId());
+                if (card != null) {
+                    card.update(playlist);
+                }
+            }
+            case "syncProgress" -> {
+                progress = app.getSyncProgress();
+                updateDownloadingRows();
+                updateSyncProgress();
+            }
+            case "syncInProgress" -> {
+                progress = app.getSyncProgress();
+                updateDownloadingRows();
+                updateSyncProgress();
+                updateStatus();
+                requestRefresh();
+            }
+            case "autoSyncRunning" -> {
+                updateStatus();
+                updateButtons();
+            }
+            default -> updateUI();
+        }
     }
 
     // -------------------------------------------------------------------------
@@ -443,37 +625,89 @@ public class MainWindow extends JFrame {
     // -------------------------------------------------------------------------
 
     private void updateUI() {
-        SwingUtilities.invokeLater(() -> {
-            updateStats();
-            updatePlaylistCards();
-            updateButtons();
-        });
+        allRowsStale = true;
+        requestRefresh();
+        updateStatus();
+        updateButtons();
     }
 
-    private void updateStats() {
-        List<Playlist> playlists = app.getPlaylists();
-        int totalVideos = 0, totalDownloaded = 0;
-
-        for (Playlist playlist : playlists) {
-            SyncService.PlaylistStats stats = app.getPlaylistStats(playlist.getId());
-            totalVideos     += stats.totalVideos;
-            totalDownloaded += stats.downloaded;
+    /**
+     * Agenda a montagem de um novo snapshot no worker. Pedidos feitos enquanto um
+     * snapshot ainda não começou a ser montado são atendidos por ele.
+     */
+    private void requestRefresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                refreshPending.set(false);
+                DashboardSnapshot snapshot = DashboardSnapshot.build(app);
+                SwingUtilities.invokeLater(() -> applySnapshot(snapshot));
+            });
         }
+    }
+
+    private void applySnapshot(DashboardSnapshot snapshot) {
+        updatePlaylistCards(snapshot);
+        updateStats(snapshot);
+    }
 
-        playlistsCountLabel.setText(String.valueOf(playlists.size()));
-        videosCountLabel.setText(String.valueOf(totalVideos));
-        downloadedCountLabel.setText(String.valueOf(totalDownloaded));
-        pendingCountLabel.setText(String.valueOf(totalVideos - totalDownloaded));
+    private void updateStats(DashboardSnapshot snapshot) {
+        playlistsCountLabel.setText(String.valueOf(snapshot.playlists.size()));
+        videosCountLabel.setText(String.valueOf(snapshot.totalVideos));
+        downloadedCountLabel.setText(String.valueOf(snapshot.totalDownloaded));
+        pendingCountLabel.setText(String.valueOf(snapshot.totalVideos - snapshot.totalDownloaded));
+    }
+
+    private void updateStatus() {
         autoSyncStatusLabel.setText(app.isAutoSyncRunning() ? "Ativa" : "Desativada");
+
+        RateLimiter.Status rate = app.getRateLimiterStatus();
+        rateLimitLabel.setVisible(rate != null);
+        if (rate != null) {
+            rateLimitLabel.setText("Requisicoes: " + rate);
+        }
     }
 
-    private void updatePlaylistCards() {
-        int scrollPos = playlistsScrollPane.getVerticalScrollBar().getValue();
+    /**
+     * Compara as playlists do snapshot com os cards exibidos: cria os que faltam, remove
+     * os de playlists excluídas e atualiza os demais no lugar. As linhas só são
+     * recarregadas quando a quantidade de vídeos muda ou quando vídeos foram incluídos.
+     * O container só é remontado quando o conjunto ou a ordem dos cards muda.
+     */
+    private void updatePlaylistCards(DashboardSnapshot snapshot) {
+        Set<String> current = new HashSet<>();
+        for (DashboardSnapshot.PlaylistView view : snapshot.playlists) {
+            current.add(view.playlist.getId());
+        }
+        cards.keySet().removeIf(id -> !current.contains(id));
+        expandedState.keySet().removeIf(id -> !current.contains(id));
+
+        List<PlaylistCard> ordered = new ArrayList<>();
+        for (DashboardSnapshot.PlaylistView view : snapshot.playlists) {
+            String playlistId = view.playlist.getId();
+            PlaylistCard card = cards.get(playlistId);
+            if (card == null) {
+                card = new PlaylistCard(view);
+                cards.put(playlistId, card);
+            } else {
+                boolean resized = card.stats.totalVideos != view.stats.totalVideos;
+                card.update(view);
+                if (resized || allRowsStale || staleRows.contains(playlistId)) {
+                    card.reloadRows();
+                }
+            }
+            ordered.add(card);
+        }
+        staleRows.clear();
+        allRowsStale = false;
 
-        playlistsContainer.removeAll();
-        List<Playlist> playlists = app.getPlaylists();
+        if (ordered.equals(shownCards)) {
+            return;
+        }
+        shownCards = ordered;
 
-        if (playlists.isEmpty()) {
+        int scrollPos = playlistsScrollPane.getVerticalScrollBar().getValue();
+        playlistsContainer.removeAll();
+        if (ordered.isEmpty()) {
             JLabel emptyLabel = new JLabel("Nenhuma playlist cadastrada. Clique em '+ Adicionar' para comecar.");
             emptyLabel.setFont(MaterialTheme.bodyMedium());
             emptyLabel.setForeground(MaterialTheme.ON_SURFACE_VARIANT);
@@ -481,11 +715,8 @@ public class MainWindow extends JFrame {
             emptyLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
             playlistsContainer.add(emptyLabel);
         } else {
-            for (Playlist playlist : playlists) {
-                SyncService.PlaylistStats stats = app.getPlaylistStats(playlist.getId());
-                List<Video> videos = app.getVideosByPlaylistId(playlist.getId());
-                JPanel card = buildCollapsableCard(playlist, stats, videos);
-                playlistsContainer.add(card);
+            for (PlaylistCard card : ordered) {
+                playlistsContainer.add(card.panel);
             }
         }
 
@@ -497,6 +728,27 @@ public class MainWindow extends JFrame {
                 playlistsScrollPane.getVerticalScrollBar().setValue(scrollPos));
     }
 
+    /**
+     * Redesenha só as linhas que entraram ou saíram do estado "Baixando" ou cujo
+     * percentual mudou.
+     */
+    private void updateDownloadingRows() {
+        Set<String> changed = new HashSet<>(shownDownloads.keySet());
+        changed.removeAll(progress.inFlight.keySet());
+        shownDownloads.keySet().removeAll(changed);
+        for (SyncProgress.Download download : progress.inFlight.values()) {
+            Integer percent = (int) download.percent;
+            if (!percent.equals(shownDownloads.put(download.videoId, percent))) {
+                changed.add(download.videoId);
+            }
+        }
+        for (String videoId : changed) {
+            for (PlaylistCard card : cards.values()) {
+                card.refreshRow(videoId);
+            }
+        }
+    }
+
     private void updateButtons() {
         boolean running = app.isAutoSyncRunning();
         autoSyncButton.setText(running ? "Parar Sinc. Auto" : "Iniciar Sinc. Auto");
@@ -511,42 +763,60 @@ public class MainWindow extends JFrame {
     private void updateSyncProgress() {
         boolean syncing = app.isSyncInProgress();
         syncProgressPanel.setVisible(syncing);
+        if (!syncing) {
+            cancelSyncButton.setEnabled(true);
+        }
 
         if (syncing) {
-            String currentVideo = app.getSyncCurrentVideo();
-            int current = app.getSyncDownloadCurrent();
-            int total = app.getSyncDownloadTotal();
-
-            if (total > 0) {
+            String status = progress.status;
+            if (progress.total > 0) {
                 syncProgressBar.setIndeterminate(false);
-                syncProgressBar.setMaximum(total);
-                syncProgressBar.setValue(current);
-                syncProgressLabel.setText("Baixando " + current + "/" + total + ":  " +
-                        (currentVideo != null ? currentVideo : ""));
+                syncProgressBar.setMaximum(progress.total);
+                syncProgressBar.setValue(progress.current);
+                syncProgressLabel.setText("Baixando " + progress.current + "/" + progress.total + ":  " +
+                        (progress.inFlight.isEmpty() ? (status != null ? status : "") : describeDownloads()));
             } else {
                 syncProgressBar.setIndeterminate(true);
-                syncProgressLabel.setText(currentVideo != null ? currentVideo : "Sincronizando...");
+                syncProgressLabel.setText(status != null ? status : "Sincronizando...");
             }
         }
 
         revalidate();
     }
 
+    /**
+     * Downloads em andamento com seus percentuais, ex: "Musica A (42%), Musica B (7%)".
+     */
+    private String describeDownloads() {
+        StringBuilder text = new StringBuilder();
+        for (SyncProgress.Download download : progress.inFlight.values()) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(download.title).append(" (").append((int) download.percent).append("%)");
+        }
+        return text.toString();
+    }
+
     // -------------------------------------------------------------------------
     // Actions
     // -------------------------------------------------------------------------
 
     private void addPlaylist() {
-        String url = JOptionPane.showInputDialog(this,
-                "Digite a URL da playlist ou canal do YouTube:",
+        String input = JOptionPane.showInputDialog(this,
+                "Digite a URL da playlist ou canal do YouTube\n(varias URLs separadas por espaco):",
                 "Adicionar Playlist/Canal",
                 JOptionPane.PLAIN_MESSAGE);
+        List<String> urls = input != null ? Application.splitUrls(input) : List.of();
 
-        if (url != null && !url.trim().isEmpty()) {
+        if (urls.size() > 1) {
+            addPlaylists(urls);
+        } else if (urls.size() == 1) {
+            String url = urls.get(0);
             new Thread(() -> {
                 try {
                     setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
-                    Playlist playlist = app.addPlaylist(url.trim());
+                    Playlist playlist = app.addPlaylist(url);
 
                     SwingUtilities.invokeLater(() -> {
                         setCursor(Cursor.getDefaultCursor());
@@ -572,14 +842,31 @@ public class MainWindow extends JFrame {
         }
     }
 
+    private void addPlaylists(List<String> urls) {
+        new Thread(() -> {
+            SwingUtilities.invokeLater(() -> setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR)));
+            int added = app.addPlaylists(urls).size();
+            SwingUtilities.invokeLater(() -> {
+                setCursor(Cursor.getDefaultCursor());
+                int result = JOptionPane.showConfirmDialog(this,
+                        added + " de " + urls.size() + " playlists adicionadas.\n\nDeseja sincronizar agora?",
+                        "Sincronizar?",
+                        JOptionPane.YES_NO_OPTION,
+                        JOptionPane.QUESTION_MESSAGE);
+                if (result == JOptionPane.YES_OPTION) {
+                    syncAll();
+                }
+            });
+        }).start();
+    }
+
     private void removePlaylist(String playlistId, String playlistTitle) {
         int result = JOptionPane.showConfirmDialog(this,
                 "Deseja realmente remover a playlist:\n" + playlistTitle + "?",
                 "Confirmar remocao", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
 
         if (result == JOptionPane.YES_OPTION) {
-            app.removePlaylist(playlistId);
-            updateUI();
+            worker.execute(() -> app.removePlaylist(playlistId));
         }
     }
 
@@ -589,12 +876,11 @@ public class MainWindow extends JFrame {
                 syncButton.setEnabled(false);
                 setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
             });
-            app.syncPlaylist(playlistId);
+            boolean cancelled = app.syncPlaylist(playlistId).isCancelled();
             SwingUtilities.invokeLater(() -> {
                 syncButton.setEnabled(true);
                 setCursor(Cursor.getDefaultCursor());
-                JOptionPane.showMessageDialog(this,
-                        "Sincronizacao concluida!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                showSyncFinished(cancelled);
             });
         }).start();
     }
@@ -605,16 +891,32 @@ public class MainWindow extends JFrame {
                 syncButton.setEnabled(false);
                 setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
             });
-            app.triggerSyncNow();
+            boolean cancelled = app.triggerSyncNow().isCancelled();
             SwingUtilities.invokeLater(() -> {
                 syncButton.setEnabled(true);
                 setCursor(Cursor.getDefaultCursor());
-                JOptionPane.showMessageDialog(this,
-                        "Sincronizacao concluida!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                showSyncFinished(cancelled);
             });
         }).start();
     }
 
+    private void showSyncFinished(boolean cancelled) {
+        if (cancelled) {
+            JOptionPane.showMessageDialog(this,
+                    "Sincronizacao cancelada.", "Cancelada", JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(this,
+                    "Sincronizacao concluida!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
+    private void cancelSync() {
+        // Os processos são encerrados em segundo plano; o painel some quando a sincronização termina
+        cancelSyncButton.setEnabled(false);
+        syncProgressLabel.setText("Cancelando...");
+        app.cancelSync();
+    }
+
     private void toggleAutoSync() {
         if (app.isAutoSyncRunning()) {
             app.stopAutoSync();
@@ -641,10 +943,4 @@ public class MainWindow extends JFrame {
     public void hideWindow() {
         setVisible(false);
     }
-
-    @Override
-    public void dispose() {
-        if (updateTimer != null) updateTimer.stop();
-        super.dispose();
-    }
 }
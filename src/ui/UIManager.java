@@ -9,6 +9,7 @@ public class UIManager {
 
     private final Application app;
     private MainWindow mainWindow;
+    private final EdtWatchdog edtWatchdog = new EdtWatchdog();
 
     public UIManager(Application app) {
         this.app = app;
@@ -25,6 +26,7 @@ public class UIManager {
             mainWindow.setVisible(true);
             app.restoreAutoSync();
         });
+        edtWatchdog.start();
     }
 
     public MainWindow getMainWindow() {
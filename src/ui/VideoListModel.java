@@ -0,0 +1,149 @@
+package ui;
+
+import domain.Video;
+
+import javax.swing.AbstractListModel;
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * ListModel paginado dos vídeos de uma playlist.
+ *
+ * A JList só pede os itens das linhas visíveis, então só as páginas que cobrem essas
+ * linhas são buscadas no repositório; no máximo {@link #MAX_PAGES} páginas ficam em
+ * memória, descartando as usadas há mais tempo. As páginas são buscadas no executor
+ * recebido, fora da EDT; até chegarem, as linhas aparecem como null. Deve ser usado
+ * apenas na EDT.
+ */
+final class VideoListModel extends AbstractListModel<Video> {
+    static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 5;
+
+    /**
+     * Origem dos vídeos, em ordem estável entre chamadas. Chamada fora da EDT.
+     */
+    interface Source {
+        List<Video> page(int offset, int limit);
+    }
+
+    private final Source source;
+    private final Executor loader;
+    private final Map<Integer, List<Video>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Video>> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+    private int generation;
+    private int size;
+
+    VideoListModel(Source source, Executor loader, int size) {
+        this.source = source;
+        this.loader = loader;
+        this.size = size;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return null enquanto a página do vídeo é carregada, ou se o vídeo saiu da
+     *         playlist depois da última contagem
+     */
+    @Override
+    public Video getElementAt(int index) {
+        int pageIndex = index / PAGE_SIZE;
+        List<Video> page = pages.get(pageIndex);
+        if (page == null) {
+            load(pageIndex);
+            return null;
+        }
+        int offset = index % PAGE_SIZE;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    /**
+     * Substitui o vídeo, se sua página estiver carregada.
+     */
+    void update(Video video) {
+        int index = indexOf(video.getId());
+        if (index >= 0) {
+            pages.get(index / PAGE_SIZE).set(index % PAGE_SIZE, video);
+            fireContentsChanged(this, index, index);
+        }
+    }
+
+    /**
+     * Redesenha a linha do vídeo, se sua página estiver carregada.
+     */
+    void refresh(String videoId) {
+        int index = indexOf(videoId);
+        if (index >= 0) {
+            fireContentsChanged(this, index, index);
+        }
+    }
+
+    /**
+     * Ajusta o total e descarta as páginas, após inclusão ou remoção de vídeos. Páginas
+     * ainda em carregamento são ignoradas ao chegar.
+     */
+    void reload(int newSize) {
+        int oldSize = size;
+        generation++;
+        pages.clear();
+        loading.clear();
+        size = newSize;
+        if (size > oldSize) {
+            fireIntervalAdded(this, oldSize, size - 1);
+        } else if (size < oldSize) {
+            fireIntervalRemoved(this, size, oldSize - 1);
+        }
+        int kept = Math.min(size, oldSize);
+        if (kept > 0) {
+            fireContentsChanged(this, 0, kept - 1);
+        }
+    }
+
+    private void load(int pageIndex) {
+        if (!loading.add(pageIndex)) {
+            return;
+        }
+        int requested = generation;
+        loader.execute(() -> {
+            List<Video> videos = source.page(pageIndex * PAGE_SIZE, PAGE_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                if (requested != generation) {
+                    return;
+                }
+                loading.remove(pageIndex);
+                pages.put(pageIndex, new ArrayList<>(videos));
+                int first = pageIndex * PAGE_SIZE;
+                int last = Math.min(first + PAGE_SIZE, size) - 1;
+                if (first <= last) {
+                    fireContentsChanged(this, first, last);
+                }
+            });
+        });
+    }
+
+    private int indexOf(String videoId) {
+        for (Map.Entry<Integer, List<Video>> entry : pages.entrySet()) {
+            List<Video> page = entry.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                if (page.get(i).getId().equals(videoId)) {
+                    return entry.getKey() * PAGE_SIZE + i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -40,6 +40,28 @@ public class Config {
         properties.setProperty("cookies.enabled", "false");
         properties.setProperty("cookies.browser", "chrome");
         properties.setProperty("auto.sync.enabled", "false");
+        properties.setProperty("download.concurrency", "3");
+        properties.setProperty("download.batch.size", "5");
+        properties.setProperty("fetch.concurrency", "4");
+        properties.setProperty("storage.engine", "json");
+        properties.setProperty("persistence.flush.delay.ms", "1000");
+        properties.setProperty("ytdlp.pool.enabled", "false");
+        properties.setProperty("ytdlp.pool.python", "python3");
+        properties.setProperty("ytdlp.pool.size", "4");
+        properties.setProperty("ytdlp.pool.warmup", "true");
+        properties.setProperty("ytdlp.pool.idle.seconds", "300");
+        properties.setProperty("fetch.incremental.enabled", "true");
+        properties.setProperty("fetch.incremental.window", "50");
+        properties.setProperty("fetch.full.reconcile.hours", "24");
+        properties.setProperty("download.timeout.minutes", "30");
+        properties.setProperty("fetch.timeout.minutes", "10");
+        properties.setProperty("retry.base.minutes", "30");
+        properties.setProperty("retry.max.hours", "24");
+        properties.setProperty("ratelimit.enabled", "true");
+        properties.setProperty("ratelimit.requests.per.minute", "60");
+        properties.setProperty("ratelimit.cooldown.seconds", "60");
+        properties.setProperty("bandwidth.limit.kbps", "0");
+        properties.setProperty("bandwidth.schedule", "");
         saveConfig();
         System.out.println("✓ Configuração padrão criada em: " + configFile);
     }
@@ -127,6 +149,292 @@ public class Config {
         saveConfig();
     }
 
+    public int getDownloadConcurrency() {
+        try {
+            return Math.max(1, Integer.parseInt(properties.getProperty("download.concurrency", "3")));
+        } catch (NumberFormatException e) {
+            return 3;
+        }
+    }
+
+    public void setDownloadConcurrency(int concurrency) {
+        properties.setProperty("download.concurrency", String.valueOf(concurrency));
+        saveConfig();
+    }
+
+    public int getDownloadBatchSize() {
+        try {
+            return Math.max(1, Integer.parseInt(properties.getProperty("download.batch.size", "5")));
+        } catch (NumberFormatException e) {
+            return 5;
+        }
+    }
+
+    public void setDownloadBatchSize(int batchSize) {
+        properties.setProperty("download.batch.size", String.valueOf(batchSize));
+        saveConfig();
+    }
+
+    public int getFetchConcurrency() {
+        try {
+            return Math.max(1, Integer.parseInt(properties.getProperty("fetch.concurrency", "4")));
+        } catch (NumberFormatException e) {
+            return 4;
+        }
+    }
+
+    public void setFetchConcurrency(int concurrency) {
+        properties.setProperty("fetch.concurrency", String.valueOf(concurrency));
+        saveConfig();
+    }
+
+    public String getStorageEngine() {
+        return properties.getProperty("storage.engine", "json");
+    }
+
+    public void setStorageEngine(String engine) {
+        properties.setProperty("storage.engine", engine);
+        saveConfig();
+    }
+
+    public long getPersistenceFlushDelayMs() {
+        try {
+            return Math.max(0, Long.parseLong(properties.getProperty("persistence.flush.delay.ms", "1000")));
+        } catch (NumberFormatException e) {
+            return 1000;
+        }
+    }
+
+    public void setPersistenceFlushDelayMs(long delayMs) {
+        properties.setProperty("persistence.flush.delay.ms", String.valueOf(delayMs));
+        saveConfig();
+    }
+
+    public boolean getYtDlpPoolEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("ytdlp.pool.enabled", "false"));
+    }
+
+    public void setYtDlpPoolEnabled(boolean enabled) {
+        properties.setProperty("ytdlp.pool.enabled", String.valueOf(enabled));
+        saveConfig();
+    }
+
+    public String getYtDlpPoolPython() {
+        return properties.getProperty("ytdlp.pool.python", "python3");
+    }
+
+    public void setYtDlpPoolPython(String python) {
+        properties.setProperty("ytdlp.pool.python", python);
+        saveConfig();
+    }
+
+    public int getYtDlpPoolSize() {
+        try {
+            return Math.max(1, Integer.parseInt(properties.getProperty("ytdlp.pool.size", "4")));
+        } catch (NumberFormatException e) {
+            return 4;
+        }
+    }
+
+    public void setYtDlpPoolSize(int size) {
+        properties.setProperty("ytdlp.pool.size", String.valueOf(size));
+        saveConfig();
+    }
+
+    public boolean getYtDlpPoolWarmup() {
+        return Boolean.parseBoolean(properties.getProperty("ytdlp.pool.warmup", "true"));
+    }
+
+    public void setYtDlpPoolWarmup(boolean warmup) {
+        properties.setProperty("ytdlp.pool.warmup", String.valueOf(warmup));
+        saveConfig();
+    }
+
+    public int getYtDlpPoolIdleSeconds() {
+        try {
+            return Math.max(0, Integer.parseInt(properties.getProperty("ytdlp.pool.idle.seconds", "300")));
+        } catch (NumberFormatException e) {
+            return 300;
+        }
+    }
+
+    public void setYtDlpPoolIdleSeconds(int seconds) {
+        properties.setProperty("ytdlp.pool.idle.seconds", String.valueOf(seconds));
+        saveConfig();
+    }
+
+    public boolean getIncrementalFetchEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("fetch.incremental.enabled", "true"));
+    }
+
+    public void setIncrementalFetchEnabled(boolean enabled) {
+        properties.setProperty("fetch.incremental.enabled", String.valueOf(enabled));
+        saveConfig();
+    }
+
+    public int getIncrementalFetchWindow() {
+        try {
+            return Math.max(1, Integer.parseInt(properties.getProperty("fetch.incremental.window", "50")));
+        } catch (NumberFormatException e) {
+            return 50;
+        }
+    }
+
+    public void setIncrementalFetchWindow(int window) {
+        properties.setProperty("fetch.incremental.window", String.valueOf(window));
+        saveConfig();
+    }
+
+    public int getFullReconcileHours() {
+        try {
+            return Math.max(0, Integer.parseInt(properties.getProperty("fetch.full.reconcile.hours", "24")));
+        } catch (NumberFormatException e) {
+            return 24;
+        }
+    }
+
+    public void setFullReconcileHours(int hours) {
+        properties.setProperty("fetch.full.reconcile.hours", String.valueOf(hours));
+        saveConfig();
+    }
+
+    /**
+     * Prazo de um download individual; um lote recebe esse prazo por vídeo.
+     * @return minutos; 0 desativa o limite
+     */
+    public int getDownloadTimeoutMinutes() {
+        try {
+            return Math.max(0, Integer.parseInt(properties.getProperty("download.timeout.minutes", "30")));
+        } catch (NumberFormatException e) {
+            return 30;
+        }
+    }
+
+    public void setDownloadTimeoutMinutes(int minutes) {
+        properties.setProperty("download.timeout.minutes", String.valueOf(minutes));
+        saveConfig();
+    }
+
+    /**
+     * Prazo de uma busca de vídeos ou de informações de playlist.
+     * @return minutos; 0 desativa o limite
+     */
+    public int getFetchTimeoutMinutes() {
+        try {
+            return Math.max(0, Integer.parseInt(properties.getProperty("fetch.timeout.minutes", "10")));
+        } catch (NumberFormatException e) {
+            return 10;
+        }
+    }
+
+    public void setFetchTimeoutMinutes(int minutes) {
+        properties.setProperty("fetch.timeout.minutes", String.valueOf(minutes));
+        saveConfig();
+    }
+
+    /**
+     * Espera antes da primeira nova tentativa de um download que falhou;
+     * dobra a cada falha seguinte.
+     */
+    public int getRetryBaseMinutes() {
+        try {
+            return Math.max(1, Integer.parseInt(properties.getProperty("retry.base.minutes", "30")));
+        } catch (NumberFormatException e) {
+            return 30;
+        }
+    }
+
+    public void setRetryBaseMinutes(int minutes) {
+        properties.setProperty("retry.base.minutes", String.valueOf(minutes));
+        saveConfig();
+    }
+
+    /**
+     * Espera máxima entre tentativas de um download que continua falhando.
+     */
+    public int getRetryMaxHours() {
+        try {
+            return Math.max(1, Integer.parseInt(properties.getProperty("retry.max.hours", "24")));
+        } catch (NumberFormatException e) {
+            return 24;
+        }
+    }
+
+    public void setRetryMaxHours(int hours) {
+        properties.setProperty("retry.max.hours", String.valueOf(hours));
+        saveConfig();
+    }
+
+    public boolean getRateLimitEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("ratelimit.enabled", "true"));
+    }
+
+    public void setRateLimitEnabled(boolean enabled) {
+        properties.setProperty("ratelimit.enabled", String.valueOf(enabled));
+        saveConfig();
+    }
+
+    /**
+     * Máximo de execuções do yt-dlp (buscas e downloads) iniciadas por minuto.
+     */
+    public int getRateLimitPerMinute() {
+        try {
+            return Math.max(1, Integer.parseInt(properties.getProperty("ratelimit.requests.per.minute", "60")));
+        } catch (NumberFormatException e) {
+            return 60;
+        }
+    }
+
+    public void setRateLimitPerMinute(int requests) {
+        properties.setProperty("ratelimit.requests.per.minute", String.valueOf(requests));
+        saveConfig();
+    }
+
+    /**
+     * Pausa global após o YouTube limitar as requisições; dobra a cada limitação seguida.
+     */
+    public int getRateLimitCooldownSeconds() {
+        try {
+            return Math.max(0, Integer.parseInt(properties.getProperty("ratelimit.cooldown.seconds", "60")));
+        } catch (NumberFormatException e) {
+            return 60;
+        }
+    }
+
+    public void setRateLimitCooldownSeconds(int seconds) {
+        properties.setProperty("ratelimit.cooldown.seconds", String.valueOf(seconds));
+        saveConfig();
+    }
+
+    /**
+     * Limite total de banda dos downloads em KB/s, dividido entre os downloads simultâneos;
+     * vale fora das janelas de {@link #getBandwidthSchedule()}. 0 é sem limite.
+     */
+    public int getBandwidthLimitKbps() {
+        try {
+            return Math.max(0, Integer.parseInt(properties.getProperty("bandwidth.limit.kbps", "0")));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public void setBandwidthLimitKbps(int kbps) {
+        properties.setProperty("bandwidth.limit.kbps", String.valueOf(kbps));
+        saveConfig();
+    }
+
+    /**
+     * Limites por horário, ex: {@code 08:00-18:00=512, 18:00-08:00=0}.
+     */
+    public String getBandwidthSchedule() {
+        return properties.getProperty("bandwidth.schedule", "");
+    }
+
+    public void setBandwidthSchedule(String schedule) {
+        properties.setProperty("bandwidth.schedule", schedule);
+        saveConfig();
+    }
+
     public void displayConfig() {
         System.out.println("\n=== Configurações ===");
         System.out.println("Diretório de downloads: " + getDownloadDirectory());
@@ -136,6 +444,28 @@ public class Config {
         System.out.println("Qualidade de áudio: " + getAudioQuality() + "kbps");
         System.out.println("Cookies habilitados: " + (getCookiesEnabled() ? "Sim" : "Não"));
         System.out.println("Navegador para cookies: " + getCookiesBrowser());
+        System.out.println("Downloads simultâneos: " + getDownloadConcurrency());
+        System.out.println("Vídeos por processo yt-dlp: " + getDownloadBatchSize());
+        System.out.println("Buscas de playlists simultâneas: " + getFetchConcurrency());
+        System.out.println("Armazenamento de vídeos: " + getStorageEngine());
+        System.out.println("Workers residentes do yt-dlp: " + (getYtDlpPoolEnabled()
+                ? getYtDlpPoolSize() + " (" + getYtDlpPoolPython() + ")"
+                : "Não"));
+        System.out.println("Busca incremental: " + (getIncrementalFetchEnabled()
+                ? "Sim (janela de " + getIncrementalFetchWindow() + ", completa a cada " + getFullReconcileHours() + "h)"
+                : "Não"));
+        System.out.println("Prazo por download: " + formatTimeout(getDownloadTimeoutMinutes()));
+        System.out.println("Prazo por busca: " + formatTimeout(getFetchTimeoutMinutes()));
+        System.out.println("Limite de requisições: " + (getRateLimitEnabled()
+                ? getRateLimitPerMinute() + "/min (pausa de " + getRateLimitCooldownSeconds() + "s ao ser limitado)"
+                : "Não"));
+        System.out.println("Limite de banda: " + (getBandwidthLimitKbps() > 0 ? getBandwidthLimitKbps() + " KB/s" : "sem limite")
+                + (getBandwidthSchedule().isBlank() ? "" : " (horários: " + getBandwidthSchedule() + ")"));
+        System.out.println("Nova tentativa após falha: " + getRetryBaseMinutes() + " minutos (máx. " + getRetryMaxHours() + "h)");
         System.out.println();
     }
+
+    private static String formatTimeout(int minutes) {
+        return minutes > 0 ? minutes + " minutos" : "sem limite";
+    }
 }
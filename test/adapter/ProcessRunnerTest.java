@@ -0,0 +1,128 @@
+package adapter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProcessRunner Tests")
+@DisabledOnOs(OS.WINDOWS)
+class ProcessRunnerTest {
+
+    @Test
+    @DisplayName("Deve entregar stdout e stderr linha a linha e o código de saída")
+    void shouldDeliverOutputAndExitCode() throws Exception {
+        // Arrange
+        List<String> stdout = new ArrayList<>();
+        List<String> stderr = new ArrayList<>();
+
+        // Act
+        int exitCode = ProcessRunner.run(List.of("sh", "-c", "echo um; echo dois; echo erro >&2; exit 3"),
+                stdout::add, stderr::add, null);
+
+        // Assert
+        assertEquals(3, exitCode);
+        assertEquals(List.of("um", "dois"), stdout);
+        assertEquals(List.of("erro"), stderr);
+    }
+
+    @Test
+    @DisplayName("Deve encerrar o processo quando o prazo acabar")
+    void shouldKillProcessOnTimeout() {
+        // Arrange
+        long start = System.nanoTime();
+
+        // Act & Assert
+        assertThrows(ProcessTimeoutException.class, () -> ProcessRunner.run(List.of("sleep", "30"),
+                line -> { }, line -> { }, Duration.ofMillis(200)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 5);
+    }
+
+    @Test
+    @DisplayName("Deve encerrar também os processos filhos quando o prazo acabar")
+    void shouldKillChildProcessesOnTimeout() throws Exception {
+        // Arrange
+        List<String> stdout = new ArrayList<>();
+
+        // Act
+        assertThrows(ProcessTimeoutException.class, () -> ProcessRunner.run(
+                List.of("sh", "-c", "sleep 30 & echo $!; wait"), stdout::add, line -> { }, Duration.ofMillis(500)));
+
+        // Assert
+        long childPid = Long.parseLong(stdout.get(0));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ProcessHandle.of(childPid).map(ProcessHandle::isAlive).orElse(false)) {
+            assertTrue(System.currentTimeMillis() < deadline, "processo filho continua vivo");
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o prazo quando a leitura da saída não termina após o processo sair")
+    void shouldTimeOutWhenOutputOutlivesProcess() throws Exception {
+        // Arrange
+        List<String> stdout = new ArrayList<>();
+        long start = System.nanoTime();
+
+        // Act
+        // Leitor preso na primeira linha: a saída não termina mesmo depois de o processo sair
+        assertThrows(ProcessTimeoutException.class, () -> ProcessRunner.run(
+                List.of("sh", "-c", "sleep 30 & echo $!; sleep 1"), line -> {
+                    stdout.add(line);
+                    try {
+                        Thread.sleep(30_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, line -> { }, Duration.ofSeconds(2)));
+
+        // Assert
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 10);
+        long orphanPid = Long.parseLong(stdout.get(0));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (ProcessHandle.of(orphanPid).map(ProcessHandle::isAlive).orElse(false)) {
+            assertTrue(System.currentTimeMillis() < deadline, "processo órfão continua vivo");
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve criar threads de plataforma para ler a saída de cada processo")
+    void shouldNotGrowPlatformThreadsWithConcurrency() throws Exception {
+        // Arrange
+        int processes = 40;
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int before = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        // Act
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < processes; i++) {
+                results.add(callers.submit(() -> ProcessRunner.run(
+                        List.of("sh", "-c", "sleep 0.5; echo ok; echo aviso >&2"), line -> { }, line -> { }, null)));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(0, result.get());
+            }
+        }
+
+        // Assert
+        // A JVM mantém uma thread "process reaper" por processo vivo; as leituras só somam
+        // as threads carregadoras das virtuais, limitadas ao número de processadores
+        int growth = threads.getPeakThreadCount() - before;
+        int limit = processes + Runtime.getRuntime().availableProcessors() + 10;
+        assertTrue(growth <= limit, "threads de plataforma criadas: " + growth);
+    }
+}
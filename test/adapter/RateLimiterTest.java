@@ -0,0 +1,107 @@
+package adapter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimiter Tests")
+class RateLimiterTest {
+
+    @Test
+    @DisplayName("Deve cortar taxa e concorrência pela metade e recuperar aos poucos")
+    void shouldHalveOnThrottleAndRecoverAdditively() throws Exception {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(6000, 4, Duration.ZERO);
+
+        // Act
+        limiter.acquire();
+        limiter.onThrottled();
+        limiter.release(true);
+        RateLimiter.Status throttled = limiter.getStatus();
+
+        for (int i = 0; i < 2; i++) {
+            limiter.acquire();
+            limiter.release(false);
+        }
+        RateLimiter.Status recovered = limiter.getStatus();
+
+        // Assert
+        assertEquals(3000, throttled.allowedRate);
+        assertEquals(2, throttled.concurrencyLimit);
+        assertEquals(3002, recovered.allowedRate);
+        assertEquals(3, recovered.concurrencyLimit);
+        assertEquals(3, recovered.effectiveRate);
+        assertEquals(0, recovered.inFlight);
+    }
+
+    @Test
+    @DisplayName("Deve bloquear além do limite de execuções simultâneas")
+    void shouldBlockBeyondConcurrencyLimit() throws Exception {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(6000, 1, Duration.ZERO);
+        limiter.acquire();
+
+        // Act
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Assert
+        assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+        limiter.release(false);
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Deve pausar novas execuções após limitação do YouTube")
+    void shouldPauseAfterThrottle() throws Exception {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(6000, 2, Duration.ofMillis(300));
+        long start = System.nanoTime();
+
+        // Act
+        limiter.onThrottled();
+        boolean paused = limiter.getStatus().paused;
+        limiter.acquire();
+
+        // Assert
+        assertTrue(paused);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 250);
+    }
+
+    @Test
+    @DisplayName("Deve detectar limitação na saída de erro do yt-dlp e repassar as linhas")
+    void shouldDetectThrottleSignalFromStderr() throws Exception {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(60, 4, Duration.ZERO);
+        YtDlpExecutor delegate = (args, stdout, stderr, timeout) -> {
+            stdout.accept("{\"title\": \"Too Many Requests (ao vivo)\"}");
+            stderr.accept("ERROR: [youtube] abc: HTTP Error 429: Too Many Requests");
+            return 1;
+        };
+        RateLimitedYtDlpExecutor executor = new RateLimitedYtDlpExecutor(delegate, limiter);
+        List<String> stderr = new ArrayList<>();
+
+        // Act
+        int exitCode = executor.run(List.of("abc"), line -> { }, stderr::add);
+
+        // Assert
+        assertEquals(1, exitCode);
+        assertEquals(1, stderr.size());
+        assertEquals(30, limiter.getStatus().allowedRate);
+        assertFalse(RateLimiter.isThrottleSignal("ERROR: [youtube] abc: Private video"));
+        assertTrue(RateLimiter.isThrottleSignal("Sign in to confirm you're not a bot"));
+    }
+}
@@ -0,0 +1,165 @@
+package adapter;
+
+import domain.FailureType;
+import domain.Video;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import util.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("YtDlpAudioDownloader Tests")
+@DisabledOnOs(OS.WINDOWS)
+class YtDlpAudioDownloaderTest {
+
+    // Simula o yt-dlp: IDs começando com "bad" falham, os demais são concluídos
+    private static final String FAKE_YT_DLP = """
+            #!/bin/sh
+            status=0
+            for arg in "$@"; do
+              case "$arg" in
+                https://*)
+                  id="${arg##*v=}"
+                  case "$id" in
+                    bad*) echo "ERROR: [youtube] $id: Video unavailable" >&2; status=1 ;;
+                    *) echo "ytmusicsync:start:$id"; echo "[download]  42.5% of 3.00MiB"
+                       echo "[download] 100% of 3.00MiB"; echo "ytmusicsync:done:$id" ;;
+                  esac
+                  ;;
+              esac
+            done
+            exit $status
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private YtDlpAudioDownloader downloader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path script = tempDir.resolve("yt-dlp");
+        Files.writeString(script, FAKE_YT_DLP);
+        script.toFile().setExecutable(true);
+
+        Config config = mock(Config.class);
+        when(config.getYtDlpPath()).thenReturn(script.toString());
+        when(config.getAudioFormat()).thenReturn("mp3");
+        when(config.getAudioQuality()).thenReturn("320");
+        downloader = new YtDlpAudioDownloader(config);
+    }
+
+    @Test
+    @DisplayName("Deve reportar sucesso e falha de cada vídeo do lote")
+    void shouldReportEachItemOfBatch() {
+        // Arrange
+        List<Video> videos = List.of(video("ok1"), video("bad2"), video("ok3"));
+        List<String> events = new ArrayList<>();
+
+        // Act
+        Map<String, String> results = downloader.downloadBatch(videos, tempDir.toString(), 0,
+                new AudioDownloader.BatchListener() {
+                    @Override
+                    public synchronized void onStart(Video video) {
+                        events.add("start:" + video.getId());
+                    }
+
+                    @Override
+                    public synchronized void onComplete(Video video, String errorMessage) {
+                        events.add((errorMessage == null ? "ok:" : "fail:") + video.getId());
+                    }
+
+                    @Override
+                    public synchronized void onProgress(Video video, double percent) {
+                        events.add(percent + ":" + video.getId());
+                    }
+                });
+
+        // Assert
+        assertEquals(3, results.size());
+        assertNull(results.get("ok1"));
+        assertEquals("Video unavailable", results.get("bad2"));
+        assertNull(results.get("ok3"));
+        assertEquals(10, events.size());
+        assertTrue(events.indexOf("start:ok3") < events.indexOf("42.5:ok3"));
+        assertTrue(events.indexOf("100.0:ok3") < events.indexOf("ok:ok3"));
+        assertTrue(events.indexOf("start:bad2") < events.indexOf("fail:bad2"));
+        assertTrue(events.indexOf("start:ok3") < events.indexOf("ok:ok3"));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como falha os vídeos sem confirmação de conclusão")
+    void shouldFailItemsWithoutCompletionMarker() throws IOException {
+        // Arrange
+        Files.writeString(tempDir.resolve("yt-dlp"), "#!/bin/sh\nexit 2\n");
+        List<Video> videos = List.of(video("ok1"), video("ok2"));
+
+        // Act
+        Map<String, String> results = downloader.downloadBatch(videos, tempDir.toString(), 0,
+                new AudioDownloader.BatchListener() {
+                    @Override
+                    public void onStart(Video video) {
+                    }
+
+                    @Override
+                    public void onComplete(Video video, String errorMessage) {
+                    }
+                });
+
+        // Assert
+        assertEquals("Código de saída: 2", results.get("ok1"));
+        assertEquals("Código de saída: 2", results.get("ok2"));
+    }
+
+    @Test
+    @DisplayName("Deve reportar o percentual baixado de um único vídeo")
+    void shouldReportProgressOfSingleDownload() {
+        // Arrange
+        List<Double> percents = new ArrayList<>();
+
+        // Act
+        String error = downloader.download(video("ok1"), tempDir.toString(), 0, (video, percent) -> percents.add(percent));
+
+        // Assert
+        assertNull(error);
+        assertEquals(List.of(42.5, 100.0), percents);
+        assertNull(YtDlpAudioDownloader.parseProgress("[download] Destination: musica.webm"));
+    }
+
+    @Test
+    @DisplayName("Deve classificar os erros do yt-dlp")
+    void shouldClassifyYtDlpErrors() {
+        // Act & Assert
+        assertEquals(FailureType.PERMANENT, downloader.classifyFailure("Video unavailable"));
+        assertEquals(FailureType.PERMANENT, downloader.classifyFailure(
+                "ERROR: [youtube] abc: Private video. Sign in if you've been granted access to this video"));
+        assertEquals(FailureType.PERMANENT, downloader.classifyFailure(
+                "The uploader has not made this video available in your country"));
+        assertEquals(FailureType.RATE_LIMITED, downloader.classifyFailure("HTTP Error 429: Too Many Requests"));
+        assertEquals(FailureType.RATE_LIMITED, downloader.classifyFailure(
+                "Video unavailable. This content isn't available, try again later."));
+        assertEquals(FailureType.TRANSIENT, downloader.classifyFailure("processo excedeu o prazo de 1800s"));
+        assertEquals(FailureType.TRANSIENT, downloader.classifyFailure("Código de saída: 1"));
+    }
+
+    private static Video video(String id) {
+        return new Video.Builder()
+                .id(id)
+                .title("Video " + id)
+                .url("https://www.youtube.com/watch?v=" + id)
+                .playlistId("playlist")
+                .build();
+    }
+}
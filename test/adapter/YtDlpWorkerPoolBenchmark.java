@@ -0,0 +1,88 @@
+package adapter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import util.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compara o custo por chamada de um processo por invocação com o pool de workers.
+ * Os stubs simulam a inicialização do interpretador com um atraso fixo, então o
+ * benchmark roda sem rede e sem o yt-dlp instalado.
+ *
+ * Executar com: mvn test -Pbenchmark
+ */
+@DisplayName("YtDlpWorkerPool Benchmark")
+@DisabledOnOs(OS.WINDOWS)
+class YtDlpWorkerPoolBenchmark {
+    private static final int CALLS = 30;
+    private static final String STARTUP_DELAY = "0.15";
+
+    private static final String FAKE_YT_DLP = """
+            #!/bin/sh
+            sleep %s
+            echo '{"id": "video1", "title": "Video 1"}'
+            """.formatted(STARTUP_DELAY);
+
+    private static final String FAKE_WORKER = """
+            #!/bin/sh
+            sleep %s
+            while IFS= read -r request; do
+              echo '{"id": "video1", "title": "Video 1"}'
+              echo "ytmusicsync:exit:0"
+            done
+            """.formatted(STARTUP_DELAY);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Pool de workers deve ser mais rápido que um processo por chamada")
+    void compareInvocationCost() throws Exception {
+        // Arrange
+        Config config = mock(Config.class);
+        when(config.getYtDlpPath()).thenReturn(script("yt-dlp", FAKE_YT_DLP).toString());
+        YtDlpExecutor perProcess = new ProcessYtDlpExecutor(config);
+        List<String> args = List.of("--flat-playlist", "--dump-json", "https://www.youtube.com/playlist?list=x");
+
+        // Act
+        long perProcessNanos = measure(perProcess, args);
+        long pooledNanos;
+        try (YtDlpWorkerPool pool = new YtDlpWorkerPool(
+                List.of(script("worker.sh", FAKE_WORKER).toString()), 1, false, 0, perProcess)) {
+            pooledNanos = measure(pool, args);
+        }
+
+        // Assert
+        System.out.printf("Processo por chamada: %.1f ms/chamada%n", perProcessNanos / 1e6 / CALLS);
+        System.out.printf("Pool de workers:      %.1f ms/chamada%n", pooledNanos / 1e6 / CALLS);
+        assertTrue(pooledNanos < perProcessNanos);
+    }
+
+    private static long measure(YtDlpExecutor executor, List<String> args) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            int[] lines = new int[1];
+            assertEquals(0, executor.run(args, line -> lines[0]++, line -> { }));
+            assertEquals(1, lines[0]);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Path script(String name, String content) throws IOException {
+        Path script = tempDir.resolve(name);
+        Files.writeString(script, content);
+        script.toFile().setExecutable(true);
+        return script;
+    }
+}
@@ -0,0 +1,151 @@
+package adapter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("YtDlpWorkerPool Tests")
+@DisabledOnOs(OS.WINDOWS)
+class YtDlpWorkerPoolTest {
+
+    // Worker falso: responde com o próprio PID; pedidos contendo "fail" terminam com código 1
+    // e pedidos contendo "hang" ficam travados
+    static final String FAKE_WORKER = """
+            #!/bin/sh
+            while IFS= read -r request; do
+              echo "pid:$$"
+              case "$request" in
+                *fail*) echo "ytmusicsync:err:ERROR: falhou"; echo "ytmusicsync:exit:1" ;;
+                *hang*) sleep 30 ;;
+                *) echo "ytmusicsync:exit:0" ;;
+              esac
+            done
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private YtDlpWorkerPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o mesmo worker entre pedidos")
+    void shouldReuseWorkerAcrossRequests() throws Exception {
+        // Arrange
+        pool = new YtDlpWorkerPool(workerCommand(), 2, false, 0, failingFallback());
+
+        // Act
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        int firstExit = pool.run(List.of("--version"), first::add, line -> { });
+        int secondExit = pool.run(List.of("--version"), second::add, line -> { });
+
+        // Assert
+        assertEquals(0, firstExit);
+        assertEquals(0, secondExit);
+        assertEquals(1, first.size());
+        assertEquals(first, second);
+        assertEquals(1, pool.idleCount());
+    }
+
+    @Test
+    @DisplayName("Deve separar saída de erro e repassar o código de saída")
+    void shouldRouteStderrAndExitCode() throws Exception {
+        // Arrange
+        pool = new YtDlpWorkerPool(workerCommand(), 1, false, 0, failingFallback());
+        List<String> stderr = new ArrayList<>();
+
+        // Act
+        int exitCode = pool.run(List.of("fail"), line -> { }, stderr::add);
+
+        // Assert
+        assertEquals(1, exitCode);
+        assertEquals(List.of("ERROR: falhou"), stderr);
+    }
+
+    @Test
+    @DisplayName("Deve encerrar o worker travado quando o prazo acabar e seguir com um novo")
+    void shouldKillHungWorkerOnTimeout() throws Exception {
+        // Arrange
+        pool = new YtDlpWorkerPool(workerCommand(), 1, false, 0, failingFallback());
+        List<String> hungOutput = new ArrayList<>();
+        List<String> nextOutput = new ArrayList<>();
+
+        // Act
+        assertThrows(ProcessTimeoutException.class,
+                () -> pool.run(List.of("hang"), hungOutput::add, line -> { }, Duration.ofMillis(300)));
+        int exitCode = pool.run(List.of("--version"), nextOutput::add, line -> { });
+
+        // Assert
+        assertEquals(0, exitCode);
+        assertNotEquals(hungOutput, nextOutput);
+    }
+
+    @Test
+    @DisplayName("Deve usar o fallback quando o worker não inicia")
+    void shouldFallBackWhenWorkerCannotStart() throws Exception {
+        // Arrange
+        List<List<String>> fallbackCalls = new ArrayList<>();
+        pool = new YtDlpWorkerPool(List.of(tempDir.resolve("inexistente").toString()), 1, false, 0,
+                (args, stdout, stderr, timeout) -> {
+                    fallbackCalls.add(args);
+                    return 0;
+                });
+
+        // Act
+        pool.run(List.of("a"), line -> { }, line -> { });
+        pool.run(List.of("b"), line -> { }, line -> { });
+
+        // Assert
+        assertEquals(List.of(List.of("a"), List.of("b")), fallbackCalls);
+    }
+
+    @Test
+    @DisplayName("Deve aquecer os workers e encerrá-los após o tempo ocioso")
+    void shouldWarmUpAndEvictIdleWorkers() throws Exception {
+        // Arrange
+        pool = new YtDlpWorkerPool(workerCommand(), 2, true, 300, failingFallback());
+
+        // Act & Assert
+        waitFor(() -> pool.idleCount() == 2);
+        waitFor(() -> pool.idleCount() == 0);
+    }
+
+    private List<String> workerCommand() throws IOException {
+        Path script = tempDir.resolve("worker.sh");
+        Files.writeString(script, FAKE_WORKER);
+        script.toFile().setExecutable(true);
+        return List.of(script.toString());
+    }
+
+    private static YtDlpExecutor failingFallback() {
+        return (args, stdout, stderr, timeout) -> fail("fallback não deveria ser usado");
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condição não atingida a tempo");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SyncProgress Tests")
+class SyncProgressTest {
+
+    private SyncProgress progress;
+
+    @BeforeEach
+    void setUp() {
+        progress = new SyncProgress();
+        progress.begin();
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar os downloads em andamento por worker")
+    void shouldTrackInFlightDownloadsPerWorker() {
+        // Act
+        progress.downloadStarted("DownloadWorker-1", "video1", "Video 1", 1, 2);
+        progress.downloadStarted("DownloadWorker-2", "video2", "Video 2", 2, 2);
+        SyncProgress.Snapshot before = progress.snapshot();
+        progress.downloadFinished("video1");
+
+        // Assert
+        SyncProgress.Snapshot after = progress.snapshot();
+        assertEquals(List.of("video1", "video2"), new ArrayList<>(before.inFlight.keySet()));
+        assertEquals(List.of("video2"), new ArrayList<>(after.inFlight.keySet()));
+        assertEquals("DownloadWorker-2", after.inFlight.get("video2").worker);
+        assertEquals(2, after.current);
+        assertEquals(2, after.total);
+        assertThrows(UnsupportedOperationException.class, () -> after.inFlight.remove("video2"));
+    }
+
+    @Test
+    @DisplayName("Deve reportar só mudanças visíveis de percentual")
+    void shouldReportOnlyVisibleProgressChanges() {
+        // Arrange
+        progress.downloadStarted("DownloadWorker-1", "video1", "Video 1", 1, 1);
+
+        // Act & Assert
+        assertTrue(progress.progress("video1", 42.1));
+        assertFalse(progress.progress("video1", 42.9));
+        assertTrue(progress.progress("video1", 43.0));
+        assertFalse(progress.progress("unknown", 10.0));
+        assertEquals(43.0, progress.snapshot().inFlight.get("video1").percent);
+
+        // Act
+        progress.end();
+
+        // Assert
+        assertFalse(progress.snapshot().syncing);
+        assertTrue(progress.snapshot().inFlight.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve manter o estado consistente com workers concorrentes")
+    void shouldStayConsistentUnderConcurrentWorkers() throws InterruptedException {
+        // Arrange
+        List<Thread> workers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            String worker = "DownloadWorker-" + w;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    String videoId = worker + ":" + i;
+                    progress.downloadStarted(worker, videoId, videoId, i, 500);
+                    progress.progress(videoId, 50);
+                    progress.downloadFinished(videoId);
+                }
+            }));
+        }
+
+        // Act
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Assert
+        assertTrue(progress.snapshot().inFlight.isEmpty());
+        assertTrue(progress.snapshot().syncing);
+    }
+}
@@ -91,6 +91,47 @@ class VideoTest {
         assertNotSame(originalVideo, downloadedVideo);
     }
 
+    @Test
+    @DisplayName("Deve contar falhas e respeitar a espera até a próxima tentativa")
+    void shouldCountFailuresAndRespectRetryDelay() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Video video = new Video.Builder()
+                .id("video123")
+                .title("Test Video")
+                .url("https://youtube.com/watch?v=test")
+                .playlistId("playlist123")
+                .build();
+
+        Video failed = video
+                .markAsFailed(FailureType.TRANSIENT, "timeout", now.plusMinutes(10))
+                .markAsFailed(FailureType.TRANSIENT, "timeout", now.plusMinutes(30));
+
+        assertTrue(video.isDownloadDue(now));
+        assertEquals(2, failed.getFailureCount());
+        assertFalse(failed.isDownloadDue(now));
+        assertTrue(failed.isDownloadDue(now.plusMinutes(30)));
+        assertTrue(failed.clearFailure().isDownloadDue(now));
+        assertEquals(0, failed.markAsDownloaded().getFailureCount());
+    }
+
+    @Test
+    @DisplayName("Não deve liberar vídeo com falha permanente até o reset")
+    void shouldNotRetryPermanentFailureUntilReset() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        Video failed = new Video.Builder()
+                .id("video123")
+                .title("Test Video")
+                .url("https://youtube.com/watch?v=test")
+                .playlistId("playlist123")
+                .build()
+                .markAsFailed(FailureType.PERMANENT, "Private video", now);
+
+        assertTrue(failed.hasPermanentFailure());
+        assertNull(failed.getNextRetryAt());
+        assertFalse(failed.isDownloadDue(now.plusYears(1)));
+        assertTrue(failed.clearFailure().isDownloadDue(now));
+    }
+
     @Test
     @DisplayName("Deve comparar vídeos por ID (equals e hashCode)")
     void shouldCompareVideosByIdEqualsAndHashCode() {
@@ -0,0 +1,195 @@
+package repository;
+
+import domain.Video;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JournalVideoRepository Tests")
+class JournalVideoRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Video video(String id, String playlistId) {
+        return new Video.Builder()
+                .id(id)
+                .title("Video " + id)
+                .url("https://youtube.com/watch?v=" + id)
+                .playlistId(playlistId)
+                .publishedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar o journal ao reiniciar")
+    void shouldReplayJournalOnRestart() {
+        // Arrange
+        JournalVideoRepository repository = new JournalVideoRepository(tempDir);
+        repository.save(video("video1", "playlist123"));
+        repository.save(video("video2", "playlist123"));
+        repository.save(video("video1", "playlist123").markAsDownloaded());
+        repository.delete("video2");
+        repository.close();
+
+        // Act
+        JournalVideoRepository reloaded = new JournalVideoRepository(tempDir);
+
+        // Assert
+        assertTrue(reloaded.findById("video1").isPresent());
+        assertTrue(reloaded.findById("video1").get().isDownloaded());
+        assertNotNull(reloaded.findById("video1").get().getDownloadedAt());
+        assertFalse(reloaded.exists("video2"));
+        assertEquals(1, reloaded.countByPlaylistId("playlist123"));
+        reloaded.close();
+    }
+
+    @Test
+    @DisplayName("Deve acrescentar uma linha por operação sem reescrever o arquivo")
+    void shouldAppendOneLinePerOperation() throws IOException {
+        // Arrange
+        JournalVideoRepository repository = new JournalVideoRepository(tempDir);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            repository.save(video("video" + i, "playlist123"));
+        }
+        repository.close();
+
+        // Assert
+        List<String> lines = Files.readAllLines(tempDir.resolve(JournalVideoRepository.JOURNAL_FILE));
+        assertEquals(10, lines.size());
+        assertFalse(Files.exists(tempDir.resolve(JournalVideoRepository.SNAPSHOT_FILE)));
+    }
+
+    @Test
+    @DisplayName("Deve compactar o journal em snapshot ao atingir o limite")
+    void shouldCompactJournalIntoSnapshot() throws IOException {
+        // Arrange
+        JournalVideoRepository repository = new JournalVideoRepository(tempDir, 5);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            repository.save(video("video" + i, "playlist123"));
+        }
+        repository.save(video("video5", "playlist123"));
+        repository.close();
+
+        // Assert
+        assertEquals(5, Files.readAllLines(tempDir.resolve(JournalVideoRepository.SNAPSHOT_FILE)).size());
+        assertEquals(1, Files.readAllLines(tempDir.resolve(JournalVideoRepository.JOURNAL_FILE)).size());
+
+        JournalVideoRepository reloaded = new JournalVideoRepository(tempDir, 5);
+        assertEquals(6, reloaded.countByPlaylistId("playlist123"));
+        reloaded.close();
+    }
+
+    @Test
+    @DisplayName("Deve ignorar entrada incompleta no final do journal")
+    void shouldIgnoreTruncatedJournalEntry() throws IOException {
+        // Arrange
+        JournalVideoRepository repository = new JournalVideoRepository(tempDir);
+        repository.save(video("video1", "playlist123"));
+        repository.close();
+        Files.writeString(tempDir.resolve(JournalVideoRepository.JOURNAL_FILE),
+                "{\"op\":\"save\",\"video\":{\"id\":\"vid", StandardOpenOption.APPEND);
+
+        // Act
+        JournalVideoRepository reloaded = new JournalVideoRepository(tempDir);
+        reloaded.save(video("video2", "playlist123"));
+        reloaded.close();
+        JournalVideoRepository reopened = new JournalVideoRepository(tempDir);
+
+        // Assert
+        assertTrue(reopened.exists("video1"));
+        // A entrada gravada depois da recuperação não pode ser colada na linha incompleta
+        assertTrue(reopened.exists("video2"));
+        assertEquals(2, reopened.countByPlaylistId("playlist123"));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Deve usar o snapshot anterior e reaplicar o journal quando o snapshot estiver corrompido")
+    void shouldFallBackToBackupSnapshotAndReplayJournal() throws IOException {
+        // Arrange
+        JournalVideoRepository repository = new JournalVideoRepository(tempDir);
+        repository.save(video("video1", "playlist123"));
+        repository.compact();
+        repository.save(video("video2", "playlist123"));
+        repository.compact();
+        repository.save(video("video3", "playlist123"));
+        repository.close();
+        Files.writeString(tempDir.resolve(JournalVideoRepository.SNAPSHOT_FILE), "{\"id\":", StandardOpenOption.APPEND);
+
+        // Act
+        JournalVideoRepository reloaded = new JournalVideoRepository(tempDir);
+
+        // Assert
+        assertTrue(reloaded.exists("video1"));
+        assertTrue(reloaded.exists("video3"));
+        assertTrue(Files.exists(tempDir.resolve(JournalVideoRepository.SNAPSHOT_FILE + ".corrupt")));
+        reloaded.close();
+    }
+
+    @Test
+    @DisplayName("Deve importar o videos.json existente na primeira execução")
+    void shouldMigrateLegacyVideosJson() {
+        // Arrange
+        JsonVideoRepository legacy = new JsonVideoRepository(tempDir);
+        legacy.save(video("video1", "playlist123").markAsDownloaded());
+        legacy.save(video("video2", "playlist456"));
+
+        // Act
+        JournalVideoRepository repository = new JournalVideoRepository(tempDir);
+
+        // Assert
+        Optional<Video> migrated = repository.findById("video1");
+        assertTrue(migrated.isPresent());
+        assertTrue(migrated.get().isDownloaded());
+        assertEquals(1, repository.findNotDownloadedByPlaylistId("playlist456").size());
+        assertTrue(Files.exists(tempDir.resolve(JournalVideoRepository.SNAPSHOT_FILE)));
+        assertTrue(Files.exists(tempDir.resolve(JournalVideoRepository.LEGACY_FILE)));
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Deve importar a versão anterior quando o videos.json estiver corrompido")
+    void shouldMigrateLegacyBackupWhenVideosJsonIsCorrupt() throws IOException {
+        // Arrange
+        JsonVideoRepository legacy = new JsonVideoRepository(tempDir);
+        legacy.save(video("video1", "playlist123"));
+        legacy.save(video("video2", "playlist123"));
+        Files.writeString(tempDir.resolve(JournalVideoRepository.LEGACY_FILE), "{\"videos\": [{\"id\": \"video1\"");
+
+        // Act
+        JournalVideoRepository repository = new JournalVideoRepository(tempDir);
+
+        // Assert
+        assertTrue(repository.exists("video1"));
+        assertTrue(Files.exists(tempDir.resolve(JournalVideoRepository.SNAPSHOT_FILE)));
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("Não deve criar journal quando a importação do videos.json falhar")
+    void shouldNotStartJournalWhenLegacyImportFails() throws IOException {
+        // Arrange
+        Files.writeString(tempDir.resolve(JournalVideoRepository.LEGACY_FILE), "{\"videos\": [{\"id\": \"video1\"");
+
+        // Act
+        JournalVideoRepository repository = new JournalVideoRepository(tempDir);
+        repository.save(video("video2", "playlist123"));
+        repository.close();
+
+        // Assert
+        assertFalse(repository.exists("video1"));
+        assertFalse(Files.exists(tempDir.resolve(JournalVideoRepository.JOURNAL_FILE)));
+        assertFalse(Files.exists(tempDir.resolve(JournalVideoRepository.SNAPSHOT_FILE)));
+    }
+}
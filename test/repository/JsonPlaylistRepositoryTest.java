@@ -140,4 +140,32 @@ class JsonPlaylistRepositoryTest {
         assertEquals(20, reloaded.get().getVideoCount());
         assertNotNull(reloaded.get().getLastSyncedAt());
     }
+
+    @Test
+    @DisplayName("Deve persistir tipo, cursor de sincronização e prioridade")
+    void shouldPersistTypeAndSyncCursor() {
+        // Arrange
+        LocalDateTime fullSync = LocalDateTime.of(2024, 5, 1, 10, 30);
+        Playlist channel = new Playlist.Builder()
+                .id("@canal")
+                .url("https://youtube.com/@canal")
+                .title("Canal")
+                .type(Playlist.TYPE_CHANNEL)
+                .lastFullSyncAt(fullSync)
+                .syncCursor("video42")
+                .priority(3)
+                .build();
+
+        // Act
+        repository.save(channel);
+        JsonPlaylistRepository newRepository = new JsonPlaylistRepository(tempDir);
+        Playlist reloaded = newRepository.findById("@canal").orElseThrow();
+
+        // Assert
+        assertTrue(reloaded.isChannel());
+        assertEquals(fullSync, reloaded.getLastFullSyncAt());
+        assertEquals("video42", reloaded.getSyncCursor());
+        assertEquals(3, reloaded.getPriority());
+        assertEquals(3, reloaded.updateSyncState(10, "video50", false).getPriority());
+    }
 }
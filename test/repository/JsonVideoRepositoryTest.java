@@ -1,11 +1,13 @@
 package repository;
 
+import domain.FailureType;
 import domain.Video;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
 import java.io.IOException;
 import java.nio.file.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -101,6 +103,31 @@ class JsonVideoRepositoryTest {
         assertTrue(notDownloadedPlaylist123.stream().noneMatch(Video::isDownloaded));
     }
 
+    @Test
+    @DisplayName("Deve persistir o estado de falha do vídeo")
+    void shouldPersistFailureState() {
+        // Arrange
+        LocalDateTime retryAt = LocalDateTime.of(2024, 5, 1, 12, 30);
+        Video failed = new Video.Builder()
+                .id("video123")
+                .title("Test Video")
+                .url("https://youtube.com/watch?v=test")
+                .playlistId("playlist123")
+                .build()
+                .markAsFailed(FailureType.RATE_LIMITED, "HTTP Error 429", retryAt);
+
+        // Act
+        repository.save(failed);
+        repository.close();
+        Video found = new JsonVideoRepository(tempDir).findById("video123").orElseThrow();
+
+        // Assert
+        assertEquals(FailureType.RATE_LIMITED, found.getFailureType());
+        assertEquals(1, found.getFailureCount());
+        assertEquals("HTTP Error 429", found.getLastError());
+        assertEquals(retryAt, found.getNextRetryAt());
+    }
+
     @Test
     @DisplayName("Deve atualizar e deletar vídeo")
     void shouldUpdateAndDeleteVideo() {
@@ -131,6 +158,250 @@ class JsonVideoRepositoryTest {
         assertTrue(repository.findById("video123").isEmpty());
     }
 
+    @Test
+    @DisplayName("Deve manter índices consistentes ao baixar, mover e deletar vídeos")
+    void shouldKeepIndexesConsistentAcrossMutations() {
+        // Arrange
+        Video video = new Video.Builder()
+                .id("video123")
+                .title("Test Video")
+                .url("https://youtube.com/watch?v=test")
+                .playlistId("playlist123")
+                .build();
+        repository.save(video);
+        assertEquals(1, repository.findNotDownloadedByPlaylistId("playlist123").size());
+
+        // Act - Baixado
+        repository.save(video.markAsDownloaded());
+
+        // Assert
+        assertEquals(1, repository.countByPlaylistId("playlist123"));
+        assertTrue(repository.findNotDownloadedByPlaylistId("playlist123").isEmpty());
+
+        // Act - Mesmo ID em outra playlist
+        Video moved = new Video.Builder()
+                .id("video123")
+                .title("Test Video")
+                .url("https://youtube.com/watch?v=test")
+                .playlistId("playlist456")
+                .build();
+        repository.save(moved);
+
+        // Assert
+        assertEquals(0, repository.countByPlaylistId("playlist123"));
+        assertTrue(repository.findByPlaylistId("playlist123").isEmpty());
+        assertEquals(1, repository.findNotDownloadedByPlaylistId("playlist456").size());
+
+        // Act - Deletado
+        repository.delete("video123");
+
+        // Assert
+        assertEquals(0, repository.countByPlaylistId("playlist456"));
+        assertTrue(repository.findNotDownloadedByPlaylistId("playlist456").isEmpty());
+        assertEquals(0, repository.globalStats().total);
+    }
+
+    @Test
+    @DisplayName("Deve manter os contadores por playlist e globais a cada alteração")
+    void shouldMaintainStatsOnEveryMutation() {
+        // Arrange
+        Video first = new Video.Builder()
+                .id("video1")
+                .title("Video 1")
+                .url("https://youtube.com/watch?v=1")
+                .playlistId("playlist123")
+                .build();
+        Video second = new Video.Builder()
+                .id("video2")
+                .title("Video 2")
+                .url("https://youtube.com/watch?v=2")
+                .playlistId("playlist123")
+                .build();
+        repository.saveAll(List.of(first, second));
+
+        // Act
+        repository.save(first.markAsDownloaded());
+        repository.save(second.markAsFailed(FailureType.PERMANENT, "Private video", null));
+
+        // Assert
+        VideoStats stats = repository.statsByPlaylistId("playlist123");
+        assertEquals(2, stats.total);
+        assertEquals(1, stats.downloaded);
+        assertEquals(1, stats.pending());
+        assertEquals(1, stats.failed);
+        assertEquals(1, stats.unavailable);
+
+        // Act
+        repository.save(second.markAsDownloaded());
+
+        // Assert
+        VideoStats global = repository.globalStats();
+        assertEquals(2, global.total);
+        assertEquals(2, global.downloaded);
+        assertEquals(0, global.failed);
+        assertEquals(0, global.unavailable);
+    }
+
+    @Test
+    @DisplayName("Deve paginar vídeos da playlist em ordem estável")
+    void shouldPageVideosInStableOrder() {
+        // Arrange
+        List<Video> videos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            videos.add(new Video.Builder()
+                    .id("video" + i)
+                    .title("Video " + i)
+                    .url("https://youtube.com/watch?v=" + i)
+                    .playlistId("playlist123")
+                    .build());
+        }
+        repository.saveAll(videos);
+
+        // Act
+        repository.save(videos.get(1).markAsDownloaded());
+        List<Video> page = repository.findByPlaylistId("playlist123", 1, 2);
+
+        // Assert
+        assertEquals(List.of("video1", "video2"), page.stream().map(Video::getId).toList());
+        assertTrue(page.get(0).isDownloaded());
+        assertTrue(repository.findByPlaylistId("playlist123", 5, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve salvar e remover vídeos em lote")
+    void shouldSaveAndDeleteInBatch() {
+        // Arrange
+        List<Video> videos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            videos.add(new Video.Builder()
+                    .id("video" + i)
+                    .title("Video " + i)
+                    .url("https://youtube.com/watch?v=" + i)
+                    .playlistId("playlist123")
+                    .build());
+        }
+
+        // Act
+        repository.saveAll(videos);
+
+        // Assert
+        assertEquals(3, new JsonVideoRepository(tempDir).countByPlaylistId("playlist123"));
+
+        // Act
+        repository.deleteAll(List.of("video0", "video1"));
+
+        // Assert
+        JsonVideoRepository reloaded = new JsonVideoRepository(tempDir);
+        assertEquals(1, reloaded.countByPlaylistId("playlist123"));
+        assertTrue(reloaded.exists("video2"));
+    }
+
+    @Test
+    @DisplayName("Deve adiar gravação no modo write-behind e gravar ao fechar")
+    void shouldDeferWritesUntilClose() {
+        // Arrange
+        JsonVideoRepository writeBehind = new JsonVideoRepository(tempDir, 60_000);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            writeBehind.save(new Video.Builder()
+                    .id("video" + i)
+                    .title("Video " + i)
+                    .url("https://youtube.com/watch?v=" + i)
+                    .playlistId("playlist123")
+                    .build());
+        }
+
+        // Assert
+        assertFalse(Files.exists(tempDir.resolve("videos.json")));
+        writeBehind.close();
+        assertEquals(10, new JsonVideoRepository(tempDir).countByPlaylistId("playlist123"));
+    }
+
+    @Test
+    @DisplayName("Deve usar a versão anterior quando o arquivo estiver truncado")
+    void shouldFallBackToPreviousGenerationWhenFileIsTruncated() throws IOException {
+        // Arrange
+        repository.save(new Video.Builder()
+                .id("video1")
+                .title("Video 1")
+                .url("https://youtube.com/watch?v=1")
+                .playlistId("playlist123")
+                .build());
+        repository.save(new Video.Builder()
+                .id("video2")
+                .title("Video 2")
+                .url("https://youtube.com/watch?v=2")
+                .playlistId("playlist123")
+                .build());
+
+        Path dataFile = tempDir.resolve("videos.json");
+        String content = Files.readString(dataFile);
+        Files.writeString(dataFile, content.substring(0, content.length() / 2));
+
+        // Act
+        JsonVideoRepository reloaded = new JsonVideoRepository(tempDir);
+
+        // Assert
+        assertTrue(reloaded.exists("video1"));
+        assertFalse(reloaded.exists("video2"));
+        assertTrue(Files.exists(tempDir.resolve("videos.json.corrupt")));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo com checksum inválido")
+    void shouldRejectFileWithInvalidChecksum() throws IOException {
+        // Arrange
+        repository.save(new Video.Builder()
+                .id("video1")
+                .title("Video 1")
+                .url("https://youtube.com/watch?v=1")
+                .playlistId("playlist123")
+                .build());
+        repository.save(new Video.Builder()
+                .id("video1")
+                .title("Original")
+                .url("https://youtube.com/watch?v=1")
+                .playlistId("playlist123")
+                .build());
+
+        Path dataFile = tempDir.resolve("videos.json");
+        Files.writeString(dataFile, Files.readString(dataFile).replace("Original", "Alterado"));
+
+        // Act
+        JsonVideoRepository reloaded = new JsonVideoRepository(tempDir);
+
+        // Assert
+        assertEquals("Video 1", reloaded.findById("video1").orElseThrow().getTitle());
+    }
+
+    @Test
+    @DisplayName("Deve carregar arquivo legado sem checksum")
+    void shouldLoadLegacyFileWithoutChecksum() throws IOException {
+        // Arrange
+        Path otherDir = tempDir.resolve("legacy");
+        Files.createDirectories(otherDir);
+        Files.writeString(otherDir.resolve("videos.json"), """
+                {
+                  "videos": [
+                    {"id": "video1", "title": "Video 1", "url": "https://youtube.com/watch?v=1",
+                     "playlistId": "playlist123", "downloaded": true, "downloadedAt": "2024-01-01T10:00:00"},
+                    {"id": "video2", "title": "Video 2", "url": "https://youtube.com/watch?v=2",
+                     "playlistId": "playlist123", "downloaded": false}
+                  ],
+                  "extra": {"ignored": [1, 2, 3]}
+                }
+                """);
+
+        // Act
+        JsonVideoRepository legacy = new JsonVideoRepository(otherDir);
+
+        // Assert
+        assertEquals(2, legacy.countByPlaylistId("playlist123"));
+        assertTrue(legacy.findById("video1").orElseThrow().isDownloaded());
+        assertEquals(1, legacy.findNotDownloadedByPlaylistId("playlist123").size());
+    }
+
     @Test
     @DisplayName("Deve persistir e recarregar dados do arquivo")
     void shouldPersistAndReloadFromFile() {
@@ -0,0 +1,228 @@
+package repository;
+
+import domain.FailureType;
+import domain.Playlist;
+import domain.Video;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqliteVideoRepository Tests")
+class SqliteVideoRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SqliteDatabase database;
+    private SqliteVideoRepository repository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        database = new SqliteDatabase(tempDir);
+        repository = new SqliteVideoRepository(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.close();
+    }
+
+    private Video video(String id, String playlistId) {
+        return new Video.Builder()
+                .id(id)
+                .title("Video " + id)
+                .url("https://youtube.com/watch?v=" + id)
+                .playlistId(playlistId)
+                .publishedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve salvar, atualizar, consultar e remover vídeos")
+    void shouldSaveUpdateQueryAndDelete() {
+        // Arrange
+        repository.save(video("video1", "playlist123"));
+        repository.save(video("video2", "playlist123"));
+        repository.save(video("video3", "playlist456"));
+
+        // Act
+        repository.save(video("video1", "playlist123").markAsDownloaded());
+
+        // Assert
+        Optional<Video> found = repository.findById("video1");
+        assertTrue(found.isPresent());
+        assertTrue(found.get().isDownloaded());
+        assertNotNull(found.get().getDownloadedAt());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), found.get().getPublishedAt());
+        assertEquals(2, repository.countByPlaylistId("playlist123"));
+        assertEquals(2, repository.findByPlaylistId("playlist123").size());
+        assertEquals(List.of("video2"), repository.findNotDownloadedByPlaylistId("playlist123").stream()
+                .map(Video::getId).toList());
+
+        // Act
+        repository.delete("video2");
+
+        // Assert
+        assertFalse(repository.exists("video2"));
+        assertTrue(repository.exists("video3"));
+    }
+
+    @Test
+    @DisplayName("Deve persistir o estado de falha e limpá-lo ao baixar")
+    void shouldPersistAndClearFailureState() {
+        // Arrange
+        Video failed = video("video1", "playlist123")
+                .markAsFailed(FailureType.PERMANENT, "Private video", LocalDateTime.now());
+
+        // Act
+        repository.save(failed);
+        Video found = repository.findById("video1").orElseThrow();
+
+        // Assert
+        assertEquals(FailureType.PERMANENT, found.getFailureType());
+        assertEquals(1, found.getFailureCount());
+        assertEquals("Private video", found.getLastError());
+        assertNull(found.getNextRetryAt());
+
+        // Act
+        repository.save(found.markAsDownloaded());
+
+        // Assert
+        Video downloaded = repository.findById("video1").orElseThrow();
+        assertNull(downloaded.getFailureType());
+        assertEquals(0, downloaded.getFailureCount());
+        assertNull(downloaded.getLastError());
+    }
+
+    @Test
+    @DisplayName("Deve listar os vídeos pendentes de todas as playlists")
+    void shouldFindNotDownloadedAcrossPlaylists() {
+        // Arrange
+        repository.saveAll(List.of(
+                video("video1", "playlist1"),
+                video("video2", "playlist2").markAsDownloaded(),
+                video("video3", "playlist2")));
+
+        // Act
+        List<Video> pending = repository.findNotDownloaded();
+
+        // Assert
+        assertEquals(Set.of("video1", "video3"), pending.stream().map(Video::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Deve manter os contadores por playlist e globais a cada alteração")
+    void shouldMaintainStatsOnEveryMutation() {
+        // Arrange
+        repository.saveAll(List.of(
+                video("video1", "playlist1"),
+                video("video2", "playlist1"),
+                video("video3", "playlist2")));
+
+        // Act
+        repository.save(video("video1", "playlist1").markAsDownloaded());
+        repository.save(video("video2", "playlist1")
+                .markAsFailed(FailureType.PERMANENT, "Private video", LocalDateTime.now()));
+        repository.save(video("video3", "playlist1"));
+
+        // Assert
+        VideoStats stats = repository.statsByPlaylistId("playlist1");
+        assertEquals(3, stats.total);
+        assertEquals(1, stats.downloaded);
+        assertEquals(2, stats.pending());
+        assertEquals(1, stats.failed);
+        assertEquals(1, stats.unavailable);
+        assertEquals(0, repository.statsByPlaylistId("playlist2").total);
+
+        // Act
+        repository.delete("video2");
+
+        // Assert
+        VideoStats global = repository.globalStats();
+        assertEquals(2, global.total);
+        assertEquals(1, global.downloaded);
+        assertEquals(0, global.failed);
+    }
+
+    @Test
+    @DisplayName("Deve preencher os contadores de bancos criados sem eles")
+    void shouldBackfillStatsForExistingDatabase() throws SQLException {
+        // Arrange
+        repository.saveAll(List.of(video("video1", "playlist1").markAsDownloaded(), video("video2", "playlist1")));
+        database.execute(connection -> {
+            try (var statement = connection.createStatement()) {
+                statement.execute("DROP TRIGGER video_stats_insert");
+                statement.execute("DROP TRIGGER video_stats_update");
+                statement.execute("DROP TRIGGER video_stats_delete");
+                statement.execute("DROP TABLE video_stats");
+            }
+            return null;
+        });
+        database.close();
+
+        // Act
+        database = new SqliteDatabase(tempDir);
+        VideoStats stats = new SqliteVideoRepository(database).statsByPlaylistId("playlist1");
+
+        // Assert
+        assertEquals(2, stats.total);
+        assertEquals(1, stats.downloaded);
+    }
+
+    @Test
+    @DisplayName("Deve salvar e remover vídeos em lote")
+    void shouldSaveAndDeleteInBatch() throws SQLException {
+        // Arrange
+        List<Video> videos = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            videos.add(video("video" + i, "playlist123"));
+        }
+
+        // Act
+        repository.saveAll(videos);
+        repository.deleteAll(List.of("video0", "video1"));
+
+        // Assert
+        assertEquals(498, repository.countByPlaylistId("playlist123"));
+
+        database.close();
+        database = new SqliteDatabase(tempDir);
+        assertEquals(498, new SqliteVideoRepository(database).countByPlaylistId("playlist123"));
+    }
+
+    @Test
+    @DisplayName("Deve importar videos.json e playlists.json uma única vez")
+    void shouldImportJsonFilesOnce() throws SQLException {
+        // Arrange
+        Path jsonDir = tempDir.resolve("json");
+        JsonVideoRepository jsonVideos = new JsonVideoRepository(jsonDir);
+        jsonVideos.save(video("video1", "playlist123").markAsDownloaded());
+        jsonVideos.save(video("video2", "playlist123"));
+        JsonPlaylistRepository jsonPlaylists = new JsonPlaylistRepository(jsonDir);
+        jsonPlaylists.save(new Playlist.Builder()
+                .id("playlist123")
+                .url("https://youtube.com/playlist?list=playlist123")
+                .title("Test Playlist")
+                .build());
+
+        // Act
+        SqliteImporter.importJsonIfNeeded(database, jsonDir);
+        repository.delete("video2");
+        SqliteImporter.importJsonIfNeeded(database, jsonDir);
+
+        // Assert
+        SqlitePlaylistRepository playlists = new SqlitePlaylistRepository(database);
+        assertEquals("Test Playlist", playlists.findById("playlist123").orElseThrow().getTitle());
+        assertTrue(repository.findById("video1").orElseThrow().isDownloaded());
+        assertFalse(repository.exists("video2"));
+    }
+}
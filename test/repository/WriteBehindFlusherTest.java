@@ -0,0 +1,105 @@
+package repository;
+
+import org.junit.jupiter.api.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WriteBehindFlusher Tests")
+class WriteBehindFlusherTest {
+
+    @Test
+    @DisplayName("Deve gravar imediatamente quando o atraso é zero")
+    void shouldWriteThroughWhenDelayIsZero() {
+        // Arrange
+        AtomicInteger writes = new AtomicInteger();
+        WriteBehindFlusher flusher = new WriteBehindFlusher("test", 0, () -> writes.incrementAndGet() > 0);
+
+        // Act
+        flusher.markDirty();
+        flusher.markDirty();
+
+        // Assert
+        assertEquals(2, writes.get());
+    }
+
+    @Test
+    @DisplayName("Deve agrupar alterações próximas em uma única gravação")
+    void shouldCoalesceMutationsIntoSingleWrite() {
+        // Arrange
+        AtomicInteger writes = new AtomicInteger();
+        WriteBehindFlusher flusher = new WriteBehindFlusher("test", 60_000, () -> writes.incrementAndGet() > 0);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            flusher.markDirty();
+        }
+
+        // Assert
+        assertEquals(0, writes.get());
+        flusher.close();
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    @DisplayName("Deve gravar em segundo plano após o atraso")
+    void shouldFlushInBackgroundAfterDelay() throws InterruptedException {
+        // Arrange
+        CountDownLatch written = new CountDownLatch(1);
+        WriteBehindFlusher flusher = new WriteBehindFlusher("test", 20, () -> {
+            written.countDown();
+            return true;
+        });
+
+        // Act
+        flusher.markDirty();
+
+        // Assert
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        flusher.close();
+    }
+
+    @Test
+    @DisplayName("Deve manter as alterações pendentes e tentar de novo quando a gravação falha")
+    void shouldRetryFailedWrite() throws InterruptedException {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch written = new CountDownLatch(1);
+        WriteBehindFlusher flusher = new WriteBehindFlusher("test", 20, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                return false;
+            }
+            written.countDown();
+            return true;
+        });
+
+        // Act
+        flusher.markDirty();
+
+        // Assert
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+        flusher.close();
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Deve repetir a gravação que falhou na próxima alteração em write-through")
+    void shouldRetryFailedWriteThroughOnNextMutation() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindFlusher flusher = new WriteBehindFlusher("test", 0, () -> attempts.incrementAndGet() > 1);
+
+        // Act
+        flusher.markDirty();
+        flusher.markDirty();
+
+        // Assert
+        assertEquals(2, attempts.get());
+        // Nada mais pendente depois da gravação bem-sucedida
+        assertTrue(flusher.flush());
+        assertEquals(2, attempts.get());
+    }
+}
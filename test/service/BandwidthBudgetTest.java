@@ -0,0 +1,61 @@
+package service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BandwidthBudget Tests")
+class BandwidthBudgetTest {
+
+    @Test
+    @DisplayName("Deve fazer downloads além do limite esperarem os atuais terminarem")
+    void shouldWaitWhenLimitIsExhausted() throws Exception {
+        // Arrange
+        BandwidthBudget budget = new BandwidthBudget(() -> 1000, () -> 2);
+        int first = budget.acquire();
+        int second = budget.acquire();
+
+        // Act
+        CompletableFuture<Integer> third = CompletableFuture.supplyAsync(() -> acquire(budget));
+
+        // Assert
+        assertEquals(500, first);
+        assertEquals(500, second);
+        assertThrows(TimeoutException.class, () -> third.get(200, TimeUnit.MILLISECONDS));
+        budget.release(first);
+        assertEquals(500, third.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Não deve iniciar download limitado enquanto um sem limite estiver rodando")
+    void shouldNotStartLimitedDownloadWhileUnlimitedOneRuns() throws Exception {
+        // Arrange
+        AtomicInteger limit = new AtomicInteger(0);
+        BandwidthBudget budget = new BandwidthBudget(limit::get, () -> 2);
+        int unlimited = budget.acquire();
+        limit.set(1000);
+
+        // Act
+        CompletableFuture<Integer> limited = CompletableFuture.supplyAsync(() -> acquire(budget));
+
+        // Assert
+        assertEquals(0, unlimited);
+        assertThrows(TimeoutException.class, () -> limited.get(200, TimeUnit.MILLISECONDS));
+        budget.release(unlimited);
+        assertEquals(500, limited.get(5, TimeUnit.SECONDS));
+    }
+
+    private static int acquire(BandwidthBudget budget) {
+        try {
+            return budget.acquire();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
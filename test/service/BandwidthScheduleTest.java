@@ -0,0 +1,61 @@
+package service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BandwidthSchedule Tests")
+class BandwidthScheduleTest {
+
+    @Test
+    @DisplayName("Deve aplicar a janela do horário e o padrão fora dela")
+    void shouldApplyWindowOrDefault() {
+        // Arrange
+        BandwidthSchedule schedule = BandwidthSchedule.parse("08:00-18:00=512", 2048);
+
+        // Act & Assert
+        assertEquals(512, schedule.limitAt(LocalTime.of(8, 0)));
+        assertEquals(512, schedule.limitAt(LocalTime.of(17, 59)));
+        assertEquals(2048, schedule.limitAt(LocalTime.of(18, 0)));
+        assertEquals(2048, schedule.limitAt(LocalTime.of(3, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar janelas que atravessam a meia-noite")
+    void shouldHandleWindowsAcrossMidnight() {
+        // Arrange
+        BandwidthSchedule schedule = BandwidthSchedule.parse("08:00-22:00=256, 22:00-08:00=0", 1000);
+
+        // Act & Assert
+        assertEquals(0, schedule.limitAt(LocalTime.of(23, 30)));
+        assertEquals(0, schedule.limitAt(LocalTime.of(2, 0)));
+        assertEquals(256, schedule.limitAt(LocalTime.of(12, 0)));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar janelas inválidas")
+    void shouldIgnoreInvalidWindows() {
+        // Arrange
+        BandwidthSchedule schedule = BandwidthSchedule.parse("lixo, 25:00-01:00=10, 10:00-11:00=-5, 10:00-12:00=300", 0);
+
+        // Act & Assert
+        assertEquals(300, schedule.limitAt(LocalTime.of(10, 30)));
+        assertEquals(0, schedule.limitAt(LocalTime.of(13, 0)));
+        assertEquals(0, BandwidthSchedule.parse(null, 0).limitAt(LocalTime.NOON));
+    }
+
+    @Test
+    @DisplayName("Deve indicar se a agenda corresponde à configuração")
+    void shouldMatchOnlyItsOwnConfiguration() {
+        // Arrange
+        BandwidthSchedule schedule = BandwidthSchedule.parse("08:00-18:00=512", 2048);
+
+        // Act & Assert
+        assertTrue(schedule.isFor("08:00-18:00=512", 2048));
+        assertFalse(schedule.isFor("08:00-18:00=256", 2048));
+        assertFalse(schedule.isFor("08:00-18:00=512", 1024));
+    }
+}
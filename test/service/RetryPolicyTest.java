@@ -0,0 +1,66 @@
+package service;
+
+import domain.FailureType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.Config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RetryPolicy Tests")
+class RetryPolicyTest {
+
+    private Config config;
+
+    @BeforeEach
+    void setUp() {
+        config = mock(Config.class);
+        when(config.getRetryBaseMinutes()).thenReturn(30);
+        when(config.getRetryMaxHours()).thenReturn(24);
+    }
+
+    @Test
+    @DisplayName("Deve dobrar a espera a cada falha até o limite")
+    void shouldDoubleDelayUpToLimit() {
+        // Arrange
+        RetryPolicy policy = new RetryPolicy(config, () -> 1.0);
+
+        // Act & Assert
+        assertEquals(Duration.ofMinutes(30), policy.delay(FailureType.TRANSIENT, 1));
+        assertEquals(Duration.ofMinutes(60), policy.delay(FailureType.TRANSIENT, 2));
+        assertEquals(Duration.ofMinutes(120), policy.delay(FailureType.TRANSIENT, 3));
+        assertEquals(Duration.ofHours(24), policy.delay(FailureType.TRANSIENT, 10));
+        assertEquals(Duration.ofHours(24), policy.delay(FailureType.TRANSIENT, 1000));
+    }
+
+    @Test
+    @DisplayName("Deve sortear a espera entre metade e o total")
+    void shouldApplyJitterWithinBounds() {
+        // Arrange
+        RetryPolicy shortest = new RetryPolicy(config, () -> 0.0);
+        RetryPolicy middle = new RetryPolicy(config, () -> 0.5);
+
+        // Act & Assert
+        assertEquals(Duration.ofMinutes(15), shortest.delay(FailureType.TRANSIENT, 1));
+        assertEquals(Duration.ofSeconds(22 * 60 + 30), middle.delay(FailureType.TRANSIENT, 1));
+    }
+
+    @Test
+    @DisplayName("Deve esperar mais em limites de requisição e não agendar falhas permanentes")
+    void shouldWaitLongerWhenRateLimitedAndNeverRetryPermanent() {
+        // Arrange
+        RetryPolicy policy = new RetryPolicy(config, () -> 1.0);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        // Act & Assert
+        assertEquals(Duration.ofMinutes(30L * RetryPolicy.RATE_LIMIT_FACTOR),
+                policy.delay(FailureType.RATE_LIMITED, 1));
+        assertEquals(now.plusMinutes(30), policy.nextRetryAt(FailureType.TRANSIENT, 1, now));
+        assertNull(policy.nextRetryAt(FailureType.PERMANENT, 1, now));
+    }
+}
@@ -1,7 +1,9 @@
 package service;
 
 import adapter.AudioDownloader;
+import adapter.PlaylistFetchException;
 import adapter.PlaylistFetcher;
+import domain.FailureType;
 import domain.Playlist;
 import domain.Video;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,14 +14,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import repository.PlaylistRepository;
 import repository.VideoRepository;
+import repository.VideoStats;
 import service.SyncService.PlaylistStats;
 import service.SyncService.SyncResult;
+import service.SyncService.SyncSummary;
 import util.Config;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -50,6 +63,7 @@ class SyncServiceTest {
     @BeforeEach
     void setUp() {
         lenient().when(config.getDownloadDirectory()).thenReturn("/tmp/test");
+        lenient().when(audioDownloader.classifyFailure(any())).thenReturn(FailureType.TRANSIENT);
         syncService = new SyncService(
                 playlistRepository,
                 videoRepository,
@@ -74,7 +88,7 @@ class SyncServiceTest {
                 "Test Playlist",
                 10
         );
-        when(playlistFetcher.fetchPlaylistInfo(playlistUrl)).thenReturn(info);
+        when(playlistFetcher.fetchPlaylistInfo(eq(playlistUrl), anyInt())).thenReturn(info);
         when(playlistFetcher.isChannelUrl(playlistUrl)).thenReturn(false);
 
         // Act
@@ -89,6 +103,63 @@ class SyncServiceTest {
         verify(playlistRepository).save(any(Playlist.class));
     }
 
+    @Test
+    @DisplayName("Deve gravar a primeira página de vídeos junto com a playlist")
+    void shouldPrimeFirstPageWhenAddingPlaylist() {
+        // Arrange
+        String playlistUrl = "https://youtube.com/playlist?list=small";
+        List<Video> firstPage = List.of(video("video1", "small"), video("video2", "small"));
+
+        when(config.getIncrementalFetchWindow()).thenReturn(50);
+        when(playlistFetcher.extractPlaylistId(playlistUrl)).thenReturn("small");
+        when(playlistRepository.findById("small")).thenReturn(Optional.empty());
+        when(playlistFetcher.fetchPlaylistInfo(playlistUrl, 50))
+                .thenReturn(new PlaylistFetcher.PlaylistInfo("small", "Small", 2, firstPage));
+
+        // Act
+        Playlist result = syncService.addPlaylist(playlistUrl);
+
+        // Assert
+        verify(videoRepository).saveAll(firstPage);
+        verify(playlistFetcher, never()).fetchVideos(anyString(), anyConsumer());
+        // A playlist coube na página: a primeira sincronização já pode ser incremental
+        assertNotNull(result.getLastFullSyncAt());
+        assertEquals("video2", result.getSyncCursor());
+    }
+
+    @Test
+    @DisplayName("Deve adicionar várias playlists em paralelo ignorando duplicadas e falhas")
+    void shouldAddPlaylistsConcurrently() throws Exception {
+        // Arrange
+        CountDownLatch bothFetching = new CountDownLatch(2);
+        when(config.getFetchConcurrency()).thenReturn(2);
+        when(playlistFetcher.extractPlaylistId(anyString()))
+                .thenAnswer(invocation -> invocation.<String>getArgument(0).replaceAll(".*list=", ""));
+        when(playlistRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(playlistFetcher.fetchPlaylistInfo(anyString(), anyInt())).thenAnswer(invocation -> {
+            String url = invocation.getArgument(0);
+            if (url.endsWith("broken")) {
+                throw new IllegalStateException("falhou");
+            }
+            bothFetching.countDown();
+            // Só termina se as duas buscas estiverem rodando ao mesmo tempo
+            assertTrue(bothFetching.await(5, TimeUnit.SECONDS));
+            String id = url.replaceAll(".*list=", "");
+            return new PlaylistFetcher.PlaylistInfo(id, "Playlist " + id, 0);
+        });
+
+        // Act
+        List<Playlist> added = syncService.addPlaylists(List.of(
+                "https://youtube.com/playlist?list=a",
+                "https://youtube.com/playlist?list=b",
+                "https://youtube.com/playlist?list=a",
+                "https://youtube.com/playlist?list=broken"));
+
+        // Assert
+        assertEquals(List.of("a", "b"), added.stream().map(Playlist::getId).toList());
+        verify(playlistFetcher, times(3)).fetchPlaylistInfo(anyString(), anyInt());
+    }
+
     @Test
     @DisplayName("Deve retornar playlist existente quando já cadastrada")
     void shouldReturnExistingPlaylistWhenAlreadyRegistered() {
@@ -111,7 +182,7 @@ class SyncServiceTest {
         // Assert
         assertEquals(existingPlaylist, result);
         verify(playlistRepository, never()).save(any());
-        verify(playlistFetcher, never()).fetchPlaylistInfo(anyString());
+        verify(playlistFetcher, never()).fetchPlaylistInfo(anyString(), anyInt());
     }
 
     @Test
@@ -146,8 +217,8 @@ class SyncServiceTest {
         syncService.removePlaylist(playlistId);
 
         // Assert
-        verify(videoRepository).delete("video1");
-        verify(videoRepository).delete("video2");
+        verify(videoRepository).deleteAll(List.of("video1", "video2"));
+        verify(videoRepository, never()).delete(anyString());
         verify(playlistRepository).delete(playlistId);
     }
 
@@ -191,7 +262,7 @@ class SyncServiceTest {
                 .build();
 
         when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
-        when(playlistFetcher.fetchVideos(playlist.getUrl())).thenReturn(Arrays.asList(newVideo1, newVideo2));
+        stubFetch(playlist.getUrl(), Arrays.asList(newVideo1, newVideo2));
         when(videoRepository.exists(anyString())).thenReturn(false);
         when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(Collections.emptyList());
 
@@ -200,7 +271,10 @@ class SyncServiceTest {
 
         // Assert
         assertEquals(2, result.newVideos);
-        verify(videoRepository, times(2)).save(any(Video.class));
+        assertEquals(2, result.downloaded);
+        verify(videoRepository, times(2)).saveAll(argThat(videos -> videos.size() == 1));
+        verify(audioDownloader, times(2)).download(any(Video.class), anyString(), anyInt(), any());
+        verify(videoRepository, times(2)).save(argThat(Video::isDownloaded));
         verify(playlistRepository).save(any(Playlist.class));
     }
 
@@ -224,22 +298,111 @@ class SyncServiceTest {
                 .build();
 
         when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
-        when(playlistFetcher.fetchVideos(playlist.getUrl())).thenReturn(Collections.emptyList());
+        stubFetch(playlist.getUrl(), Collections.emptyList());
         when(videoRepository.findNotDownloadedByPlaylistId(playlistId))
                 .thenReturn(Collections.singletonList(pendingVideo));
-        when(audioDownloader.download(any(Video.class), anyString())).thenReturn(null);
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenReturn(null);
 
         // Act
         SyncResult result = syncService.syncPlaylist(playlistId);
 
         // Assert
         assertEquals(1, result.downloaded);
-        verify(audioDownloader).download(eq(pendingVideo), eq("/tmp/test"));
+        verify(audioDownloader).download(eq(pendingVideo), eq("/tmp/test"), eq(0), any());
         verify(videoRepository, times(1)).save(argThat(video ->
                 video.getId().equals("video1") && video.isDownloaded()
         ));
     }
 
+    @Test
+    @DisplayName("Deve dividir o limite de banda entre os downloads simultâneos")
+    void shouldSplitBandwidthLimitAcrossDownloads() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .build();
+        Video pendingVideo = video("video1", playlistId);
+
+        when(config.getBandwidthLimitKbps()).thenReturn(1000);
+        when(config.getBandwidthSchedule()).thenReturn("");
+        when(config.getDownloadConcurrency()).thenReturn(2);
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        stubFetch(playlist.getUrl(), Collections.emptyList());
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(List.of(pendingVideo));
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenReturn(null);
+
+        // Act
+        syncService.syncPlaylist(playlistId);
+
+        // Assert
+        verify(audioDownloader).download(eq(pendingVideo), eq("/tmp/test"), eq(500), any());
+    }
+
+    @Test
+    @DisplayName("Deve baixar vídeos em paralelo respeitando o limite configurado")
+    void shouldDownloadVideosInParallelWithinConfiguredLimit() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .build();
+
+        List<Video> pending = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            pending.add(new Video.Builder()
+                    .id("video" + i)
+                    .title("Pending " + i)
+                    .url("https://youtube.com/watch?v=" + i)
+                    .playlistId(playlistId)
+                    .build());
+        }
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        when(config.getDownloadConcurrency()).thenReturn(2);
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        stubFetch(playlist.getUrl(), Collections.emptyList());
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(pending);
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            Thread.sleep(50);
+            inFlight.decrementAndGet();
+            return null;
+        });
+
+        List<Integer> startIndexes = Collections.synchronizedList(new ArrayList<>());
+        syncService.setProgressListener(new SyncService.SyncProgressListener() {
+            @Override
+            public void onPlaylistFetchStart(String playlistTitle) {
+            }
+
+            @Override
+            public void onDownloadStart(String worker, String videoId, String videoTitle, int current, int total) {
+                startIndexes.add(current);
+            }
+
+            @Override
+            public void onDownloadComplete(String videoId, String videoTitle, String errorMessage) {
+            }
+        });
+
+        // Act
+        SyncResult result = syncService.syncPlaylist(playlistId);
+
+        // Assert
+        assertEquals(6, result.downloaded);
+        assertEquals(2, maxInFlight.get());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), startIndexes.stream().sorted().toList());
+        verify(videoRepository, times(6)).save(argThat(Video::isDownloaded));
+    }
+
     @Test
     @DisplayName("Deve retornar erro ao sincronizar playlist inexistente")
     void shouldReturnErrorWhenSyncingNonexistentPlaylist() {
@@ -275,10 +438,10 @@ class SyncServiceTest {
                 .build();
 
         when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
-        when(playlistFetcher.fetchVideos(playlist.getUrl())).thenReturn(Collections.emptyList());
+        stubFetch(playlist.getUrl(), Collections.emptyList());
         when(videoRepository.findNotDownloadedByPlaylistId(playlistId))
                 .thenReturn(Collections.singletonList(pendingVideo));
-        when(audioDownloader.download(any(Video.class), anyString())).thenReturn("Download falhou");
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenReturn("Download falhou");
 
         // Act
         SyncResult result = syncService.syncPlaylist(playlistId);
@@ -288,6 +451,129 @@ class SyncServiceTest {
         verify(videoRepository, never()).save(argThat(Video::isDownloaded));
     }
 
+    @Test
+    @DisplayName("Não deve sobrescrever o estado da playlist quando a listagem falhar")
+    void shouldKeepSyncStateWhenFetchFails() {
+        // Arrange
+        String playlistId = "playlist123";
+        LocalDateTime lastFullSync = LocalDateTime.now().minusDays(2);
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .videoCount(120)
+                .lastFullSyncAt(lastFullSync)
+                .syncCursor("video120")
+                .build();
+
+        Video listed = new Video.Builder()
+                .id("video1")
+                .title("Video 1")
+                .url("https://youtube.com/watch?v=1")
+                .playlistId(playlistId)
+                .build();
+
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(Collections.emptyList());
+        when(videoRepository.exists(anyString())).thenReturn(false);
+        doAnswer(invocation -> {
+            Consumer<Video> onVideo = invocation.getArgument(1);
+            onVideo.accept(listed);
+            throw new PlaylistFetchException("Erro ao buscar vídeos da playlist: tempo esgotado");
+        }).when(playlistFetcher).fetchVideos(eq(playlist.getUrl()), anyConsumer());
+
+        // Act
+        SyncResult result = syncService.syncPlaylist(playlistId);
+
+        // Assert
+        assertEquals("Erro ao buscar vídeos da playlist: tempo esgotado", result.message);
+        assertEquals(1, result.newVideos);
+        verify(videoRepository).saveAll(List.of(listed));
+        verify(playlistRepository, never()).save(any(Playlist.class));
+    }
+
+    @Test
+    @DisplayName("Deve registrar a falha classificada e agendar a próxima tentativa")
+    void shouldRecordClassifiedFailure() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .build();
+        Video pendingVideo = video("video1", playlistId)
+                .markAsFailed(FailureType.TRANSIENT, "timeout", LocalDateTime.now().minusMinutes(1));
+
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        stubFetch(playlist.getUrl(), Collections.emptyList());
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(List.of(pendingVideo));
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenReturn("HTTP Error 429");
+        when(audioDownloader.classifyFailure("HTTP Error 429")).thenReturn(FailureType.RATE_LIMITED);
+        when(config.getRetryBaseMinutes()).thenReturn(30);
+        when(config.getRetryMaxHours()).thenReturn(24);
+
+        // Act
+        syncService.syncPlaylist(playlistId);
+
+        // Assert
+        verify(videoRepository).save(argThat(video -> video.getFailureType() == FailureType.RATE_LIMITED
+                && video.getFailureCount() == 2
+                && "HTTP Error 429".equals(video.getLastError())
+                && video.getNextRetryAt().isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    @DisplayName("Deve pular vídeos aguardando nova tentativa e com falha permanente")
+    void shouldSkipVideosNotDueForRetry() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .build();
+        Video due = video("due", playlistId)
+                .markAsFailed(FailureType.TRANSIENT, "timeout", LocalDateTime.now().minusMinutes(1));
+        Video waiting = video("waiting", playlistId)
+                .markAsFailed(FailureType.TRANSIENT, "timeout", LocalDateTime.now().plusHours(1));
+        Video unavailable = video("unavailable", playlistId)
+                .markAsFailed(FailureType.PERMANENT, "Private video", null);
+
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        stubFetch(playlist.getUrl(), Collections.emptyList());
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(List.of(due, waiting, unavailable));
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenReturn(null);
+
+        // Act
+        SyncResult result = syncService.syncPlaylist(playlistId);
+
+        // Assert
+        assertEquals(1, result.downloaded);
+        verify(audioDownloader).download(eq(due), anyString(), anyInt(), any());
+        verify(audioDownloader, times(1)).download(any(Video.class), anyString(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Deve liberar vídeos com falha no reset manual")
+    void shouldResetFailures() {
+        // Arrange
+        String playlistId = "playlist123";
+        Video unavailable = video("unavailable", playlistId)
+                .markAsFailed(FailureType.PERMANENT, "Private video", null);
+        Video pending = video("pending", playlistId);
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(List.of(unavailable, pending));
+
+        // Act
+        int reset = syncService.resetFailures(playlistId);
+
+        // Assert
+        assertEquals(1, reset);
+        verify(videoRepository).saveAll(argThat(videos -> videos.size() == 1
+                && videos.iterator().next().getId().equals("unavailable")
+                && videos.iterator().next().isDownloadDue(LocalDateTime.now())));
+    }
+
     @Test
     @DisplayName("Deve listar todas as playlists")
     void shouldListAllPlaylists() {
@@ -325,25 +611,8 @@ class SyncServiceTest {
                 .title("Test Playlist")
                 .build();
 
-        Video downloadedVideo = new Video.Builder()
-                .id("video1")
-                .title("Downloaded Video")
-                .url("https://youtube.com/watch?v=1")
-                .playlistId(playlistId)
-                .downloaded(true)
-                .build();
-
-        Video pendingVideo = new Video.Builder()
-                .id("video2")
-                .title("Pending Video")
-                .url("https://youtube.com/watch?v=2")
-                .playlistId(playlistId)
-                .downloaded(false)
-                .build();
-
         when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
-        when(videoRepository.findByPlaylistId(playlistId))
-                .thenReturn(Arrays.asList(downloadedVideo, pendingVideo));
+        when(videoRepository.statsByPlaylistId(playlistId)).thenReturn(new VideoStats(2, 1, 1, 0));
 
         // Act
         PlaylistStats stats = syncService.getPlaylistStats(playlistId);
@@ -352,6 +621,8 @@ class SyncServiceTest {
         assertEquals(2, stats.totalVideos);
         assertEquals(1, stats.downloaded);
         assertEquals(1, stats.pending);
+        assertEquals(1, stats.failed);
+        verify(videoRepository, never()).findByPlaylistId(playlistId);
     }
 
     @Test
@@ -386,18 +657,146 @@ class SyncServiceTest {
                 .build();
 
         when(playlistRepository.findAll()).thenReturn(Arrays.asList(playlist1, playlist2));
-        when(playlistRepository.findById(anyString())).thenReturn(Optional.of(playlist1), Optional.of(playlist2));
-        when(playlistFetcher.fetchVideos(anyString())).thenReturn(Collections.emptyList());
-        when(videoRepository.findNotDownloadedByPlaylistId(anyString())).thenReturn(Collections.emptyList());
+        doNothing().when(playlistFetcher).fetchVideos(anyString(), anyConsumer());
+        when(videoRepository.findNotDownloaded()).thenReturn(Collections.emptyList());
 
         // Act
         syncService.syncAllPlaylists();
 
         // Assert
-        verify(playlistFetcher, times(2)).fetchVideos(anyString());
+        verify(playlistFetcher, times(2)).fetchVideos(anyString(), anyConsumer());
+        verify(playlistRepository, never()).findById(anyString());
         verify(playlistRepository, times(2)).save(any(Playlist.class));
     }
 
+    @Test
+    @DisplayName("Deve retomar os downloads pendentes de todas as playlists por prioridade")
+    void shouldResumePendingDownloadsByPriority() {
+        // Arrange
+        Playlist regular = new Playlist.Builder()
+                .id("regular")
+                .url("https://youtube.com/playlist?list=regular")
+                .title("Regular")
+                .build();
+        Playlist favorite = new Playlist.Builder()
+                .id("favorite")
+                .url("https://youtube.com/playlist?list=favorite")
+                .title("Favorite")
+                .priority(5)
+                .build();
+
+        LocalDateTime now = LocalDateTime.now();
+        Video regularNew = withPublishedAt(video("regular-new", "regular"), now);
+        Video favoriteOld = withPublishedAt(video("favorite-old", "favorite"), now.minusYears(2));
+        Video favoriteNew = withPublishedAt(video("favorite-new", "favorite"), now.minusDays(1));
+        Video favoriteRetry = withPublishedAt(video("favorite-retry", "favorite"), now)
+                .markAsFailed(FailureType.TRANSIENT, "timeout", now.minusMinutes(1));
+
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        when(playlistRepository.findAll()).thenReturn(List.of(regular, favorite));
+        when(videoRepository.findNotDownloaded())
+                .thenReturn(List.of(regularNew, favoriteOld, favoriteRetry, favoriteNew));
+        doNothing().when(playlistFetcher).fetchVideos(anyString(), anyConsumer());
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            Video video = invocation.getArgument(0);
+            order.add(video.getId());
+            return null;
+        });
+
+        // Act
+        syncService.syncAllPlaylists();
+
+        // Assert
+        assertEquals(List.of("favorite-new", "favorite-old", "favorite-retry", "regular-new"), order);
+        verify(videoRepository, never()).findNotDownloadedByPlaylistId(anyString());
+        verify(playlistFetcher, times(2)).fetchVideos(anyString(), anyConsumer());
+    }
+
+    @Test
+    @DisplayName("Deve buscar playlists em paralelo e agregar o resultado")
+    void shouldFetchPlaylistsConcurrentlyAndAggregateResult() {
+        // Arrange
+        List<Playlist> playlists = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            playlists.add(new Playlist.Builder()
+                    .id("playlist" + i)
+                    .url("https://youtube.com/playlist?list=" + i)
+                    .title("Playlist " + i)
+                    .build());
+        }
+
+        CountDownLatch allFetching = new CountDownLatch(3);
+        when(config.getFetchConcurrency()).thenReturn(3);
+        when(playlistRepository.findAll()).thenReturn(playlists);
+        doAnswer(invocation -> {
+            allFetching.countDown();
+            // Só libera quando as três buscas estiverem em andamento ao mesmo tempo
+            assertTrue(allFetching.await(5, TimeUnit.SECONDS));
+            String url = invocation.getArgument(0);
+            String suffix = url.substring(url.lastIndexOf('=') + 1);
+            Consumer<Video> onVideo = invocation.getArgument(1);
+            onVideo.accept(video("video" + suffix, "playlist" + suffix));
+            return null;
+        }).when(playlistFetcher).fetchVideos(anyString(), anyConsumer());
+        when(videoRepository.exists(anyString())).thenReturn(false);
+        when(videoRepository.findNotDownloaded()).thenReturn(Collections.emptyList());
+
+        // Act
+        SyncSummary summary = syncService.syncAllPlaylists();
+
+        // Assert
+        assertEquals(3, summary.getPlaylistsSynced());
+        assertEquals(3, summary.getNewVideos());
+        assertEquals(3, summary.getDownloaded());
+        assertTrue(summary.getFailures().isEmpty());
+        verify(playlistRepository, never()).findById(anyString());
+        verify(playlistRepository, times(3)).save(any(Playlist.class));
+    }
+
+    @Test
+    @DisplayName("Deve encerrar com o resumo ao cancelar com listagens ainda na fila")
+    void shouldCancelWhileFetchesAreQueued() throws Exception {
+        // Arrange
+        List<Playlist> playlists = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            playlists.add(new Playlist.Builder()
+                    .id("playlist" + i)
+                    .url("https://youtube.com/playlist?list=" + i)
+                    .title("Playlist " + i)
+                    .build());
+        }
+
+        CountDownLatch bothFetching = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        when(config.getFetchConcurrency()).thenReturn(2);
+        when(playlistRepository.findAll()).thenReturn(playlists);
+        when(videoRepository.findNotDownloaded()).thenReturn(Collections.emptyList());
+        doAnswer(invocation -> {
+            bothFetching.countDown();
+            // Ignora a interrupção: as outras duas listagens continuam na fila do pool
+            while (release.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            return null;
+        }).when(playlistFetcher).fetchVideos(anyString(), anyConsumer());
+
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        Future<SyncSummary> running = caller.submit(() -> syncService.syncAllPlaylists());
+        assertTrue(bothFetching.await(5, TimeUnit.SECONDS));
+
+        // Act
+        assertTrue(syncService.cancelSync());
+        release.countDown();
+        SyncSummary summary = running.get(5, TimeUnit.SECONDS);
+        caller.shutdown();
+
+        // Assert
+        assertTrue(summary.isCancelled());
+        assertFalse(syncService.isSyncRunning());
+        verify(playlistFetcher, times(2)).fetchVideos(anyString(), anyConsumer());
+        verify(playlistRepository, never()).save(any(Playlist.class));
+    }
+
     @Test
     @DisplayName("Não deve fazer nada ao sincronizar todas quando não há playlists")
     void shouldDoNothingWhenSyncingAllWithNoPlaylists() {
@@ -408,6 +807,346 @@ class SyncServiceTest {
         syncService.syncAllPlaylists();
 
         // Assert
-        verify(playlistFetcher, never()).fetchVideos(anyString());
+        verify(playlistFetcher, never()).fetchVideos(anyString(), anyConsumer());
+    }
+
+    @Test
+    @DisplayName("Deve começar a baixar antes de terminar a listagem da playlist")
+    void shouldStartDownloadingWhileStillFetching() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .build();
+
+        CountDownLatch firstDownload = new CountDownLatch(1);
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        when(videoRepository.exists(anyString())).thenReturn(false);
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(Collections.emptyList());
+        when(config.getDownloadConcurrency()).thenReturn(2);
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            firstDownload.countDown();
+            return null;
+        });
+        doAnswer(invocation -> {
+            Consumer<Video> onVideo = invocation.getArgument(1);
+            onVideo.accept(video("video1", playlistId));
+            // A listagem só continua depois que o primeiro download começou
+            assertTrue(firstDownload.await(5, TimeUnit.SECONDS));
+            for (int i = 2; i <= 30; i++) {
+                onVideo.accept(video("video" + i, playlistId));
+            }
+            return null;
+        }).when(playlistFetcher).fetchVideos(eq(playlist.getUrl()), anyConsumer());
+
+        // Act
+        SyncResult result = syncService.syncPlaylist(playlistId);
+
+        // Assert
+        assertEquals(30, result.newVideos);
+        assertEquals(30, result.downloaded);
+        verify(videoRepository, times(3)).saveAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Deve baixar vídeos pendentes em lote e reportar cada item")
+    void shouldDownloadPendingVideosInBatch() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .build();
+        List<Video> pending = List.of(video("video1", playlistId), video("video2", playlistId), video("video3", playlistId));
+
+        when(config.getDownloadBatchSize()).thenReturn(3);
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(pending);
+        stubFetch(playlist.getUrl(), Collections.emptyList());
+        when(audioDownloader.downloadBatch(eq(pending), anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            AudioDownloader.BatchListener listener = invocation.getArgument(3);
+            for (Video video : pending) {
+                listener.onStart(video);
+                listener.onProgress(video, 50.0);
+                listener.onComplete(video, video.getId().equals("video2") ? "Video unavailable" : null);
+            }
+            return null;
+        });
+        SyncService.SyncProgressListener progress = mock(SyncService.SyncProgressListener.class);
+        syncService.setProgressListener(progress);
+
+        // Act
+        SyncResult result = syncService.syncPlaylist(playlistId);
+
+        // Assert
+        assertEquals(2, result.downloaded);
+        verify(audioDownloader, never()).download(any(Video.class), anyString(), anyInt(), any());
+        verify(videoRepository, times(2)).save(argThat(Video::isDownloaded));
+        verify(progress).onDownloadStart(argThat(worker -> worker.startsWith("DownloadWorker-")),
+                eq("video3"), eq("Video video3"), eq(3), eq(3));
+        verify(progress).onDownloadProgress("video1", 50.0);
+        verify(progress).onDownloadComplete("video2", "Video video2", "Video unavailable");
+        verify(progress, times(3)).onDownloadComplete(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve notificar vídeos adicionados, vídeos alterados e playlist gravada")
+    void shouldNotifyChangeEvents() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .build();
+        Video listed = video("video1", playlistId);
+        Video pending = video("video2", playlistId);
+
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(List.of(pending));
+        stubFetch(playlist.getUrl(), List.of(listed));
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenAnswer(invocation ->
+                invocation.<Video>getArgument(0).getId().equals("video2") ? "HTTP Error 500" : null);
+        SyncService.SyncProgressListener progress = mock(SyncService.SyncProgressListener.class);
+        syncService.setProgressListener(progress);
+
+        // Act
+        syncService.syncPlaylist(playlistId);
+
+        // Assert
+        verify(progress).onVideosAdded(playlistId, List.of(listed));
+        verify(progress).onVideoUpdated(argThat(video -> video.getId().equals("video1") && video.isDownloaded()));
+        verify(progress).onVideoUpdated(argThat(video -> video.getId().equals("video2") && video.getFailureCount() == 1));
+        verify(progress).onPlaylistUpdated(argThat(updated -> updated.getLastSyncedAt() != null));
+    }
+
+    @Test
+    @DisplayName("Deve buscar apenas o topo do canal até reencontrar o cursor")
+    void shouldFetchChannelHeadUntilCursor() {
+        // Arrange
+        String playlistId = "@canal";
+        Playlist channel = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/@canal")
+                .title("Canal")
+                .type(Playlist.TYPE_CHANNEL)
+                .videoCount(10)
+                .syncCursor("old1")
+                .lastFullSyncAt(LocalDateTime.now().minusHours(1))
+                .build();
+
+        when(config.getIncrementalFetchEnabled()).thenReturn(true);
+        when(config.getFullReconcileHours()).thenReturn(24);
+        when(config.getIncrementalFetchWindow()).thenReturn(2);
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(channel));
+        when(playlistFetcher.fetchVideos(channel.getUrl(), 1, 2))
+                .thenReturn(List.of(video("new2", playlistId), video("new1", playlistId)));
+        when(playlistFetcher.fetchVideos(channel.getUrl(), 3, 4))
+                .thenReturn(List.of(video("old1", playlistId), video("old2", playlistId)));
+        when(videoRepository.exists(anyString())).thenReturn(false);
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(Collections.emptyList());
+
+        // Act
+        SyncResult result = syncService.syncPlaylist(playlistId);
+
+        // Assert
+        assertEquals(2, result.newVideos);
+        verify(playlistFetcher, never()).fetchVideos(anyString(), anyConsumer());
+        verify(playlistFetcher, never()).fetchVideos(eq(channel.getUrl()), eq(5), anyInt());
+        verify(playlistRepository).save(argThat(saved -> saved.getVideoCount() == 12
+                && "new2".equals(saved.getSyncCursor())
+                && saved.getLastFullSyncAt().equals(channel.getLastFullSyncAt())));
+    }
+
+    @Test
+    @DisplayName("Deve voltar à busca completa quando a playlist foi reordenada")
+    void shouldFallBackToFullFetchWhenCursorMoved() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .videoCount(3)
+                .syncCursor("video3")
+                .lastFullSyncAt(LocalDateTime.now().minusHours(1))
+                .build();
+
+        when(config.getIncrementalFetchEnabled()).thenReturn(true);
+        when(config.getFullReconcileHours()).thenReturn(24);
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        when(playlistFetcher.fetchVideos(playlist.getUrl(), 3, 0))
+                .thenReturn(List.of(video("video2", playlistId)));
+        stubFetch(playlist.getUrl(), List.of(video("video1", playlistId), video("video3", playlistId), video("video2", playlistId)));
+        when(videoRepository.exists(anyString())).thenReturn(true);
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(Collections.emptyList());
+
+        // Act
+        syncService.syncPlaylist(playlistId);
+
+        // Assert
+        verify(playlistFetcher).fetchVideos(eq(playlist.getUrl()), anyConsumer());
+        verify(playlistRepository).save(argThat(saved -> saved.getVideoCount() == 3
+                && "video2".equals(saved.getSyncCursor())
+                && saved.getLastFullSyncAt().isAfter(playlist.getLastFullSyncAt())));
+    }
+
+    @Test
+    @DisplayName("Deve fazer busca completa quando o intervalo de reconciliação expirou")
+    void shouldReconcileWithFullFetchAfterInterval() {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .videoCount(1)
+                .syncCursor("video1")
+                .lastFullSyncAt(LocalDateTime.now().minusHours(25))
+                .build();
+
+        when(config.getIncrementalFetchEnabled()).thenReturn(true);
+        when(config.getFullReconcileHours()).thenReturn(24);
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        stubFetch(playlist.getUrl(), List.of(video("video1", playlistId)));
+        when(videoRepository.exists(anyString())).thenReturn(true);
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(Collections.emptyList());
+
+        // Act
+        syncService.syncPlaylist(playlistId);
+
+        // Assert
+        verify(playlistFetcher, never()).fetchVideos(anyString(), anyInt(), anyInt());
+        verify(playlistFetcher).fetchVideos(eq(playlist.getUrl()), anyConsumer());
+    }
+
+    @Test
+    @DisplayName("Deve cancelar a sincronização interrompendo downloads e sem gravar o estado")
+    void shouldCancelRunningSync() throws Exception {
+        // Arrange
+        String playlistId = "playlist123";
+        Playlist playlist = new Playlist.Builder()
+                .id(playlistId)
+                .url("https://youtube.com/playlist?list=test")
+                .title("Test Playlist")
+                .build();
+
+        CountDownLatch downloadStarted = new CountDownLatch(1);
+        when(playlistRepository.findById(playlistId)).thenReturn(Optional.of(playlist));
+        when(videoRepository.exists(anyString())).thenReturn(false);
+        when(videoRepository.findNotDownloadedByPlaylistId(playlistId)).thenReturn(Collections.emptyList());
+        stubFetch(playlist.getUrl(), List.of(
+                video("video1", playlistId), video("video2", playlistId), video("video3", playlistId)));
+        when(audioDownloader.download(any(Video.class), anyString(), anyInt(), any())).thenAnswer(invocation -> {
+            downloadStarted.countDown();
+            try {
+                Thread.sleep(10_000);
+                return null;
+            } catch (InterruptedException e) {
+                return "Download interrompido";
+            }
+        });
+
+        // Act
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        Future<SyncResult> running = caller.submit(() -> syncService.syncPlaylist(playlistId));
+        assertTrue(downloadStarted.await(5, TimeUnit.SECONDS));
+        boolean cancelled = syncService.cancelSync();
+        SyncResult result = running.get(5, TimeUnit.SECONDS);
+        caller.shutdown();
+
+        // Assert
+        assertTrue(cancelled);
+        assertTrue(result.isCancelled());
+        assertEquals(0, result.downloaded);
+        assertFalse(syncService.isSyncRunning());
+        assertFalse(syncService.cancelSync());
+        verify(audioDownloader, times(1)).download(any(Video.class), anyString(), anyInt(), any());
+        verify(videoRepository, never()).save(any(Video.class));
+        verify(playlistRepository, never()).save(any(Playlist.class));
+    }
+
+    @Test
+    @DisplayName("Deve limpar só a interrupção feita pelo cancelamento")
+    void shouldClearOnlyInterruptsSentByCancel() throws Exception {
+        // Arrange
+        Playlist first = new Playlist.Builder().id("first").url("https://youtube.com/playlist?list=first")
+                .title("First").build();
+        Playlist second = new Playlist.Builder().id("second").url("https://youtube.com/playlist?list=second")
+                .title("Second").build();
+        CountDownLatch firstFetching = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(playlistRepository.findById("first")).thenReturn(Optional.of(first));
+        when(playlistRepository.findById("second")).thenReturn(Optional.of(second));
+        when(videoRepository.findNotDownloadedByPlaylistId(anyString())).thenReturn(Collections.emptyList());
+        doAnswer(invocation -> {
+            firstFetching.countDown();
+            // Ignora a interrupção até o teste liberar, para as duas sincronizações se sobreporem
+            while (releaseFirst.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            return null;
+        }).when(playlistFetcher).fetchVideos(eq(first.getUrl()), anyConsumer());
+        doAnswer(invocation -> {
+            // Interrupção alheia ao cancelamento, feita durante a sincronização
+            Thread.currentThread().interrupt();
+            return null;
+        }).when(playlistFetcher).fetchVideos(eq(second.getUrl()), anyConsumer());
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<Boolean> firstRunning = callers.submit(() -> {
+            syncService.syncPlaylist("first");
+            return Thread.currentThread().isInterrupted();
+        });
+        assertTrue(firstFetching.await(5, TimeUnit.SECONDS));
+        assertTrue(syncService.cancelSync());
+
+        // Act
+        Future<Boolean> secondRunning = callers.submit(() -> {
+            syncService.syncPlaylist("second");
+            return Thread.interrupted();
+        });
+        boolean secondInterrupted = secondRunning.get(5, TimeUnit.SECONDS);
+        releaseFirst.countDown();
+        boolean firstInterrupted = firstRunning.get(5, TimeUnit.SECONDS);
+        callers.shutdown();
+
+        // Assert
+        assertTrue(secondInterrupted);
+        assertFalse(firstInterrupted);
+    }
+
+    private void stubFetch(String url, List<Video> videos) {
+        doAnswer(invocation -> {
+            Consumer<Video> onVideo = invocation.getArgument(1);
+            videos.forEach(onVideo);
+            return null;
+        }).when(playlistFetcher).fetchVideos(eq(url), anyConsumer());
+    }
+
+    private static Consumer<Video> anyConsumer() {
+        return any();
+    }
+
+    private static Video withPublishedAt(Video video, LocalDateTime publishedAt) {
+        return new Video.Builder()
+                .id(video.getId())
+                .title(video.getTitle())
+                .url(video.getUrl())
+                .playlistId(video.getPlaylistId())
+                .publishedAt(publishedAt)
+                .build();
+    }
+
+    private static Video video(String id, String playlistId) {
+        return new Video.Builder()
+                .id(id)
+                .title("Video " + id)
+                .url("https://youtube.com/watch?v=" + id)
+                .playlistId(playlistId)
+                .build();
     }
 }